@@ -0,0 +1,92 @@
+package com.example.wordcount.benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates reproducible texts for the benchmarks, so they run offline and results are comparable between runs.
+ */
+public class CorpusGenerator {
+
+    public enum Distribution {
+        /**
+         * Word ranks follow Zipf's law (exponent 1), like natural language: few words are very frequent.
+         */
+        ZIPFIAN,
+        /**
+         * Every word of the vocabulary is equally likely, so the table grows as large as possible.
+         */
+        UNIFORM,
+        /**
+         * A single word, repeated: the table stays tiny and tokenizing dominates.
+         */
+        SINGLE_WORD
+    }
+
+    private static final long SEED = 20200901L;
+
+    private CorpusGenerator() {
+    }
+
+    /**
+     * Generates a text of a given number of words, separated by spaces and some punctuation, in mixed case.
+     *
+     * @param numberOfWords  int containing the number of words of the text.
+     * @param vocabularySize int containing the number of different words to draw from.
+     * @param distribution   {@link Distribution} of the words.
+     * @return a String containing the text.
+     */
+    public static String generate(int numberOfWords, int vocabularySize, Distribution distribution) {
+        Random random = new Random(SEED);
+        String[] vocabulary = new String[vocabularySize];
+        for (int i = 0; i < vocabularySize; i++) {
+            vocabulary[i] = word(i);
+        }
+        double[] cumulativeProbabilities = distribution == Distribution.ZIPFIAN ? zipfCumulativeProbabilities(vocabularySize) : null;
+
+        StringBuilder text = new StringBuilder(numberOfWords * 8);
+        for (int i = 0; i < numberOfWords; i++) {
+            int rank;
+            switch (distribution) {
+                case ZIPFIAN:
+                    rank = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+                    rank = Math.min(rank < 0 ? -rank - 1 : rank, vocabularySize - 1);
+                    break;
+                case UNIFORM:
+                    rank = random.nextInt(vocabularySize);
+                    break;
+                default:
+                    rank = 0;
+            }
+            String word = vocabulary[rank];
+            text.append(random.nextInt(8) == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+            text.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return a distinct word of letters for every index: 'a', 'b', ..., 'z', 'ba', 'bb', ...
+     */
+    private static String word(int index) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + index % 26));
+            index /= 26;
+        } while (index > 0);
+        return word.reverse().toString();
+    }
+
+    private static double[] zipfCumulativeProbabilities(int vocabularySize) {
+        double[] cumulativeProbabilities = new double[vocabularySize];
+        double sum = 0;
+        for (int rank = 0; rank < vocabularySize; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulativeProbabilities[rank] = sum;
+        }
+        for (int rank = 0; rank < vocabularySize; rank++) {
+            cumulativeProbabilities[rank] /= sum;
+        }
+        return cumulativeProbabilities;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.wordcount.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed loop HTTP load generator, measuring the throughput and latency percentiles of a running instance, so the
+ * servlet and the reactive serving mode can be compared under the same load. Each of 'concurrency' clients POSTs a
+ * generated text to the top-N operation, waits for the answer and repeats, for 'seconds' seconds.
+ * <p>
+ * Start an instance in either mode (e.g. with SPRING_PROFILES_ACTIVE=reactive), then, after building the benchmark
+ * profile:
+ * <pre>
+ * java -cp target/test-classes com.example.wordcount.benchmark.LoadGenerator http://localhost:8080 64 30 100000
+ * </pre>
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            System.out.println("Usage: LoadGenerator <base url> <concurrency> <seconds> <number of words per request>");
+            System.exit(-1);
+        }
+        String baseUrl = args[0];
+        int concurrency = Integer.parseInt(args[1]);
+        long durationNanos = Duration.ofSeconds(Long.parseLong(args[2])).toNanos();
+        String text = CorpusGenerator.generate(Integer.parseInt(args[3]), 5_000, CorpusGenerator.Distribution.ZIPFIAN);
+
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/calculate-frequency-in-text-for-most-frequent-n-words/10"))
+                .POST(HttpRequest.BodyPublishers.ofString(text))
+                .build();
+
+        AtomicLong errorCount = new AtomicLong();
+        List<long[]> latenciesPerClient = new ArrayList<>();
+        List<Thread> clients = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            long[][] latencies = {new long[1024]};
+            int[] count = {0};
+            Thread client = new Thread(() -> {
+                while (System.nanoTime() - start < durationNanos) {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(httpRequest, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errorCount.incrementAndGet();
+                            continue;
+                        }
+                    } catch (Exception exception) {
+                        errorCount.incrementAndGet();
+                        continue;
+                    }
+                    if (count[0] == latencies[0].length) {
+                        latencies[0] = Arrays.copyOf(latencies[0], count[0] * 2);
+                    }
+                    latencies[0][count[0]++] = System.nanoTime() - requestStart;
+                }
+                synchronized (latenciesPerClient) {
+                    latenciesPerClient.add(Arrays.copyOf(latencies[0], count[0]));
+                }
+            });
+            clients.add(client);
+            client.start();
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] latencies = latenciesPerClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("Requests:   %d ok, %d failed, in %.1f s%n", latencies.length, errorCount.get(), elapsedSeconds);
+        System.out.printf("Throughput: %.1f requests/s%n", latencies.length / elapsedSeconds);
+        if (latencies.length > 0) {
+            System.out.printf("Latency:    p50 %.2f ms, p99 %.2f ms, p99.9 %.2f ms, max %.2f ms%n",
+                    percentile(latencies, 0.5), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                    latencies[latencies.length - 1] / 1e6);
+        }
+    }
+
+    /**
+     * @return the latency in milliseconds below which a fraction of the sorted latencies fall.
+     */
+    private static double percentile(long[] sortedLatencies, double fraction) {
+        int index = (int) Math.ceil(fraction * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.wordcount.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.cache.FrequencySnapshotCache;
+import com.example.wordcount.controller.RequestBodyDecompression;
+import com.example.wordcount.controller.WordFrequencyCalculatorController;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Measures the REST operations through Spring MVC (without a network stack), including request mapping, argument
+ * resolution and JSON rendering. With a zero sized cache every GET request counts its text.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestBenchmark {
+
+    @Param({"100", "10000"})
+    int numberOfWords;
+
+    @Param({"0", "67108864"})
+    long cacheMaxBytes;
+
+    String text;
+    MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        // Without a Spring Boot context, logback logs every request at DEBUG level.
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        text = CorpusGenerator.generate(numberOfWords, 5_000, CorpusGenerator.Distribution.ZIPFIAN);
+        mockMvc = MockMvcBuilders.standaloneSetup(new WordFrequencyCalculatorController(new FrequencySnapshotCache(cacheMaxBytes), new WordFrequencyAnalyzerFactory(),
+                RequestBodyDecompression.DISABLED)).build();
+    }
+
+    @Benchmark
+    public int getMostFrequentNWords() throws Exception {
+        return mockMvc.perform(get("/calculate-frequency-in-text-for-most-frequent-n-words/{text}/{n}", text, 10))
+                .andReturn().getResponse().getStatus();
+    }
+
+    @Benchmark
+    public int postMostFrequentNWords() throws Exception {
+        return mockMvc.perform(post("/calculate-frequency-in-text-for-most-frequent-n-words/{n}", 10).content(text))
+                .andReturn().getResponse().getStatus();
+    }
+}
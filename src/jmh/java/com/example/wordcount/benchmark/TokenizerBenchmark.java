@@ -0,0 +1,41 @@
+package com.example.wordcount.benchmark;
+
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import com.example.wordcount.tokenizer.RegexTokenizer;
+import com.example.wordcount.tokenizer.Tokenizer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures tokenizing alone, handing the words to a {@link Blackhole} instead of counting them.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenizerBenchmark {
+
+    @Param({"1000000"})
+    int numberOfWords;
+
+    @Param({"letter", "regex"})
+    String tokenizerName;
+
+    String text;
+    Tokenizer tokenizer;
+
+    @Setup
+    public void setUp() {
+        text = CorpusGenerator.generate(numberOfWords, 50_000, CorpusGenerator.Distribution.ZIPFIAN);
+        tokenizer = tokenizerName.equals("regex") ? new RegexTokenizer() : new LetterTokenizer();
+    }
+
+    @Benchmark
+    public void tokenize(Blackhole blackhole) {
+        tokenizer.tokenize(text, (buffer, offset, length) -> blackhole.consume(length));
+    }
+}
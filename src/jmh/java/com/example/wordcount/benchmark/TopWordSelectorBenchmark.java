@@ -0,0 +1,47 @@
+package com.example.wordcount.benchmark;
+
+import com.example.wordcount.model.TopWordSelector;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyTable;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the top-N selection on an already counted table, against a full sort of all words.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TopWordSelectorBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int n;
+
+    List<WordFrequency> wordFrequencyList;
+
+    @Setup
+    public void setUp() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        new LetterTokenizer().tokenize(CorpusGenerator.generate(2_000_000, 500_000, CorpusGenerator.Distribution.ZIPFIAN), wordFrequencyTable);
+        wordFrequencyList = wordFrequencyTable.toList();
+    }
+
+    @Benchmark
+    public List<WordFrequency> select() {
+        return TopWordSelector.select(wordFrequencyList, n);
+    }
+
+    @Benchmark
+    public List<WordFrequency> fullSort() {
+        List<WordFrequency> sorted = new ArrayList<>(wordFrequencyList);
+        sorted.sort(TopWordSelector.MOST_FREQUENT_FIRST);
+        return new ArrayList<>(sorted.subList(0, n));
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.wordcount.benchmark;
+
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the three operations of the {@link WordFrequencyCalculator} end to end, from text to answer.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WordFrequencyCalculatorBenchmark {
+
+    @Param({"10000", "1000000"})
+    int numberOfWords;
+
+    @Param({"ZIPFIAN", "UNIFORM", "SINGLE_WORD"})
+    CorpusGenerator.Distribution distribution;
+
+    @Param({"50000"})
+    int vocabularySize;
+
+    String text;
+    WordFrequencyCalculator wordFrequencyCalculator;
+
+    @Setup
+    public void setUp() {
+        text = CorpusGenerator.generate(numberOfWords, vocabularySize, distribution);
+        wordFrequencyCalculator = new WordFrequencyCalculator();
+    }
+
+    @Benchmark
+    public int calculateHighestFrequency() {
+        return wordFrequencyCalculator.calculateHighestFrequency(text);
+    }
+
+    @Benchmark
+    public int calculateFrequencyForWord() {
+        return wordFrequencyCalculator.calculateFrequencyForWord(text, "a");
+    }
+
+    @Benchmark
+    public List<WordFrequency> calculateMostFrequentNWords() {
+        return wordFrequencyCalculator.calculateMostFrequentNWords(text, 1);
+    }
+}
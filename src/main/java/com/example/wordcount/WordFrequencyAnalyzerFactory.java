@@ -0,0 +1,163 @@
+package com.example.wordcount;
+
+import com.example.wordcount.approximate.ApproximateWordFrequencyAnalyzer;
+import com.example.wordcount.external.ExternalWordFrequencyAnalyzer;
+import com.example.wordcount.metrics.AnalyzerMetrics;
+import com.example.wordcount.metrics.MicrometerAnalyzerMetrics;
+import com.example.wordcount.model.ParallelWordFrequencyCalculator;
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Provides the {@link WordFrequencyAnalyzer} of an engine, selectable by name from the CLI and the REST API. The
+ * analyzers are thread safe, so each engine has a single, shared analyzer. The parallel analyzers, shared or created,
+ * all count on a single pool, shut down when the factory is closed (by Spring, when the context closes).
+ */
+@Component
+public class WordFrequencyAnalyzerFactory implements AutoCloseable {
+
+    public static final String EXACT = "exact";
+    public static final String PARALLEL = "parallel";
+    public static final String APPROXIMATE = "approximate";
+    public static final String EXTERNAL = "external";
+
+    private final ForkJoinPool forkJoinPool;
+    private final int minChunkSize;
+    private final int sketchWidth;
+    private final int sketchDepth;
+    private final int capacity;
+    private final long memoryBudget;
+    private final Path tempDirectory;
+
+    private final WordFrequencyAnalyzer exactAnalyzer;
+    private final WordFrequencyAnalyzer parallelAnalyzer;
+    private final WordFrequencyAnalyzer approximateAnalyzer;
+    private final WordFrequencyAnalyzer externalAnalyzer;
+
+    public WordFrequencyAnalyzerFactory() {
+        this(0, ParallelWordFrequencyCalculator.DEFAULT_MIN_CHUNK_SIZE, ApproximateWordFrequencyAnalyzer.DEFAULT_SKETCH_WIDTH,
+                ApproximateWordFrequencyAnalyzer.DEFAULT_SKETCH_DEPTH, ApproximateWordFrequencyAnalyzer.DEFAULT_CAPACITY,
+                ExternalWordFrequencyAnalyzer.DEFAULT_MEMORY_BUDGET, "");
+    }
+
+    /**
+     * @param parallelism  int containing the number of threads of the parallel engine, or 0 for one per processor.
+     * @param minChunkSize int containing the number of characters below which the parallel engine stops splitting.
+     * @param sketchWidth  int containing the number of counters per row of the approximate engine's sketch.
+     * @param sketchDepth  int containing the number of rows of the approximate engine's sketch.
+     * @param capacity      int containing the number of most frequent words monitored by the approximate engine.
+     * @param memoryBudget  long containing the estimated number of bytes the external engine counts in memory.
+     * @param tempDirectory String containing the directory the external engine spills to, or "" for the system's.
+     */
+    public WordFrequencyAnalyzerFactory(int parallelism, int minChunkSize, int sketchWidth, int sketchDepth, int capacity,
+                                        long memoryBudget, String tempDirectory) {
+        this(parallelism, minChunkSize, sketchWidth, sketchDepth, capacity, memoryBudget, tempDirectory, engine -> AnalyzerMetrics.DISABLED);
+    }
+
+    /**
+     * As {@link #WordFrequencyAnalyzerFactory(int, int, int, int, int, long, String)}, publishing the metrics of the shared analyzers
+     * to the {@link MeterRegistry}, if any, unless disabled by 'metricsEnabled'.
+     */
+    @Autowired
+    public WordFrequencyAnalyzerFactory(@Value("${wordcount.parallel.parallelism:0}") int parallelism,
+                                        @Value("${wordcount.parallel.min-chunk-size:1048576}") int minChunkSize,
+                                        @Value("${wordcount.approximate.sketch-width:65536}") int sketchWidth,
+                                        @Value("${wordcount.approximate.sketch-depth:4}") int sketchDepth,
+                                        @Value("${wordcount.approximate.capacity:1000}") int capacity,
+                                        @Value("${wordcount.external.memory-budget:268435456}") long memoryBudget,
+                                        @Value("${wordcount.external.temp-directory:}") String tempDirectory,
+                                        @Value("${wordcount.metrics.enabled:true}") boolean metricsEnabled,
+                                        ObjectProvider<MeterRegistry> meterRegistryProvider) {
+        this(parallelism, minChunkSize, sketchWidth, sketchDepth, capacity, memoryBudget, tempDirectory, metricsOf(metricsEnabled ? meterRegistryProvider.getIfAvailable() : null));
+    }
+
+    private WordFrequencyAnalyzerFactory(int parallelism, int minChunkSize, int sketchWidth, int sketchDepth, int capacity,
+                                         long memoryBudget, String tempDirectory, Function<String, AnalyzerMetrics> analyzerMetricsOfEngine) {
+        this.forkJoinPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.minChunkSize = minChunkSize;
+        this.sketchWidth = sketchWidth;
+        this.sketchDepth = sketchDepth;
+        this.capacity = capacity;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = Paths.get(tempDirectory.isEmpty() ? System.getProperty("java.io.tmpdir") : tempDirectory);
+        this.exactAnalyzer = create(EXACT, analyzerMetricsOfEngine.apply(EXACT));
+        this.parallelAnalyzer = create(PARALLEL, analyzerMetricsOfEngine.apply(PARALLEL));
+        // The approximate and external engines take no measurements.
+        this.approximateAnalyzer = create(APPROXIMATE, AnalyzerMetrics.DISABLED);
+        this.externalAnalyzer = create(EXTERNAL, AnalyzerMetrics.DISABLED);
+    }
+
+    /**
+     * @param engine String containing the name of the engine: 'exact', 'parallel', 'approximate' or 'external'.
+     * @return the {@link WordFrequencyAnalyzer} of the {@param engine}.
+     * @throws IllegalArgumentException if the engine is unknown.
+     */
+    public WordFrequencyAnalyzer get(String engine) {
+        switch (engine) {
+            case EXACT:
+                return exactAnalyzer;
+            case PARALLEL:
+                return parallelAnalyzer;
+            case APPROXIMATE:
+                return approximateAnalyzer;
+            case EXTERNAL:
+                return externalAnalyzer;
+            default:
+                throw unknownEngine(engine);
+        }
+    }
+
+    /**
+     * Creates a new analyzer of an engine, recording its own metrics, e.g. to report on a single analysis. Only the
+     * exact engines take measurements.
+     *
+     * @param engine          String containing the name of the engine: 'exact', 'parallel', 'approximate' or 'external'.
+     * @param analyzerMetrics {@link AnalyzerMetrics} to record the counts and selections of the analyzer with.
+     * @return a new {@link WordFrequencyAnalyzer} of the {@param engine}.
+     * @throws IllegalArgumentException if the engine is unknown.
+     */
+    public WordFrequencyAnalyzer create(String engine, AnalyzerMetrics analyzerMetrics) {
+        switch (engine) {
+            case EXACT:
+                return new WordFrequencyCalculator(new LetterTokenizer(), analyzerMetrics);
+            case PARALLEL:
+                return new ParallelWordFrequencyCalculator(new LetterTokenizer(), forkJoinPool, minChunkSize, analyzerMetrics);
+            case APPROXIMATE:
+                return new ApproximateWordFrequencyAnalyzer(sketchWidth, sketchDepth, capacity);
+            case EXTERNAL:
+                return new ExternalWordFrequencyAnalyzer(memoryBudget, tempDirectory);
+            default:
+                throw unknownEngine(engine);
+        }
+    }
+
+    /**
+     * Shuts down the pool of the parallel analyzers.
+     */
+    @Override
+    public void close() {
+        forkJoinPool.shutdown();
+    }
+
+    private static Function<String, AnalyzerMetrics> metricsOf(MeterRegistry meterRegistry) {
+        if (meterRegistry == null) {
+            return engine -> AnalyzerMetrics.DISABLED;
+        }
+        return engine -> new MicrometerAnalyzerMetrics(meterRegistry, engine);
+    }
+
+    private static IllegalArgumentException unknownEngine(String engine) {
+        return new IllegalArgumentException("The engine should be one of '" + EXACT + "', '" + PARALLEL + "', '" + APPROXIMATE + "' or '" + EXTERNAL + "'. The value provided is '" + engine + "'.");
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.wordcount.approximate;
+
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequency;
+
+import java.util.List;
+
+/**
+ * {@link FrequencySnapshot} answering from a {@link CountMinSketch} and a {@link SpaceSaving} summary of the same text.
+ * Frequencies are estimates that are never too low; see both classes for their error bounds. The number of different
+ * words is the number of monitored words, so it is exact up to the capacity of the summary only.
+ */
+public class ApproximateFrequencySnapshot implements FrequencySnapshot {
+
+    private final CountMinSketch countMinSketch;
+    private final SpaceSaving spaceSaving;
+
+    /**
+     * @param countMinSketch {@link CountMinSketch} of a text. The snapshot takes it over.
+     * @param spaceSaving    {@link SpaceSaving} summary of the same text. The snapshot takes it over.
+     * @throws IllegalArgumentException if the text contains no words.
+     */
+    public ApproximateFrequencySnapshot(CountMinSketch countMinSketch, SpaceSaving spaceSaving) {
+        // Check if the parsed text is there.
+        ArgumentValidator.validateTextContainsWords(spaceSaving.size());
+
+        this.countMinSketch = countMinSketch;
+        this.spaceSaving = spaceSaving;
+    }
+
+    @Override
+    public int getHighestFrequency() {
+        return spaceSaving.getHighestCount();
+    }
+
+    /**
+     * Estimates the frequency of a word by the sketch, narrowed down by the summary if the word is monitored. While the
+     * summary is not full, it has seen every different word, so an unmonitored word does not occur at all.
+     */
+    @Override
+    public int getFrequencyForWord(String word) {
+        word = ArgumentValidator.normalizeAndValidateWord(word);
+        int count = spaceSaving.getCount(word);
+        if (count < 0) {
+            return spaceSaving.size() < spaceSaving.getCapacity() ? 0 : countMinSketch.estimate(word);
+        }
+        return Math.min(count, countMinSketch.estimate(word));
+    }
+
+    @Override
+    public List<WordFrequency> getMostFrequentNWords(int n) {
+        ArgumentValidator.validateNumberOfWords(n);
+        ArgumentValidator.validateNumberOfWords(n, spaceSaving.size());
+        return spaceSaving.getMostFrequent(n);
+    }
+
+    @Override
+    public int getNumberOfDifferentWords() {
+        return spaceSaving.size();
+    }
+
+    @Override
+    public long getEstimatedMemoryUsage() {
+        return countMinSketch.getEstimatedMemoryUsage() + spaceSaving.getEstimatedMemoryUsage();
+    }
+
+    /**
+     * @return the total number of words counted, N.
+     */
+    public long getTotalCount() {
+        return countMinSketch.getTotalCount();
+    }
+}
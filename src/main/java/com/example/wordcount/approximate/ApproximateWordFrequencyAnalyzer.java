@@ -0,0 +1,217 @@
+package com.example.wordcount.approximate;
+
+import com.example.wordcount.input.MappedFileReader;
+import com.example.wordcount.input.StreamWordReader;
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.FrequencyCounter;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import com.example.wordcount.model.WordHash;
+import com.example.wordcount.model.WordWatchlist;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import com.example.wordcount.tokenizer.Tokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * {@link WordFrequencyAnalyzer} counting in fixed memory, whatever the number of different words: a
+ * {@link CountMinSketch} of 'sketchWidth' x 'sketchDepth' counters estimates the frequency of any word, and a
+ * {@link SpaceSaving} summary of 'capacity' words finds the most frequent ones.
+ * <p>
+ * With a total of N words, a frequency is overestimated by at most (e / sketchWidth) * N with a probability of
+ * 1 - e^-sketchDepth, and a top word's frequency by at most N / capacity. Frequencies are never underestimated, and at
+ * most 'capacity' top words can be asked for.
+ */
+public class ApproximateWordFrequencyAnalyzer implements WordFrequencyAnalyzer {
+
+    public static final int DEFAULT_SKETCH_WIDTH = 1 << 16;
+    public static final int DEFAULT_SKETCH_DEPTH = 4;
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final Tokenizer tokenizer = new LetterTokenizer();
+    private final int sketchWidth;
+    private final int sketchDepth;
+    private final int capacity;
+
+    public ApproximateWordFrequencyAnalyzer() {
+        this(DEFAULT_SKETCH_WIDTH, DEFAULT_SKETCH_DEPTH, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param sketchWidth int containing the number of counters per row of the sketch.
+     * @param sketchDepth int containing the number of rows of the sketch.
+     * @param capacity    int containing the number of most frequent words to monitor.
+     */
+    public ApproximateWordFrequencyAnalyzer(int sketchWidth, int sketchDepth, int capacity) {
+        if (sketchWidth < 1 || sketchDepth < 1 || capacity < 1) {
+            throw new IllegalArgumentException("The sketch width, sketch depth and capacity should be non zero positive values. The values provided are '" + sketchWidth + "', '" + sketchDepth + "' and '" + capacity + "'.");
+        }
+        this.sketchWidth = sketchWidth;
+        this.sketchDepth = sketchDepth;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public int calculateHighestFrequency(String text) {
+        return analyze(text).getHighestFrequency();
+    }
+
+    @Override
+    public int calculateHighestFrequency(Path path) throws IOException {
+        return analyze(path).getHighestFrequency();
+    }
+
+    @Override
+    public int calculateHighestFrequency(InputStream inputStream) throws IOException {
+        return analyze(inputStream).getHighestFrequency();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(String text, String word) {
+        // Validate the word before counting.
+        ArgumentValidator.normalizeAndValidateWord(word);
+        return analyze(text).getFrequencyForWord(word);
+    }
+
+    @Override
+    public int calculateFrequencyForWord(Path path, String word) throws IOException {
+        ArgumentValidator.normalizeAndValidateWord(word);
+        return analyze(path).getFrequencyForWord(word);
+    }
+
+    @Override
+    public int calculateFrequencyForWord(InputStream inputStream, String word) throws IOException {
+        ArgumentValidator.normalizeAndValidateWord(word);
+        return analyze(inputStream).getFrequencyForWord(word);
+    }
+
+    // A watchlist is counted exactly, as only its words are counted: there is no vocabulary to bound the memory of.
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(String text, WordWatchlist wordWatchlist) {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        tokenizer.tokenize(text, counter);
+        return getWordFrequencies(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(Path path, WordWatchlist wordWatchlist) throws IOException {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        MappedFileReader.read(path, counter);
+        return getWordFrequencies(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(InputStream inputStream, WordWatchlist wordWatchlist) throws IOException {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        StreamWordReader.read(inputStream, counter);
+        return getWordFrequencies(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(String text, int n) {
+        validateNumberOfWords(n);
+        return analyze(text).getMostFrequentNWords(n);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException {
+        validateNumberOfWords(n);
+        return analyze(path).getMostFrequentNWords(n);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(InputStream inputStream, int n) throws IOException {
+        validateNumberOfWords(n);
+        return analyze(inputStream).getMostFrequentNWords(n);
+    }
+
+    @Override
+    public ApproximateFrequencySnapshot analyze(String text) {
+        Counter counter = new Counter();
+        tokenizer.tokenize(text, counter);
+        return counter.toSnapshot();
+    }
+
+    @Override
+    public ApproximateFrequencySnapshot analyze(Path path) throws IOException {
+        Counter counter = new Counter();
+        MappedFileReader.read(path, counter);
+        return counter.toSnapshot();
+    }
+
+    @Override
+    public ApproximateFrequencySnapshot analyze(InputStream inputStream) throws IOException {
+        Counter counter = new Counter();
+        StreamWordReader.read(inputStream, counter);
+        return counter.toSnapshot();
+    }
+
+    // N-grams are only counted by the exact engines.
+
+    @Override
+    public FrequencySnapshot analyzeNGrams(String text, int n) {
+        throw nGramsNotSupported();
+    }
+
+    @Override
+    public FrequencySnapshot analyzeNGrams(Path path, int n) {
+        throw nGramsNotSupported();
+    }
+
+    @Override
+    public FrequencySnapshot analyzeNGrams(InputStream inputStream, int n) {
+        throw nGramsNotSupported();
+    }
+
+    @Override
+    public FrequencyCounter newCounter() {
+        return new Counter();
+    }
+
+    private static IllegalArgumentException nGramsNotSupported() {
+        return new IllegalArgumentException("N-grams can only be counted with an exact engine, 'exact' or 'parallel'.");
+    }
+
+    private static List<WordFrequency> getWordFrequencies(WordWatchlist.Counter counter) {
+        if (counter.getNumberOfWords() == 0) {
+            ArgumentValidator.validateTextContainsWords(0);
+        }
+        return counter.getWordFrequencies();
+    }
+
+    /**
+     * Ensures that 'n' is a non zero positive number, not exceeding the number of monitored words.
+     */
+    private void validateNumberOfWords(int n) {
+        ArgumentValidator.validateNumberOfWords(n);
+        if (n > capacity) {
+            throw new IllegalArgumentException("The number 'n' should be at most the number of words monitored by the approximate analyzer. The current number of words monitored is '" + capacity + "'.");
+        }
+    }
+
+    /**
+     * Counts each word into both the sketch and the summary, hashing it once.
+     */
+    private class Counter implements FrequencyCounter {
+
+        private final CountMinSketch countMinSketch = new CountMinSketch(sketchWidth, sketchDepth);
+        private final SpaceSaving spaceSaving = new SpaceSaving(capacity);
+
+        @Override
+        public void accept(char[] buffer, int offset, int length) {
+            int hash = WordHash.hash(buffer, offset, length);
+            countMinSketch.add(buffer, offset, length, hash);
+            spaceSaving.add(buffer, offset, length, hash);
+        }
+
+        @Override
+        public ApproximateFrequencySnapshot toSnapshot() {
+            return new ApproximateFrequencySnapshot(countMinSketch, spaceSaving);
+        }
+    }
+}
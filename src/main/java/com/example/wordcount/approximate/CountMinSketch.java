@@ -0,0 +1,88 @@
+package com.example.wordcount.approximate;
+
+import com.example.wordcount.model.WordHash;
+
+/**
+ * Count-Min Sketch of word frequencies: a fixed grid of 'depth' rows of 'width' counters. Every word raises one
+ * counter per row, and its frequency is estimated by the lowest of those counters.
+ * <p>
+ * An estimate never underestimates. With a total of N words counted, an estimate exceeds the real frequency by more
+ * than (e / width) * N with a probability of at most e^-depth. E.g. a width of 65536 and a depth of 4 (1 MiB of
+ * counters) overestimate by more than 0.0042% of N in less than 1.9% of the lookups.
+ */
+public class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final int[] counters;
+    private long totalCount;
+
+    /**
+     * @param width int containing the number of counters per row, determining the error.
+     * @param depth int containing the number of rows, determining the probability of exceeding the error.
+     */
+    public CountMinSketch(int width, int depth) {
+        if (width < 1 || depth < 1) {
+            throw new IllegalArgumentException("The width and depth of the sketch should be non zero positive values. The values provided are '" + width + "' and '" + depth + "'.");
+        }
+        this.width = width;
+        this.depth = depth;
+        this.counters = new int[Math.multiplyExact(width, depth)];
+    }
+
+    /**
+     * Adds one occurrence of a word, handed over as a view on a buffer.
+     *
+     * @param hash int containing the {@link WordHash#hash(char[], int, int)} of the word.
+     */
+    public void add(char[] buffer, int offset, int length, int hash) {
+        int hash1 = WordHash.mix(hash);
+        int hash2 = WordHash.mix(WordHash.secondHash(buffer, offset, length));
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + column(hash1, hash2, row)]++;
+        }
+        totalCount++;
+    }
+
+    /**
+     * Estimates the frequency of a word.
+     *
+     * @param word String containing the (normalized) word.
+     * @return the estimated frequency, at least the real frequency of the {@param word}.
+     */
+    public int estimate(String word) {
+        char[] buffer = word.toCharArray();
+        int hash1 = WordHash.mix(WordHash.hash(buffer, 0, buffer.length));
+        int hash2 = WordHash.mix(WordHash.secondHash(buffer, 0, buffer.length));
+        int estimate = Integer.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters[row * width + column(hash1, hash2, row)]);
+        }
+        return estimate;
+    }
+
+    /**
+     * @return the total number of words counted, N.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the maximum overestimation (e / width) * N, which holds with a probability of 1 - e^-depth.
+     */
+    public double getErrorBound() {
+        return Math.E / width * totalCount;
+    }
+
+    public long getEstimatedMemoryUsage() {
+        return 16L + 4L * counters.length;
+    }
+
+    /**
+     * Derives the column of a row from two hashes (Kirsch-Mitzenmacher), instead of hashing the word once per row.
+     */
+    private int column(int hash1, int hash2, int row) {
+        return Math.floorMod(hash1 + row * hash2, width);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.wordcount.approximate;
+
+import com.example.wordcount.model.TopWordSelector;
+import com.example.wordcount.model.Word;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordHash;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Space-Saving summary of the most frequent words, monitoring a fixed number ('capacity') of words. A word that is not
+ * monitored replaces the monitored word with the lowest count, taking over that count plus one; the count taken over
+ * is remembered as the maximum error of the new word.
+ * <p>
+ * With a total of N words counted, the count of a monitored word exceeds its real frequency by at most its error,
+ * which is at most N / capacity. Every word with a real frequency above N / capacity is monitored. As long as fewer
+ * different words than the capacity were seen, all counts are exact.
+ * <p>
+ * The monitored words are kept in a min-heap on their counts, indexed by an open addressing table. Their characters
+ * are kept in reusable per-entry buffers, so counting creates no objects once the summary is full.
+ */
+public class SpaceSaving {
+
+    private final int capacity;
+    private final char[][] words;
+    private final int[] wordLengths;
+    private final int[] counts;
+    private final int[] errors;
+    private final int[] hashes;
+    private final int[] slots; // Per heap entry, its slot in the index.
+    private final int[] index; // Per slot, the heap entry plus one, or 0 if the slot is empty.
+    private final int indexMask;
+    private int size;
+
+    /**
+     * @param capacity int containing the number of words to monitor.
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity should be a non zero positive value. The value provided is '" + capacity + "'.");
+        }
+        this.capacity = capacity;
+        this.words = new char[capacity][];
+        this.wordLengths = new int[capacity];
+        this.counts = new int[capacity];
+        this.errors = new int[capacity];
+        this.hashes = new int[capacity];
+        this.slots = new int[capacity];
+        // Keep the load factor of the index at most 1/2.
+        this.index = new int[Integer.highestOneBit(capacity) * 4];
+        this.indexMask = index.length - 1;
+    }
+
+    /**
+     * Adds one occurrence of a word, handed over as a view on a buffer.
+     *
+     * @param hash int containing the {@link WordHash#hash(char[], int, int)} of the word.
+     */
+    public void add(char[] buffer, int offset, int length, int hash) {
+        int slot = findSlot(buffer, offset, length, hash);
+        if (index[slot] != 0) {
+            // A monitored word: raise its count.
+            int entry = index[slot] - 1;
+            counts[entry]++;
+            siftDown(entry);
+            return;
+        }
+
+        int entry;
+        if (size < capacity) {
+            // Monitor the word in a free entry.
+            entry = size++;
+            counts[entry] = 1;
+            errors[entry] = 0;
+        } else {
+            // Replace the word with the lowest count, at the root of the heap.
+            entry = 0;
+            removeFromIndex(slots[entry]);
+            errors[entry] = counts[entry];
+            counts[entry]++;
+            slot = findSlot(buffer, offset, length, hash);
+        }
+        if (words[entry] == null || words[entry].length < length) {
+            words[entry] = new char[Math.max(length, 16)];
+        }
+        System.arraycopy(buffer, offset, words[entry], 0, length);
+        wordLengths[entry] = length;
+        hashes[entry] = hash;
+        index[slot] = entry + 1;
+        slots[entry] = slot;
+        if (entry == 0) {
+            siftDown(entry);
+        } else {
+            siftUp(entry);
+        }
+    }
+
+    /**
+     * @param word String containing the (normalized) word.
+     * @return the count of the {@param word}, or -1 if it is not monitored.
+     */
+    public int getCount(String word) {
+        char[] buffer = word.toCharArray();
+        int slot = findSlot(buffer, 0, buffer.length, WordHash.hash(buffer, 0, buffer.length));
+        return index[slot] != 0 ? counts[index[slot] - 1] : -1;
+    }
+
+    /**
+     * @return the highest count of the monitored words, or 0 if there are none.
+     */
+    public int getHighestCount() {
+        int highestCount = 0;
+        for (int entry = 0; entry < size; entry++) {
+            highestCount = Math.max(highestCount, counts[entry]);
+        }
+        return highestCount;
+    }
+
+    /**
+     * @param n integer containing the number of entries to return, at most the number of monitored words.
+     * @return a new {@link List<WordFrequency>} of the {@param n} monitored words with the highest counts.
+     */
+    public List<WordFrequency> getMostFrequent(int n) {
+        List<WordFrequency> wordFrequencyList = new ArrayList<>(size);
+        for (int entry = 0; entry < size; entry++) {
+            wordFrequencyList.add(new Word(new String(words[entry], 0, wordLengths[entry]), counts[entry]));
+        }
+        return TopWordSelector.select(wordFrequencyList, n);
+    }
+
+    /**
+     * @return the number of monitored words, equal to the number of different words seen while it is below capacity.
+     */
+    public int size() {
+        return size;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the highest error of the monitored words, at most N / capacity.
+     */
+    public int getMaximumError() {
+        int maximumError = 0;
+        for (int entry = 0; entry < size; entry++) {
+            maximumError = Math.max(maximumError, errors[entry]);
+        }
+        return maximumError;
+    }
+
+    public long getEstimatedMemoryUsage() {
+        long memoryUsage = 16L + 4L * index.length + 6L * (16L + 4L * capacity) + 16L + 4L * capacity;
+        for (int entry = 0; entry < size; entry++) {
+            memoryUsage += 16L + 2L * words[entry].length;
+        }
+        return memoryUsage;
+    }
+
+    /**
+     * @return the slot holding the word, or the empty slot where it should be inserted.
+     */
+    private int findSlot(char[] buffer, int offset, int length, int hash) {
+        int slot = WordHash.spread(hash) & indexMask;
+        while (index[slot] != 0) {
+            int entry = index[slot] - 1;
+            if (hashes[entry] == hash && wordLengths[entry] == length
+                    && Arrays.equals(words[entry], 0, length, buffer, offset, offset + length)) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a slot, shifting later entries of the same probe sequence back, so lookups keep finding them.
+     */
+    private void removeFromIndex(int emptySlot) {
+        index[emptySlot] = 0;
+        for (int slot = (emptySlot + 1) & indexMask; index[slot] != 0; slot = (slot + 1) & indexMask) {
+            int entry = index[slot] - 1;
+            int idealSlot = WordHash.spread(hashes[entry]) & indexMask;
+            // Move the entry if the empty slot lies between its ideal slot and its current slot.
+            if (((slot - idealSlot) & indexMask) >= ((slot - emptySlot) & indexMask)) {
+                index[emptySlot] = index[slot];
+                slots[entry] = emptySlot;
+                index[slot] = 0;
+                emptySlot = slot;
+            }
+        }
+    }
+
+    private void siftUp(int entry) {
+        while (entry > 0) {
+            int parent = (entry - 1) / 2;
+            if (counts[parent] <= counts[entry]) {
+                return;
+            }
+            swap(entry, parent);
+            entry = parent;
+        }
+    }
+
+    private void siftDown(int entry) {
+        while (true) {
+            int smallest = entry;
+            int left = 2 * entry + 1;
+            int right = left + 1;
+            if (left < size && counts[left] < counts[smallest]) {
+                smallest = left;
+            }
+            if (right < size && counts[right] < counts[smallest]) {
+                smallest = right;
+            }
+            if (smallest == entry) {
+                return;
+            }
+            swap(entry, smallest);
+            entry = smallest;
+        }
+    }
+
+    private void swap(int entry1, int entry2) {
+        char[] word = words[entry1];
+        words[entry1] = words[entry2];
+        words[entry2] = word;
+        swap(wordLengths, entry1, entry2);
+        swap(counts, entry1, entry2);
+        swap(errors, entry1, entry2);
+        swap(hashes, entry1, entry2);
+        swap(slots, entry1, entry2);
+        index[slots[entry1]] = entry1 + 1;
+        index[slots[entry2]] = entry2 + 1;
+    }
+
+    private static void swap(int[] values, int i, int j) {
+        int value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+    }
+}
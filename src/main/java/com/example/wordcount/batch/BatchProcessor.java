@@ -0,0 +1,130 @@
+package com.example.wordcount.batch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Runs an operation on every document of a batch in parallel, on a bounded executor shared by all batches, and hands
+ * the results over in document order while later documents are still processed.
+ * <p>
+ * Per batch, at most a window of documents is read ahead and in flight, so memory use is bounded whatever the size of
+ * the batch. When the executor's queue is full, the thread handing over the batch runs the document itself, which
+ * slows down concurrent batches instead of rejecting them.
+ * <p>
+ * Closing the processor (done by Spring when the context closes) shuts the executor down, after the documents in
+ * flight.
+ */
+@Component
+public class BatchProcessor implements AutoCloseable {
+
+    private static final int WINDOW_PER_THREAD = 4;
+
+    private final ThreadPoolExecutor executor;
+    private final int window;
+
+    /**
+     * @param parallelism int containing the number of threads to process documents with, or 0 for one per processor.
+     */
+    public BatchProcessor(@Value("${wordcount.batch.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.window = threads * WINDOW_PER_THREAD;
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(window),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "batch-processor");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Processes a batch of documents.
+     *
+     * @param documentReader {@link DocumentReader} to read the documents from.
+     * @param operation      Function to run on each document. An IllegalArgumentException it throws fails that
+     *                       document only.
+     * @param resultConsumer {@link ResultConsumer} to hand the result of each document to, in document order.
+     * @param <R>            type of the result of the operation.
+     * @return the {@link BatchSummary} of the batch.
+     * @throws IOException           if the documents cannot be read, or the results cannot be handed over.
+     * @throws IllegalStateException if the processor is closed.
+     */
+    public <R> BatchSummary process(DocumentReader documentReader, Function<String, R> operation,
+                                    ResultConsumer<R> resultConsumer) throws IOException {
+        // A shut down executor would silently drop the documents.
+        if (executor.isShutdown()) {
+            throw new IllegalStateException("The batch processor is closed.");
+        }
+        long start = System.nanoTime();
+        ArrayDeque<CompletableFuture<DocumentResult<R>>> inFlight = new ArrayDeque<>(window);
+        int numberOfDocuments = 0;
+        int numberOfFailedDocuments = 0;
+        long processingNanos = 0;
+        String document;
+        while (true) {
+            // Fill the window, then hand over the oldest result, which keeps the results in order.
+            while (inFlight.size() < window && (document = documentReader.next()) != null) {
+                inFlight.add(submit(numberOfDocuments++, document, operation));
+            }
+            if (inFlight.isEmpty()) {
+                break;
+            }
+            DocumentResult<R> documentResult = join(inFlight.poll());
+            processingNanos += documentResult.getProcessingNanos();
+            if (documentResult.getError() != null) {
+                numberOfFailedDocuments++;
+            }
+            resultConsumer.accept(documentResult);
+        }
+        return new BatchSummary(numberOfDocuments, numberOfFailedDocuments,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), TimeUnit.NANOSECONDS.toMicros(processingNanos));
+    }
+
+    /**
+     * Shuts the executor down. Documents in flight are still processed, new batches are rejected.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <R> CompletableFuture<DocumentResult<R>> submit(int index, String document, Function<String, R> operation) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                R result = operation.apply(document);
+                return new DocumentResult<>(index, result, null, System.nanoTime() - start);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                return new DocumentResult<>(index, null, illegalArgumentException.getMessage(), System.nanoTime() - start);
+            }
+        }, executor);
+    }
+
+    private static <R> DocumentResult<R> join(CompletableFuture<DocumentResult<R>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing a batch.", interruptedException);
+        } catch (ExecutionException executionException) {
+            // Anything but an IllegalArgumentException is unexpected, and fails the batch.
+            throw new IllegalStateException(executionException.getCause());
+        }
+    }
+
+    /**
+     * Receives the result of each document of a batch.
+     */
+    @FunctionalInterface
+    public interface ResultConsumer<R> {
+        void accept(DocumentResult<R> documentResult) throws IOException;
+    }
+}
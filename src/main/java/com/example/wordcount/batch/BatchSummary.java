@@ -0,0 +1,41 @@
+package com.example.wordcount.batch;
+
+/**
+ * Counters and timing of a processed batch.
+ */
+public class BatchSummary {
+
+    private final int numberOfDocuments;
+    private final int numberOfFailedDocuments;
+    private final long elapsedMicros;
+    private final long processingMicros;
+
+    public BatchSummary(int numberOfDocuments, int numberOfFailedDocuments, long elapsedMicros, long processingMicros) {
+        this.numberOfDocuments = numberOfDocuments;
+        this.numberOfFailedDocuments = numberOfFailedDocuments;
+        this.elapsedMicros = elapsedMicros;
+        this.processingMicros = processingMicros;
+    }
+
+    public int getNumberOfDocuments() {
+        return numberOfDocuments;
+    }
+
+    public int getNumberOfFailedDocuments() {
+        return numberOfFailedDocuments;
+    }
+
+    /**
+     * @return the wall clock time of the whole batch, reading the documents and handing over the results included.
+     */
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    /**
+     * @return the sum of the time spent on each document, which exceeds the elapsed time as documents run in parallel.
+     */
+    public long getProcessingMicros() {
+        return processingMicros;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.wordcount.batch;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the documents of a batch one by one, while the batch arrives. A document is a JSON string, or a JSON object
+ * with a string field 'text'.
+ */
+public interface DocumentReader {
+
+    /**
+     * @return the next document, or null at the end of the batch.
+     * @throws IOException              if the batch cannot be read.
+     * @throws IllegalArgumentException if the batch is malformed.
+     */
+    String next() throws IOException;
+
+    /**
+     * @param inputStream InputStream containing a JSON array of documents.
+     * @return a {@link DocumentReader} reading the elements of the array.
+     */
+    static DocumentReader ofJsonArray(InputStream inputStream) throws IOException {
+        JsonParser jsonParser = new JsonFactory().createParser(inputStream);
+        if (jsonParser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("The batch should be a JSON array of documents.");
+        }
+        return () -> {
+            JsonToken jsonToken = jsonParser.nextToken();
+            if (jsonToken == JsonToken.END_ARRAY || jsonToken == null) {
+                return null;
+            }
+            return readDocument(jsonParser);
+        };
+    }
+
+    /**
+     * @param inputStream InputStream containing a document per line (NDJSON). Blank lines are skipped.
+     * @return a {@link DocumentReader} reading the lines.
+     */
+    static DocumentReader ofNdjson(InputStream inputStream) {
+        BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        JsonFactory jsonFactory = new JsonFactory();
+        return () -> {
+            String line;
+            do {
+                line = bufferedReader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            try (JsonParser jsonParser = jsonFactory.createParser(line)) {
+                jsonParser.nextToken();
+                return readDocument(jsonParser);
+            }
+        };
+    }
+
+    /**
+     * Reads the document at the current token.
+     */
+    private static String readDocument(JsonParser jsonParser) throws IOException {
+        if (jsonParser.currentToken() == JsonToken.VALUE_STRING) {
+            return jsonParser.getText();
+        }
+        if (jsonParser.currentToken() == JsonToken.START_OBJECT) {
+            String text = null;
+            while (jsonParser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = jsonParser.getCurrentName();
+                jsonParser.nextToken();
+                if ("text".equals(fieldName) && jsonParser.currentToken() == JsonToken.VALUE_STRING) {
+                    text = jsonParser.getText();
+                } else {
+                    jsonParser.skipChildren();
+                }
+            }
+            if (text != null) {
+                return text;
+            }
+        }
+        throw new IllegalArgumentException("A document should be a JSON string, or a JSON object with a string field 'text'.");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.wordcount.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of the operation on a single document of a batch: either its result, or the error it failed with.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DocumentResult<R> {
+
+    private final int index;
+    private final R result;
+    private final String error;
+    private final long processingNanos;
+
+    public DocumentResult(int index, R result, String error, long processingNanos) {
+        this.index = index;
+        this.result = result;
+        this.error = error;
+        this.processingNanos = processingNanos;
+    }
+
+    /**
+     * @return the position of the document within the batch, starting at 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public R getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public long getProcessingNanos() {
+        return processingNanos;
+    }
+}
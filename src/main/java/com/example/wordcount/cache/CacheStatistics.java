@@ -0,0 +1,53 @@
+package com.example.wordcount.cache;
+
+/**
+ * Point in time counters of a {@link FrequencySnapshotCache}.
+ */
+public class CacheStatistics {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final int entryCount;
+    private final long estimatedBytes;
+    private final long maxBytes;
+
+    public CacheStatistics(long hitCount, long missCount, long evictionCount, int entryCount, long estimatedBytes, long maxBytes) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.entryCount = entryCount;
+        this.estimatedBytes = estimatedBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * @return the number of requests answered without counting, including those that waited for a concurrent count.
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of requests that counted their text.
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.wordcount.cache;
+
+import com.example.wordcount.model.FrequencySnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Content-addressed cache of {@link FrequencySnapshot}s, keyed by the SHA-256 hash of the text they were counted from.
+ * The least recently used snapshots are evicted once the estimated size of all snapshots exceeds a maximum number of
+ * bytes. Concurrent requests for the same text that is not cached yet share a single count.
+ */
+@Component
+public class FrequencySnapshotCache {
+
+    private static final int ENTRY_OVERHEAD = 128; // Key String, map entry and bookkeeping.
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true); // In access order.
+    private final ConcurrentHashMap<String, CompletableFuture<FrequencySnapshot>> countsInProgress = new ConcurrentHashMap<>();
+    private long estimatedBytes;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    /**
+     * @param maxBytes long containing the maximum estimated number of bytes of all cached snapshots.
+     */
+    public FrequencySnapshotCache(@Value("${wordcount.cache.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Finds the snapshot of a text, counting it if it is not cached.
+     *
+     * @param variant String distinguishing snapshots of the same text counted differently, e.g. by another engine.
+     * @param text    String containing the text to find the snapshot for.
+     * @param analyze Function counting a text into a snapshot. Exceptions it throws are passed on, and nothing is cached.
+     * @return the {@link FrequencySnapshot} of the {@param text}.
+     */
+    public FrequencySnapshot get(String variant, String text, Function<String, FrequencySnapshot> analyze) {
+        String key = variant + ':' + hash(text);
+        FrequencySnapshot frequencySnapshot = lookup(key);
+        if (frequencySnapshot != null) {
+            hitCount.incrementAndGet();
+            return frequencySnapshot;
+        }
+
+        // Join a count of the same text in progress, or start one.
+        CompletableFuture<FrequencySnapshot> count = new CompletableFuture<>();
+        CompletableFuture<FrequencySnapshot> countInProgress = countsInProgress.putIfAbsent(key, count);
+        if (countInProgress != null) {
+            hitCount.incrementAndGet();
+            return join(countInProgress);
+        }
+        try {
+            // The text may have been cached just before the count was registered.
+            frequencySnapshot = lookup(key);
+            if (frequencySnapshot != null) {
+                hitCount.incrementAndGet();
+            } else {
+                missCount.incrementAndGet();
+                frequencySnapshot = analyze.apply(text);
+                store(key, frequencySnapshot);
+            }
+            count.complete(frequencySnapshot);
+            return frequencySnapshot;
+        } catch (RuntimeException runtimeException) {
+            count.completeExceptionally(runtimeException);
+            throw runtimeException;
+        } finally {
+            countsInProgress.remove(key);
+        }
+    }
+
+    public CacheStatistics getStatistics() {
+        synchronized (entries) {
+            return new CacheStatistics(hitCount.get(), missCount.get(), evictionCount.get(), entries.size(), estimatedBytes, maxBytes);
+        }
+    }
+
+    private FrequencySnapshot lookup(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null ? entry.frequencySnapshot : null;
+        }
+    }
+
+    private void store(String key, FrequencySnapshot frequencySnapshot) {
+        long bytes = frequencySnapshot.getEstimatedMemoryUsage() + ENTRY_OVERHEAD;
+        // A snapshot larger than the whole cache would only evict all others.
+        if (bytes > maxBytes) {
+            return;
+        }
+        synchronized (entries) {
+            Entry previous = entries.put(key, new Entry(frequencySnapshot, bytes));
+            if (previous != null) {
+                estimatedBytes -= previous.bytes;
+            }
+            estimatedBytes += bytes;
+            // Evict the least recently used entries until the cache fits.
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            while (estimatedBytes > maxBytes && iterator.hasNext()) {
+                estimatedBytes -= iterator.next().getValue().bytes;
+                iterator.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private static FrequencySnapshot join(CompletableFuture<FrequencySnapshot> count) {
+        try {
+            return count.join();
+        } catch (CompletionException completionException) {
+            // Pass on the exception of the count, e.g. an IllegalArgumentException for a text without words.
+            if (completionException.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) completionException.getCause();
+            }
+            throw completionException;
+        }
+    }
+
+    private static String hash(String text) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException noSuchAlgorithmException) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(noSuchAlgorithmException);
+        }
+    }
+
+    private static class Entry {
+
+        private final FrequencySnapshot frequencySnapshot;
+        private final long bytes;
+
+        Entry(FrequencySnapshot frequencySnapshot, long bytes) {
+            this.frequencySnapshot = frequencySnapshot;
+            this.bytes = bytes;
+        }
+    }
+}
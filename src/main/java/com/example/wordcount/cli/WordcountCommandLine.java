@@ -0,0 +1,578 @@
+package com.example.wordcount.cli;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.index.FrequencyIndex;
+import com.example.wordcount.index.FrequencyIndexMerger;
+import com.example.wordcount.index.FrequencyIndexWriter;
+import com.example.wordcount.metrics.AnalyzerStatistics;
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.Word;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import com.example.wordcount.model.WordFrequencySnapshot;
+import com.example.wordcount.model.WordWatchlist;
+import com.example.wordcount.window.SlidingWindowCounter;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The command line interface: parses the options, and runs the function asked for with the analyzers of a
+ * {@link WordFrequencyAnalyzerFactory}. It runs within the Spring Boot application, which keeps serving REST requests
+ * afterwards, or standalone through {@link #main(String[])}, which starts without a Spring context and exits once the
+ * result is printed, e.g. for shell pipelines calling it many times.
+ */
+public class WordcountCommandLine {
+
+    private final WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory;
+
+    public WordcountCommandLine(WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory) {
+        this.wordFrequencyAnalyzerFactory = wordFrequencyAnalyzerFactory;
+    }
+
+    /**
+     * Runs the command line interface standalone, with the default engine settings and without metrics or REST
+     * services, and exits.
+     */
+    public static void main(String[] args) {
+        try (WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory = new WordFrequencyAnalyzerFactory()) {
+            new WordcountCommandLine(wordFrequencyAnalyzerFactory).run(args);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Parses the options, runs the function asked for and prints its result. Exits the JVM with an error code if the
+     * options are invalid or the function fails.
+     *
+     * @param args String array containing the command line arguments.
+     */
+    public void run(String... args) {
+        // Define the options.
+        Options options = defineOptions();
+
+        // Parse the options provided.
+        CommandLineParser parser = new DefaultParser();
+        CommandLine cmd = null;
+        try {
+            cmd = parser.parse(options, args);
+        } catch (ParseException e) {
+            e.printStackTrace();
+        }
+        if (cmd == null) {
+            System.out.println("/nCould not parse command line options. Please provide correct options.");
+            generateHelpAndExit(options);
+        }
+
+        // Pass the options on to the functions.
+        executeFunctions(options, cmd);
+    }
+
+    private void executeFunctions(Options options, CommandLine cmd) {
+        if ((!cmd.hasOption("t") || cmd.getOptionValue("t").isBlank()) && (!cmd.hasOption("p") || cmd.getOptionValue("p").isBlank())
+                && (!cmd.hasOption("i") || cmd.getOptionValue("i").isBlank())) {
+            System.out.print("\nOption 't', 'p' or 'i' should be non null and filled.\n\n");
+            generateHelpAndExit(options);
+        }
+        String textFromCmd = cmd.getOptionValue("t");
+        Path pathFromCmd = cmd.hasOption("p") ? Paths.get(cmd.getOptionValue("p")) : null;
+        Path indexFromCmd = cmd.hasOption("i") ? Paths.get(cmd.getOptionValue("i")) : null;
+        // An index answers the questions without tokenizing again.
+        FrequencyIndex frequencyIndex = null;
+        if (indexFromCmd != null) {
+            try {
+                frequencyIndex = FrequencyIndex.open(indexFromCmd);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, indexFromCmd, ioException);
+            }
+        }
+        // Statistics are recorded by an analyzer of their own, so they cover this run only.
+        AnalyzerStatistics analyzerStatistics = cmd.hasOption("stats") ? new AnalyzerStatistics() : null;
+        WordFrequencyAnalyzer wordFrequencyCalculator = null;
+        try {
+            String engine = cmd.getOptionValue("e", WordFrequencyAnalyzerFactory.EXACT);
+            wordFrequencyCalculator = analyzerStatistics != null
+                    ? wordFrequencyAnalyzerFactory.create(engine, analyzerStatistics)
+                    : wordFrequencyAnalyzerFactory.get(engine);
+        } catch (IllegalArgumentException illegalArgumentException) {
+            System.out.print("\nA problem arose while processing option 'e'.\n");
+            System.out.print(illegalArgumentException.getMessage() + "\n\n");
+            generateHelpAndExit(options);
+        }
+        // N-grams are counted instead of words if option 'g' asks for phrases of more than one word.
+        int nGramSize = 1;
+        try {
+            nGramSize = Integer.parseInt(cmd.getOptionValue("g", "1"));
+            ArgumentValidator.validateNGramSize(nGramSize);
+            if (nGramSize > 1 && (frequencyIndex != null || !(cmd.hasOption("f") || cmd.hasOption("s") || cmd.hasOption("h") || cmd.hasOption("a")))) {
+                throw new IllegalArgumentException("N-grams can only be counted from a text or path, with option 'f', 's', 'h' or 'a'.");
+            }
+        } catch (IllegalArgumentException illegalArgumentException) {
+            // Includes the NumberFormatException of a non numeric size.
+            System.out.print("\nA problem arose while processing option 'g'.\n");
+            System.out.print(illegalArgumentException.getMessage() + "\n\n");
+            generateHelpAndExit(options);
+        }
+        if (cmd.hasOption("f")) {
+            int highestFrequency = -1;
+            try {
+                highestFrequency = frequencyIndex != null
+                        ? frequencyIndex.getHighestFrequency()
+                        : nGramSize > 1
+                        ? analyzeNGrams(wordFrequencyCalculator, textFromCmd, pathFromCmd, nGramSize).getHighestFrequency()
+                        : pathFromCmd != null
+                        ? wordFrequencyCalculator.calculateHighestFrequency(pathFromCmd)
+                        : wordFrequencyCalculator.calculateHighestFrequency(textFromCmd);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                System.out.print("\nA problem arose while processing option 'f'.\n");
+                System.out.print(illegalArgumentException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, pathFromCmd, ioException);
+            }
+            System.out.print("\n\n\tFunction: 'calculate-highest-frequency-in-text'\n");
+            printInput(textFromCmd, pathFromCmd, indexFromCmd);
+            System.out.print("\n\tResult:   '" + highestFrequency + "'.\n\n\n");
+        } else if (cmd.hasOption("s")) {
+            if (!cmd.hasOption("w") || cmd.getOptionValue("w").isBlank()) {
+                System.out.print("\nOption 'w' should be non null.\n\n");
+                generateHelpAndExit(options);
+            }
+            String wordFromCmd = cmd.getOptionValue("w");
+            int frequencyForWord = -1;
+            try {
+                frequencyForWord = frequencyIndex != null
+                        ? frequencyIndex.getFrequencyForWord(wordFromCmd)
+                        : nGramSize > 1
+                        ? analyzeNGrams(wordFrequencyCalculator, textFromCmd, pathFromCmd, nGramSize).getFrequencyForWord(wordFromCmd)
+                        : pathFromCmd != null
+                        ? wordFrequencyCalculator.calculateFrequencyForWord(pathFromCmd, wordFromCmd)
+                        : wordFrequencyCalculator.calculateFrequencyForWord(textFromCmd, wordFromCmd);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                System.out.print("\nA problem arose while processing option 's'.\n");
+                System.out.print(illegalArgumentException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, pathFromCmd, ioException);
+            }
+            System.out.print("\n\n\tFunction: 'calculate-frequency-in-text-for-word'\"\n");
+            printInput(textFromCmd, pathFromCmd, indexFromCmd);
+            System.out.print("\n\tWord:     \"" + wordFromCmd + "\".\n");
+            System.out.print("\n\tResult:   '" + frequencyForWord + "'.\n\n\n");
+        } else if (cmd.hasOption("W")) {
+            List<WordFrequency> watchlistWordFrequencyList = new ArrayList<>();
+            try {
+                WordWatchlist wordWatchlist = new WordWatchlist(readWatchlist(cmd.getOptionValue("W")));
+                if (frequencyIndex != null) {
+                    for (String word : wordWatchlist.getWords()) {
+                        watchlistWordFrequencyList.add(new Word(word, frequencyIndex.getFrequencyForWord(word)));
+                    }
+                } else {
+                    watchlistWordFrequencyList = pathFromCmd != null
+                            ? wordFrequencyCalculator.calculateFrequencyForWords(pathFromCmd, wordWatchlist)
+                            : wordFrequencyCalculator.calculateFrequencyForWords(textFromCmd, wordWatchlist);
+                }
+            } catch (IllegalArgumentException illegalArgumentException) {
+                System.out.print("\nA problem arose while processing option 'W'.\n");
+                System.out.print(illegalArgumentException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, pathFromCmd, ioException);
+            }
+            System.out.print("\n\n\tFunction: 'calculate-frequency-in-text-for-words'\n");
+            printInput(textFromCmd, pathFromCmd, indexFromCmd);
+            printWordFrequencyList(watchlistWordFrequencyList);
+        } else if (cmd.hasOption("h")) {
+            if (!cmd.hasOption("n") || cmd.getOptionValue("n").isBlank()) {
+                System.out.print("\nOption 'n' should be non null.\n\n");
+                generateHelpAndExit(options);
+            }
+            int intNFromCmd;
+            List<WordFrequency> headWordFrequencyList = new ArrayList<>();
+            try {
+                intNFromCmd = Integer.parseInt(cmd.getOptionValue("n"));
+                headWordFrequencyList = frequencyIndex != null
+                        ? frequencyIndex.getMostFrequentNWords(intNFromCmd)
+                        : nGramSize > 1
+                        ? analyzeNGrams(wordFrequencyCalculator, textFromCmd, pathFromCmd, nGramSize).getMostFrequentNWords(intNFromCmd)
+                        : pathFromCmd != null
+                        ? wordFrequencyCalculator.calculateMostFrequentNWords(pathFromCmd, intNFromCmd)
+                        : wordFrequencyCalculator.calculateMostFrequentNWords(textFromCmd, intNFromCmd);
+            } catch (NumberFormatException numberFormatException) {
+                System.out.println("Option 'n' should be numeric and an integer.");
+                generateHelpAndExit(options);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                System.out.print("\nA problem arose while processing option 'h'.\n");
+                System.out.print(illegalArgumentException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, pathFromCmd, ioException);
+            }
+            System.out.print("\n\n\tFunction: 'calculate-frequency-in-text-for-most-frequent-n-words'\"\n");
+            printInput(textFromCmd, pathFromCmd, indexFromCmd);
+            printWordFrequencyList(headWordFrequencyList);
+        } else if (cmd.hasOption("a")) {
+            // Count once, and answer all questions asked from the same snapshot.
+            FrequencySnapshot frequencySnapshot = null;
+            String wordFromCmd = cmd.getOptionValue("w");
+            int frequencyForWord = -1;
+            List<WordFrequency> headWordFrequencyList = new ArrayList<>();
+            try {
+                frequencySnapshot = frequencyIndex != null
+                        ? frequencyIndex
+                        : nGramSize > 1
+                        ? analyzeNGrams(wordFrequencyCalculator, textFromCmd, pathFromCmd, nGramSize)
+                        : pathFromCmd != null
+                        ? wordFrequencyCalculator.analyze(pathFromCmd)
+                        : wordFrequencyCalculator.analyze(textFromCmd);
+                if (wordFromCmd != null) {
+                    frequencyForWord = frequencySnapshot.getFrequencyForWord(wordFromCmd);
+                }
+                if (cmd.hasOption("n")) {
+                    headWordFrequencyList = frequencySnapshot.getMostFrequentNWords(Integer.parseInt(cmd.getOptionValue("n")));
+                }
+            } catch (NumberFormatException numberFormatException) {
+                System.out.println("Option 'n' should be numeric and an integer.");
+                generateHelpAndExit(options);
+            } catch (IllegalArgumentException illegalArgumentException) {
+                System.out.print("\nA problem arose while processing option 'a'.\n");
+                System.out.print(illegalArgumentException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, pathFromCmd, ioException);
+            }
+            System.out.print("\n\n\tFunction: 'analyze-text'\n");
+            printInput(textFromCmd, pathFromCmd, indexFromCmd);
+            System.out.print("\n\tDifferent Words:   '" + frequencySnapshot.getNumberOfDifferentWords() + "'.\n");
+            System.out.print("\n\tHighest Frequency: '" + frequencySnapshot.getHighestFrequency() + "'.\n");
+            if (wordFromCmd != null) {
+                System.out.print("\n\tWord:     \"" + wordFromCmd + "\".\n");
+                System.out.print("\n\tFrequency For Word: '" + frequencyForWord + "'.\n");
+            }
+            if (cmd.hasOption("n")) {
+                printWordFrequencyList(headWordFrequencyList);
+            }
+            System.out.print("\n\n");
+        } else if (cmd.hasOption("b")) {
+            if (pathFromCmd == null && textFromCmd == null) {
+                System.out.print("\nOption 'b' should be combined with option 't' or 'p'.\n\n");
+                generateHelpAndExit(options);
+            }
+            Path indexToBuild = Paths.get(cmd.getOptionValue("b"));
+            FrequencySnapshot frequencySnapshot = null;
+            try {
+                frequencySnapshot = pathFromCmd != null
+                        ? wordFrequencyCalculator.analyze(pathFromCmd)
+                        : wordFrequencyCalculator.analyze(textFromCmd);
+                if (!(frequencySnapshot instanceof WordFrequencySnapshot) && !(frequencySnapshot instanceof FrequencyIndex)) {
+                    throw new IllegalArgumentException("An index can only be built with an exact engine, 'exact', 'parallel' or 'external'.");
+                }
+            } catch (IllegalArgumentException illegalArgumentException) {
+                System.out.print("\nA problem arose while processing option 'b'.\n");
+                System.out.print(illegalArgumentException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, pathFromCmd, ioException);
+            }
+            try {
+                if (frequencySnapshot instanceof FrequencyIndex) {
+                    // The external engine spilled the words, and merged them into an index already: copy it.
+                    try (FileChannel fileChannel = FileChannel.open(indexToBuild, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING)) {
+                        FrequencyIndexMerger.merge(List.of((FrequencyIndex) frequencySnapshot), fileChannel, FrequencyIndexWriter.DEFAULT_TOP_K);
+                    }
+                } else {
+                    FrequencyIndexWriter.write(((WordFrequencySnapshot) frequencySnapshot).getWordFrequencyTable(), indexToBuild);
+                }
+            } catch (IOException ioException) {
+                System.out.print("\nA problem arose while writing index '" + indexToBuild + "'.\n");
+                System.out.print(ioException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            }
+            System.out.print("\n\n\tFunction: 'build-index'\n");
+            printInput(textFromCmd, pathFromCmd, null);
+            System.out.print("\n\tIndex:    \"" + indexToBuild + "\".\n");
+            System.out.print("\n\tDifferent Words:   '" + frequencySnapshot.getNumberOfDifferentWords() + "'.\n\n\n");
+        } else if (cmd.hasOption("L")) {
+            if (!"-".equals(cmd.getOptionValue("p"))) {
+                System.out.print("\nOption 'L' should be combined with option 'p' set to '-', to read standard input.\n\n");
+                generateHelpAndExit(options);
+            }
+            SlidingWindowCounter slidingWindowCounter = null;
+            int intNFromCmd = 10;
+            long reportInterval = 10;
+            try {
+                slidingWindowCounter = createSlidingWindowCounter(cmd.getOptionValue("L"), Integer.parseInt(cmd.getOptionValue("buckets", "10")));
+                intNFromCmd = Integer.parseInt(cmd.getOptionValue("n", "10"));
+                ArgumentValidator.validateNumberOfWords(intNFromCmd);
+                reportInterval = Long.parseLong(cmd.getOptionValue("report-interval", "10"));
+                if (reportInterval < 1) {
+                    throw new IllegalArgumentException("The report interval should be a non zero positive number of seconds. The value provided is '" + reportInterval + "'.");
+                }
+            } catch (IllegalArgumentException illegalArgumentException) {
+                System.out.print("\nA problem arose while processing option 'L'.\n");
+                System.out.print(illegalArgumentException.getMessage() + "\n\n");
+                generateHelpAndExit(options);
+            }
+            // Report the window while the input keeps arriving, and once more at its end.
+            SlidingWindowCounter window = slidingWindowCounter;
+            int n = intNFromCmd;
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(() -> printWindow(window, n), reportInterval, reportInterval, TimeUnit.SECONDS);
+            try {
+                window.read(System.in);
+            } catch (IOException ioException) {
+                printReadProblemAndExit(options, pathFromCmd, ioException);
+            } finally {
+                reporter.shutdownNow();
+            }
+            System.out.print("\n\n\tFunction: 'sliding-window'\n");
+            System.out.print("\n\tInput:    standard input, until its end.\n");
+            printWindow(window, n);
+        } else {
+            // If we reach this branch, we are missing a critical option. Provide a hint.
+            System.out.println("At least an option 'f', 'h', 's', 'W', 'a', 'b' or 'L', and an option 't', 'p' or 'i' should be provided.");
+            generateHelpAndExit(options);
+        }
+        if (analyzerStatistics != null) {
+            printStatistics(analyzerStatistics);
+        }
+    }
+
+    private void printWindow(SlidingWindowCounter slidingWindowCounter, int n) {
+        FrequencySnapshot frequencySnapshot = slidingWindowCounter.toSnapshot();
+        int numberOfDifferentWords = frequencySnapshot.getNumberOfDifferentWords();
+        System.out.print("\n\tWindow:   '" + slidingWindowCounter.getNumberOfWords() + "' words, '" + numberOfDifferentWords + "' different.\n");
+        if (numberOfDifferentWords > 0) {
+            printWordFrequencyList(frequencySnapshot.getMostFrequentNWords(Math.min(n, numberOfDifferentWords)));
+        }
+        System.out.print("\n\n");
+    }
+
+    /**
+     * @param length String containing the length of the window: a number of words, or a duration in seconds, minutes or hours, like '30s', '5m' or '1h'.
+     */
+    private static SlidingWindowCounter createSlidingWindowCounter(String length, int numberOfBuckets) {
+        try {
+            switch (length.charAt(length.length() - 1)) {
+                case 's':
+                    return SlidingWindowCounter.ofDuration(Duration.ofSeconds(Long.parseLong(length.substring(0, length.length() - 1))), numberOfBuckets);
+                case 'm':
+                    return SlidingWindowCounter.ofDuration(Duration.ofMinutes(Long.parseLong(length.substring(0, length.length() - 1))), numberOfBuckets);
+                case 'h':
+                    return SlidingWindowCounter.ofDuration(Duration.ofHours(Long.parseLong(length.substring(0, length.length() - 1))), numberOfBuckets);
+                default:
+                    return SlidingWindowCounter.ofWords(Long.parseLong(length), numberOfBuckets);
+            }
+        } catch (NumberFormatException numberFormatException) {
+            throw new IllegalArgumentException("The window length should be a number of words, or a number followed by 's', 'm' or 'h'. The value provided is '" + length + "'.");
+        }
+    }
+
+    private static FrequencySnapshot analyzeNGrams(WordFrequencyAnalyzer wordFrequencyAnalyzer, String textFromCmd, Path pathFromCmd, int nGramSize) throws IOException {
+        return pathFromCmd != null
+                ? wordFrequencyAnalyzer.analyzeNGrams(pathFromCmd, nGramSize)
+                : wordFrequencyAnalyzer.analyzeNGrams(textFromCmd, nGramSize);
+    }
+
+    /**
+     * @param watchlist String containing comma separated words, or '@' followed by the path of a file of words separated by whitespace.
+     */
+    private static List<String> readWatchlist(String watchlist) throws IOException {
+        String words = watchlist.startsWith("@") ? Files.readString(Paths.get(watchlist.substring(1))) : watchlist.replace(',', ' ');
+        String trimmedWords = words.strip();
+        return trimmedWords.isEmpty() ? List.of() : Arrays.asList(trimmedWords.split("\\s+"));
+    }
+
+    private void printStatistics(AnalyzerStatistics analyzerStatistics) {
+        System.out.print("\tStatistics:\n");
+        if (analyzerStatistics.getNumberOfCounts() == 0) {
+            System.out.print("\n\t\tNo text was counted (an index, or an engine without statistics, was used).\n\n\n");
+            return;
+        }
+        System.out.print("\n\t\tInput Size:\t\t" + analyzerStatistics.getInputSize() + " bytes\n");
+        System.out.print("\t\tWords:\t\t\t" + analyzerStatistics.getNumberOfWords() + "\n");
+        System.out.print("\t\tDifferent Words:\t" + analyzerStatistics.getNumberOfDifferentWords() + "\n");
+        System.out.printf("\t\tCount Time:\t\t%.3f ms%n", analyzerStatistics.getCountNanos() / 1e6);
+        System.out.printf("\t\tThroughput:\t\t%.0f words/s, %.1f MB/s%n", analyzerStatistics.getWordsPerSecond(), analyzerStatistics.getBytesPerSecond() / 1e6);
+        if (analyzerStatistics.getNumberOfSelections() > 0) {
+            System.out.printf("\t\tSelection Time:\t\t%.3f ms%n", analyzerStatistics.getSelectionNanos() / 1e6);
+        }
+        if (analyzerStatistics.getCompressedSize() > 0) {
+            System.out.print("\t\tCompressed Size:\t" + analyzerStatistics.getCompressedSize() + " bytes\n");
+            System.out.printf("\t\tCounting Waited:\t%.3f ms%n", analyzerStatistics.getCountingWaitNanos() / 1e6);
+            System.out.printf("\t\tDecompression Waited:\t%.3f ms%n", analyzerStatistics.getDecompressionWaitNanos() / 1e6);
+            // Whichever side waited the least for the other one kept the other one waiting.
+            boolean decompressionBound = analyzerStatistics.getCountingWaitNanos() > analyzerStatistics.getDecompressionWaitNanos();
+            System.out.print("\t\tBottleneck:\t\t" + (decompressionBound ? "decompression" : "counting") + "\n");
+        }
+        System.out.print("\n\n");
+    }
+
+    private void printWordFrequencyList(List<WordFrequency> headWordFrequencyList) {
+        System.out.print("\n\tWord Frequency List:\n");
+        for (int i = 0; i < headWordFrequencyList.size(); i++) {
+            WordFrequency wordFrequency = headWordFrequencyList.get(i);
+            System.out.print("\n\t\tIndex:\t\t" + (i + 1) + "\n\t\tWord:\t\t" + wordFrequency.getWord() + "\n\t\tFrequency:\t" + wordFrequency.getFrequency() + "\n");
+        }
+    }
+
+    private void printInput(String textFromCmd, Path pathFromCmd, Path indexFromCmd) {
+        if (indexFromCmd != null) {
+            System.out.print("\n\tIndex:    \"" + indexFromCmd + "\".\n");
+        } else if (pathFromCmd != null) {
+            System.out.print("\n\tPath:     \"" + pathFromCmd + "\".\n");
+        } else {
+            System.out.print("\n\tText:     \"" + textFromCmd + "\".\n");
+        }
+    }
+
+    private void printReadProblemAndExit(Options options, Path pathFromCmd, IOException ioException) {
+        System.out.print("\nA problem arose while reading path '" + pathFromCmd + "'.\n");
+        System.out.print(ioException.getMessage() + "\n\n");
+        generateHelpAndExit(options);
+    }
+
+    private void generateHelpAndExit(Options options) {
+        // Generate the help statement
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("ant", options);
+        // Exit with an error code.
+        System.exit(-1);
+    }
+
+    private Options defineOptions() {
+        // create Options object.
+        Options options = new Options();
+
+        // Define the options.
+        OptionGroup functionOptionGroup = new OptionGroup();
+        functionOptionGroup
+                .isRequired();
+        Option HIGHEST_FREQUENCY = Option.builder("f")
+                .longOpt("calculate-highest-frequency-in-text")
+                .desc("Calculates the highest frequency of the highest frequent word of a given text.")
+                .build();
+        functionOptionGroup.addOption(HIGHEST_FREQUENCY);
+        Option FREQUENCY_FOR_WORD = Option.builder("s")
+                .longOpt("calculate-frequency-in-text-for-word")
+                .desc("Calculates the frequency of the given word in a given text.")
+                .build();
+        functionOptionGroup.addOption(FREQUENCY_FOR_WORD);
+        Option FREQUENCIES_FOR_WORDS = Option.builder("W")
+                .longOpt("calculate-frequency-in-text-for-words")
+                .hasArg(true)
+                .desc("Calculates the frequencies of the words of the given watchlist in a given text, counting only those words: comma separated words, or '@' followed by the path of a file of words separated by whitespace.")
+                .build();
+        functionOptionGroup.addOption(FREQUENCIES_FOR_WORDS);
+        Option TOP_N_FREQUENCIES = Option.builder("h")
+                .longOpt("calculate-frequency-in-text-for-most-frequent-n-words")
+                .desc("Calculates the frequencies of the given 'n' top frequent words of a given text.")
+                .build();
+        functionOptionGroup.addOption(TOP_N_FREQUENCIES);
+        Option ANALYZE = Option.builder("a")
+                .longOpt("analyze-text")
+                .desc("Counts a given text once, and calculates its highest frequency, the frequency of the word given by option 'w' (if any), and the frequencies of the 'n' top frequent words given by option 'n' (if any).")
+                .build();
+        functionOptionGroup.addOption(ANALYZE);
+        Option BUILD_INDEX = Option.builder("b")
+                .longOpt("build-index")
+                .hasArg(true)
+                .desc("Counts a given text once with an exact engine, and writes its frequencies as an index to the given path, to be used with option 'i'.")
+                .build();
+        functionOptionGroup.addOption(BUILD_INDEX);
+        Option SLIDING_WINDOW = Option.builder("L")
+                .longOpt("sliding-window")
+                .hasArg(true)
+                .desc("Counts a live feed on standard input (option 'p' set to '-') over a sliding window of the given length: a number of words, or a duration like '30s', '5m' or '1h'. Reports the 'n' (default 10) top frequent words of the window every report interval, and at the end of the input.")
+                .build();
+        functionOptionGroup.addOption(SLIDING_WINDOW);
+        options.addOptionGroup(functionOptionGroup);
+
+        OptionGroup inputOptionGroup = new OptionGroup();
+        inputOptionGroup
+                .setRequired(true);
+        Option text = Option.builder("t")
+                .longOpt("text")
+                .hasArg(true)
+                .desc("String containing the text to analyze on word frequencies.")
+                .build();
+        inputOptionGroup.addOption(text);
+        Option path = Option.builder("p")
+                .longOpt("path")
+                .hasArg(true)
+                .desc("Path of an ASCII or UTF-8 encoded file, or of a directory of such files, to analyze on word frequencies. The files are memory-mapped, or decompressed on the fly if gzip or zstd compressed, or tar archives. With option 'L', '-' for standard input.")
+                .build();
+        inputOptionGroup.addOption(path);
+        Option index = Option.builder("i")
+                .longOpt("index")
+                .hasArg(true)
+                .desc("Path of an index built with option 'b', to calculate word frequencies from without analyzing the text again.")
+                .build();
+        inputOptionGroup.addOption(index);
+        options.addOptionGroup(inputOptionGroup);
+
+        Option word = Option.builder("w")
+                .longOpt("word")
+                .hasArg(true)
+                .desc("Word to find the frequency for in a given text.")
+                .build();
+        options.addOption(word);
+
+        Option nGram = Option.builder("g")
+                .longOpt("ngram")
+                .hasArg(true)
+                .desc("Number of words per n-gram (default 1) counted by option 'f', 's', 'h' or 'a' instead of single words, e.g. 2 for two-word phrases. The word of option 'w' is then a phrase of that many words. Only with an exact engine.")
+                .build();
+        options.addOption(nGram);
+
+        Option engine = Option.builder("e")
+                .longOpt("engine")
+                .hasArg(true)
+                .desc("Engine to count with: 'exact' (default), 'parallel' (exact, on all processors), 'approximate' (in fixed memory, with estimated frequencies) or 'external' (exact, spilling to disk beyond a memory budget).")
+                .build();
+        options.addOption(engine);
+
+        Option number = Option.builder("n")
+                .longOpt("number")
+                .hasArg(true)
+                .desc("Number of top frequencies to find in a given text.")
+                .build();
+        options.addOption(number);
+
+        Option buckets = Option.builder()
+                .longOpt("buckets")
+                .hasArg(true)
+                .desc("Number of buckets the sliding window of option 'L' moves by (default 10). A single bucket makes a tumbling window.")
+                .build();
+        options.addOption(buckets);
+
+        Option reportInterval = Option.builder()
+                .longOpt("report-interval")
+                .hasArg(true)
+                .desc("Number of seconds between the reports of option 'L' (default 10).")
+                .build();
+        options.addOption(reportInterval);
+
+        Option stats = Option.builder()
+                .longOpt("stats")
+                .desc("Prints statistics of the count after the result: the input size, the number of (different) words, the time taken to count and to select the top words, and the throughput.")
+                .build();
+        options.addOption(stats);
+        return options;
+    }
+
+}
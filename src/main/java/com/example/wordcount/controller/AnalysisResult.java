@@ -0,0 +1,54 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequency;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * Answers to several questions about a single text, all taken from one {@link FrequencySnapshot}. Answers to
+ * questions that were not asked are left out.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class AnalysisResult {
+
+    private final int numberOfDifferentWords;
+    private final int highestFrequency;
+    private final String word;
+    private final Integer frequencyForWord;
+    private final List<WordFrequency> mostFrequentNWords;
+
+    /**
+     * @param frequencySnapshot {@link FrequencySnapshot} of the text.
+     * @param word              String containing the word to find the frequency for, or null.
+     * @param n                 Integer containing the number of top frequent words to find, or null.
+     */
+    public AnalysisResult(FrequencySnapshot frequencySnapshot, String word, Integer n) {
+        this.numberOfDifferentWords = frequencySnapshot.getNumberOfDifferentWords();
+        this.highestFrequency = frequencySnapshot.getHighestFrequency();
+        this.word = word;
+        this.frequencyForWord = word != null ? frequencySnapshot.getFrequencyForWord(word) : null;
+        this.mostFrequentNWords = n != null ? frequencySnapshot.getMostFrequentNWords(n) : null;
+    }
+
+    public int getNumberOfDifferentWords() {
+        return numberOfDifferentWords;
+    }
+
+    public int getHighestFrequency() {
+        return highestFrequency;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public Integer getFrequencyForWord() {
+        return frequencyForWord;
+    }
+
+    public List<WordFrequency> getMostFrequentNWords() {
+        return mostFrequentNWords;
+    }
+}
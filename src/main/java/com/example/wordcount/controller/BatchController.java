@@ -0,0 +1,91 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.batch.BatchProcessor;
+import com.example.wordcount.batch.BatchSummary;
+import com.example.wordcount.batch.DocumentReader;
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+/**
+ * Analyzes many documents per request, e.g. short messages or log lines, so the cost of a request is shared by the
+ * batch.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BatchController {
+
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private final WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory;
+    private final BatchProcessor batchProcessor;
+    private final ObjectMapper objectMapper;
+
+    public BatchController(WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory, BatchProcessor batchProcessor, ObjectMapper objectMapper) {
+        this.wordFrequencyAnalyzerFactory = wordFrequencyAnalyzerFactory;
+        this.batchProcessor = batchProcessor;
+        this.objectMapper = objectMapper;
+    }
+
+    // Takes a JSON array of documents, or a document per line if the content type is NDJSON. A document is a JSON
+    // string, or an object with a string field 'text'. Every document is analyzed as by '/analyze-text', answering
+    // the questions asked by the optional 'word' and 'n' parameters.
+    // Streams back an NDJSON line per document, in order, with either its 'result' or its 'error', and finally a line
+    // with the timing of the batch.
+    @PostMapping(value = "/analyze-batch", consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    void analyzeBatch(InputStream documents, @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                      @RequestParam(required = false) String word, @RequestParam(required = false) Integer n,
+                      @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                      HttpServletResponse response) throws IOException {
+        // Reject invalid questions for the whole batch, before streaming.
+        WordFrequencyAnalyzer wordFrequencyAnalyzer = wordFrequencyAnalyzerFactory.get(engine);
+        if (word != null) {
+            ArgumentValidator.normalizeAndValidateWord(word);
+        }
+        if (n != null) {
+            ArgumentValidator.validateNumberOfWords(n);
+        }
+        DocumentReader documentReader = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf(APPLICATION_NDJSON_VALUE))
+                ? DocumentReader.ofNdjson(documents)
+                : DocumentReader.ofJsonArray(documents);
+
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        try {
+            BatchSummary batchSummary = batchProcessor.process(documentReader,
+                    text -> new AnalysisResult(wordFrequencyAnalyzer.analyze(text), word, n),
+                    documentResult -> writeLine(outputStream, documentResult));
+            writeLine(outputStream, batchSummary);
+        } catch (IllegalArgumentException | JsonProcessingException exception) {
+            // The batch turned out malformed while results were streamed already.
+            writeLine(outputStream, Map.of("error", exception.getMessage()));
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(value));
+        outputStream.write('\n');
+        // Send every line as soon as it is ready, instead of when the response buffer fills up.
+        outputStream.flush();
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    String exceptionHandler(IllegalArgumentException illegalArgumentException) {
+        // Return the error message.
+        return illegalArgumentException.getMessage();
+    }
+}
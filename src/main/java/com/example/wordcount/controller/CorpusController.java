@@ -0,0 +1,73 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.corpus.CorpusRegistry;
+import com.example.wordcount.model.WordFrequency;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Named corpora, whose word frequencies grow with every text appended to them.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/corpora")
+public class CorpusController {
+
+    private final CorpusRegistry corpusRegistry;
+    private final RequestBodyDecompression requestBodyDecompression;
+
+    public CorpusController(CorpusRegistry corpusRegistry, RequestBodyDecompression requestBodyDecompression) {
+        this.corpusRegistry = corpusRegistry;
+        this.requestBodyDecompression = requestBodyDecompression;
+    }
+
+    @GetMapping
+    List<String> names() {
+        return corpusRegistry.getNames();
+    }
+
+    @PutMapping(value = "/{name}")
+    @ResponseStatus(HttpStatus.CREATED)
+    void create(@PathVariable String name) {
+        corpusRegistry.create(name);
+    }
+
+    // Appends the (ASCII or UTF-8 encoded, and optionally compressed) text in the request body, and returns the number
+    // of words appended.
+    @PostMapping(value = "/{name}/text")
+    long append(@PathVariable String name, InputStream text) throws IOException {
+        return corpusRegistry.get(name).append(requestBodyDecompression.apply(text));
+    }
+
+    @GetMapping(value = "/{name}/highest-frequency")
+    int calculateHighest(@PathVariable String name) {
+        return corpusRegistry.get(name).getHighestFrequency();
+    }
+
+    @GetMapping(value = "/{name}/frequency-for-word/{word}")
+    int calculateWord(@PathVariable String name, @PathVariable String word) {
+        return corpusRegistry.get(name).getFrequencyForWord(word);
+    }
+
+    @GetMapping(value = "/{name}/most-frequent-n-words/{n}")
+    List<WordFrequency> calculateHeadN(@PathVariable String name, @PathVariable int n) {
+        return corpusRegistry.get(name).getMostFrequentNWords(n);
+    }
+
+    @DeleteMapping(value = "/{name}")
+    void delete(@PathVariable String name) {
+        corpusRegistry.delete(name);
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    String exceptionHandler(IllegalArgumentException illegalArgumentException) {
+        // Return the error message.
+        return illegalArgumentException.getMessage();
+    }
+}
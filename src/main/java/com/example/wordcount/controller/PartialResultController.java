@@ -0,0 +1,93 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.index.FrequencyIndex;
+import com.example.wordcount.index.FrequencyIndexMerger;
+import com.example.wordcount.index.FrequencyIndexWriter;
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencySnapshot;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partial results for counting a sharded input on several instances: each instance exports the partial result of its
+ * shard, after which any instance merges the partials, into a partial again (so merges can form a tree) or into the
+ * final top-N. Partials are {@link FrequencyIndex} data.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class PartialResultController {
+
+    private final WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory;
+    private final RequestBodyDecompression requestBodyDecompression;
+
+    public PartialResultController(WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory, RequestBodyDecompression requestBodyDecompression) {
+        this.wordFrequencyAnalyzerFactory = wordFrequencyAnalyzerFactory;
+        this.requestBodyDecompression = requestBodyDecompression;
+    }
+
+    // Counts the (ASCII or UTF-8 encoded) text in the request body, and returns its partial result.
+    @PostMapping(value = "/partial-text", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    byte[] exportPartial(InputStream text, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                         @RequestParam(defaultValue = "" + FrequencyIndexWriter.DEFAULT_TOP_K) int topK) throws IOException {
+        // Validate before counting.
+        ArgumentValidator.validateTopK(topK);
+        FrequencySnapshot frequencySnapshot = wordFrequencyAnalyzerFactory.get(engine).analyze(requestBodyDecompression.apply(text));
+        if (!(frequencySnapshot instanceof WordFrequencySnapshot)) {
+            throw new IllegalArgumentException("A partial result can only be counted with an exact engine.");
+        }
+        ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        FrequencyIndexWriter.write(((WordFrequencySnapshot) frequencySnapshot).getWordFrequencyTable(), Channels.newChannel(partial), topK);
+        return partial.toByteArray();
+    }
+
+    // The merge operations take the partials as multipart files named 'partial'.
+
+    @PostMapping(value = "/merge-partials", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    byte[] mergePartials(@RequestParam("partial") List<MultipartFile> partials,
+                         @RequestParam(defaultValue = "" + FrequencyIndexWriter.DEFAULT_TOP_K) int topK) throws IOException {
+        return FrequencyIndexMerger.merge(readPartials(partials), topK);
+    }
+
+    @PostMapping(value = "/merge-partials/most-frequent-n-words/{n}")
+    List<WordFrequency> mergePartialsHeadN(@RequestParam("partial") List<MultipartFile> partials, @PathVariable int n) throws IOException {
+        // Precompute exactly the top 'n' while merging.
+        return FrequencyIndex.wrap(FrequencyIndexMerger.merge(readPartials(partials), Math.max(n, 0))).getMostFrequentNWords(n);
+    }
+
+    private static List<FrequencyIndex> readPartials(List<MultipartFile> partials) throws IOException {
+        List<FrequencyIndex> frequencyIndices = new ArrayList<>(partials.size());
+        for (MultipartFile partial : partials) {
+            try {
+                FrequencyIndex frequencyIndex = FrequencyIndex.wrap(partial.getBytes());
+                // Decode the whole dictionary once, so a corrupt partial is rejected before merging.
+                FrequencyIndex.Entries entries = frequencyIndex.entries();
+                while (entries.next()) {
+                }
+                frequencyIndices.add(frequencyIndex);
+            } catch (IOException | IllegalStateException exception) {
+                throw new IllegalArgumentException("The partial '" + partial.getOriginalFilename() + "' cannot be read. " + exception.getMessage());
+            }
+        }
+        return frequencyIndices;
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(IllegalArgumentException.class)
+    String exceptionHandler(IllegalArgumentException illegalArgumentException) {
+        // Return the error message.
+        return illegalArgumentException.getMessage();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.input.CompressedInputReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Whether the text in a request body may be gzip or zstd compressed, or a tar archive. Decompression is disabled unless
+ * configured, as a small request could expand to any size; once enabled, a body decompressing to more than the maximum
+ * size is rejected.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RequestBodyDecompression {
+
+    public static final RequestBodyDecompression DISABLED = new RequestBodyDecompression(false, 1);
+
+    private final boolean enabled;
+    private final long maxDecompressedSize;
+
+    /**
+     * @param enabled             boolean whether request bodies are decompressed.
+     * @param maxDecompressedSize long containing the maximum number of bytes a request body may decompress to.
+     */
+    public RequestBodyDecompression(@Value("${wordcount.input.decompress-request-bodies:false}") boolean enabled,
+                                    @Value("${wordcount.input.max-decompressed-size:1073741824}") long maxDecompressedSize) {
+        if (maxDecompressedSize <= 0) {
+            throw new IllegalArgumentException("The maximum decompressed size should be a positive value. The value provided is '" + maxDecompressedSize + "'.");
+        }
+        this.enabled = enabled;
+        this.maxDecompressedSize = maxDecompressedSize;
+    }
+
+    /**
+     * @param body InputStream of a request body.
+     * @return the {@param body}, allowed to be decompressed if decompression is enabled.
+     */
+    InputStream apply(InputStream body) {
+        return enabled ? CompressedInputReader.allowDecompression(body, maxDecompressedSize) : body;
+    }
+}
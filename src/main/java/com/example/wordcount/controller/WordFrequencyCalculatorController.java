@@ -1,31 +1,129 @@
 package com.example.wordcount.controller;
 
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.cache.CacheStatistics;
+import com.example.wordcount.cache.FrequencySnapshotCache;
+import com.example.wordcount.model.FrequencySnapshot;
 import com.example.wordcount.model.WordFrequency;
-import com.example.wordcount.model.WordFrequencyCalculator;
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import com.example.wordcount.model.WordWatchlist;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WordFrequencyCalculatorController {
 
+    private final FrequencySnapshotCache frequencySnapshotCache;
+    private final WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory;
+    private final RequestBodyDecompression requestBodyDecompression;
+
+    public WordFrequencyCalculatorController(FrequencySnapshotCache frequencySnapshotCache, WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory,
+                                             RequestBodyDecompression requestBodyDecompression) {
+        this.frequencySnapshotCache = frequencySnapshotCache;
+        this.wordFrequencyAnalyzerFactory = wordFrequencyAnalyzerFactory;
+        this.requestBodyDecompression = requestBodyDecompression;
+    }
+
+    // Every operation counts with the engine given by the optional 'engine' parameter: 'exact' (default), 'parallel',
+    // 'approximate' or 'external'. The highest frequency, word frequency and top-N operations count phrases of the number
+    // of words given by the optional 'ngram' parameter (default 1, single words) with the in-memory exact engines: a word
+    // is then a phrase of that many words, e.g. 'the quick' for 'ngram=2'.
+
+    // The GET variants answer from the cached snapshot of the text, counting it only if it is not cached.
+
     @GetMapping(value = "/calculate-highest-frequency-in-text/{text}")
-    int calculateHighest(@PathVariable String text) {
-        WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
-        return wordFrequencyCalculator.calculateHighestFrequency(text);
+    int calculateHighest(@PathVariable String text, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                         @RequestParam(defaultValue = "1") int ngram) {
+        return getFrequencySnapshot(engine, text, ngram).getHighestFrequency();
     }
 
     @GetMapping(value = "/calculate-frequency-in-text-for-word/{text}/{word}")
-    int calculateWord(@PathVariable String text, @PathVariable String word) {
-        WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
-        return wordFrequencyCalculator.calculateFrequencyForWord(text, word);
+    int calculateWord(@PathVariable String text, @PathVariable String word, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                      @RequestParam(defaultValue = "1") int ngram) {
+        return getFrequencySnapshot(engine, text, ngram).getFrequencyForWord(word);
     }
 
     @GetMapping(value = "/calculate-frequency-in-text-for-most-frequent-n-words/{text}/{n}")
-    List<WordFrequency> calculateHeadN(@PathVariable String text, @PathVariable int n) {
-        WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
-        return wordFrequencyCalculator.calculateMostFrequentNWords(text, n);
+    List<WordFrequency> calculateHeadN(@PathVariable String text, @PathVariable int n, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                                       @RequestParam(defaultValue = "1") int ngram) {
+        return getFrequencySnapshot(engine, text, ngram).getMostFrequentNWords(n);
+    }
+
+    // The POST variants read the (ASCII or UTF-8 encoded) text from the request body, chunk by chunk while it arrives. It
+    // may be compressed if 'wordcount.input.decompress-request-bodies' is enabled.
+
+    @PostMapping(value = "/calculate-highest-frequency-in-text")
+    int calculateHighest(InputStream text, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                         @RequestParam(defaultValue = "1") int ngram) throws IOException {
+        WordFrequencyAnalyzer wordFrequencyAnalyzer = wordFrequencyAnalyzerFactory.get(engine);
+        return ngram == 1
+                ? wordFrequencyAnalyzer.calculateHighestFrequency(requestBodyDecompression.apply(text))
+                : wordFrequencyAnalyzer.analyzeNGrams(requestBodyDecompression.apply(text), ngram).getHighestFrequency();
+    }
+
+    @PostMapping(value = "/calculate-frequency-in-text-for-word/{word}")
+    int calculateWord(InputStream text, @PathVariable String word, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                      @RequestParam(defaultValue = "1") int ngram) throws IOException {
+        WordFrequencyAnalyzer wordFrequencyAnalyzer = wordFrequencyAnalyzerFactory.get(engine);
+        return ngram == 1
+                ? wordFrequencyAnalyzer.calculateFrequencyForWord(requestBodyDecompression.apply(text), word)
+                : wordFrequencyAnalyzer.analyzeNGrams(requestBodyDecompression.apply(text), ngram).getFrequencyForWord(word);
+    }
+
+    @PostMapping(value = "/calculate-frequency-in-text-for-most-frequent-n-words/{n}")
+    List<WordFrequency> calculateHeadN(InputStream text, @PathVariable int n, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine,
+                                       @RequestParam(defaultValue = "1") int ngram) throws IOException {
+        WordFrequencyAnalyzer wordFrequencyAnalyzer = wordFrequencyAnalyzerFactory.get(engine);
+        return ngram == 1
+                ? wordFrequencyAnalyzer.calculateMostFrequentNWords(requestBodyDecompression.apply(text), n)
+                : wordFrequencyAnalyzer.analyzeNGrams(requestBodyDecompression.apply(text), ngram).getMostFrequentNWords(n);
+    }
+
+    // The watchlist operations count only the words given by the 'words' parameter (comma separated, or repeated), in a
+    // single scan without a table of all words, so they bypass the cached snapshots.
+
+    @GetMapping(value = "/calculate-frequency-in-text-for-words/{text}")
+    List<WordFrequency> calculateWords(@PathVariable String text, @RequestParam List<String> words, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine) {
+        return wordFrequencyAnalyzerFactory.get(engine).calculateFrequencyForWords(text, new WordWatchlist(words));
+    }
+
+    @PostMapping(value = "/calculate-frequency-in-text-for-words")
+    List<WordFrequency> calculateWords(InputStream text, @RequestParam List<String> words, @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine) throws IOException {
+        return wordFrequencyAnalyzerFactory.get(engine).calculateFrequencyForWords(requestBodyDecompression.apply(text), new WordWatchlist(words));
+    }
+
+    // The analyze operations count a text once, and answer the questions asked (by the optional 'word' and 'n'
+    // parameters) from the same snapshot.
+
+    @GetMapping(value = "/analyze-text/{text}")
+    AnalysisResult analyze(@PathVariable String text, @RequestParam(required = false) String word, @RequestParam(required = false) Integer n,
+                           @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine) {
+        return new AnalysisResult(getFrequencySnapshot(engine, text, 1), word, n);
+    }
+
+    @PostMapping(value = "/analyze-text")
+    AnalysisResult analyze(InputStream text, @RequestParam(required = false) String word, @RequestParam(required = false) Integer n,
+                           @RequestParam(defaultValue = WordFrequencyAnalyzerFactory.EXACT) String engine) throws IOException {
+        return new AnalysisResult(wordFrequencyAnalyzerFactory.get(engine).analyze(requestBodyDecompression.apply(text)), word, n);
+    }
+
+    @GetMapping(value = "/cache-statistics")
+    CacheStatistics cacheStatistics() {
+        return frequencySnapshotCache.getStatistics();
+    }
+
+    private FrequencySnapshot getFrequencySnapshot(String engine, String text, int ngram) {
+        WordFrequencyAnalyzer wordFrequencyAnalyzer = wordFrequencyAnalyzerFactory.get(engine);
+        if (ngram == 1) {
+            return frequencySnapshotCache.get(engine, text, wordFrequencyAnalyzer::analyze);
+        }
+        return frequencySnapshotCache.get(engine + "-ngram-" + ngram, text, cachedText -> wordFrequencyAnalyzer.analyzeNGrams(cachedText, ngram));
     }
 
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -34,4 +132,11 @@ public class WordFrequencyCalculatorController {
         // Return the error message.
         return illegalArgumentException.getMessage();
     }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    @ExceptionHandler(IllegalStateException.class)
+    String exceptionHandler(IllegalStateException illegalStateException) {
+        // The engine cannot count at the moment, e.g. the external engine cannot spill to disk.
+        return illegalStateException.getMessage();
+    }
 }
@@ -0,0 +1,144 @@
+package com.example.wordcount.corpus;
+
+import com.example.wordcount.input.StreamWordReader;
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.TopWordSelector;
+import com.example.wordcount.model.Word;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyTable;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named, growing collection of texts, whose word frequencies are updated incrementally by appending texts.
+ * <p>
+ * An appended text is first counted into a private {@link WordFrequencyTable}, after which its frequencies are added
+ * to a {@link LongAdder} per word, so an append costs O(words in the text) and concurrent appends only contend on
+ * the words they share. Questions read the counters without locking, so they never block appends; while appends are
+ * in progress, an answer may include part of them.
+ * <p>
+ * Counters keep growing as longs; frequencies above Integer.MAX_VALUE are answered as Integer.MAX_VALUE.
+ */
+public class Corpus {
+
+    private final String name;
+    private final ConcurrentHashMap<String, LongAdder> frequencies = new ConcurrentHashMap<>();
+    private final LongAdder numberOfWords = new LongAdder();
+
+    public Corpus(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Appends a text to the corpus.
+     *
+     * @param text String containing the text to append.
+     * @return the number of words appended.
+     */
+    public long append(String text) {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        new LetterTokenizer().tokenize(text, wordFrequencyTable);
+        return append(wordFrequencyTable);
+    }
+
+    /**
+     * Appends a text to the corpus, reading it chunk by chunk.
+     *
+     * @param inputStream InputStream containing the ASCII or UTF-8 encoded text to append. It is not closed.
+     * @return the number of words appended.
+     * @throws IOException if the stream cannot be read. Nothing of the text is appended then.
+     */
+    public long append(InputStream inputStream) throws IOException {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        StreamWordReader.read(inputStream, wordFrequencyTable);
+        return append(wordFrequencyTable);
+    }
+
+    /**
+     * Adds the frequencies of a table to the corpus.
+     *
+     * @param wordFrequencyTable {@link WordFrequencyTable} of the text to append. It is not modified.
+     * @return the number of words appended.
+     */
+    public long append(WordFrequencyTable wordFrequencyTable) {
+        long numberOfWordsAppended = 0;
+        for (int id = 0; id < wordFrequencyTable.size(); id++) {
+            int frequency = wordFrequencyTable.getFrequency(id);
+            frequencies.computeIfAbsent(wordFrequencyTable.getWord(id), word -> new LongAdder()).add(frequency);
+            numberOfWordsAppended += frequency;
+        }
+        numberOfWords.add(numberOfWordsAppended);
+        return numberOfWordsAppended;
+    }
+
+    /**
+     * @return the highest frequency in the corpus.
+     * @throws IllegalArgumentException if the corpus contains no words yet.
+     */
+    public int getHighestFrequency() {
+        ArgumentValidator.validateTextContainsWords(frequencies.size());
+
+        long highestFrequency = 0;
+        for (LongAdder frequency : frequencies.values()) {
+            highestFrequency = Math.max(highestFrequency, frequency.sum());
+        }
+        return Word.saturatedFrequency(highestFrequency);
+    }
+
+    /**
+     * @param word String containing the word to find the frequency for. It is normalized and validated.
+     * @return the frequency of the {@param word}, or 0 if it is absent.
+     * @throws IllegalArgumentException if the corpus contains no words yet, or if the word is invalid.
+     */
+    public int getFrequencyForWord(String word) {
+        ArgumentValidator.validateTextContainsWords(frequencies.size());
+
+        LongAdder frequency = frequencies.get(ArgumentValidator.normalizeAndValidateWord(word));
+        return frequency != null ? Word.saturatedFrequency(frequency.sum()) : 0;
+    }
+
+    /**
+     * @param n integer containing the number of words to return.
+     * @return a new {@link List<WordFrequency>} containing the {@param n} most frequent words, and alphabetically per
+     * frequency.
+     * @throws IllegalArgumentException if the corpus contains no words yet, or if 'n' is invalid.
+     */
+    public List<WordFrequency> getMostFrequentNWords(int n) {
+        ArgumentValidator.validateNumberOfWords(n);
+        ArgumentValidator.validateTextContainsWords(frequencies.size());
+
+        // Read a view of all counters, as words may be added meanwhile.
+        List<WordFrequency> wordFrequencyList = new ArrayList<>(frequencies.size());
+        for (Map.Entry<String, LongAdder> entry : frequencies.entrySet()) {
+            wordFrequencyList.add(new Word(entry.getKey(), Word.saturatedFrequency(entry.getValue().sum())));
+        }
+        ArgumentValidator.validateNumberOfWords(n, wordFrequencyList.size());
+
+        return TopWordSelector.select(wordFrequencyList, n);
+    }
+
+    /**
+     * @return the number of different words in the corpus.
+     */
+    public int getNumberOfDifferentWords() {
+        return frequencies.size();
+    }
+
+    /**
+     * @return the number of words appended to the corpus.
+     */
+    public long getNumberOfWords() {
+        return numberOfWords.sum();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.wordcount.corpus;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the named {@link Corpus} resources of the application.
+ */
+@Component
+public class CorpusRegistry {
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+
+    private final ConcurrentHashMap<String, Corpus> corpora = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new, empty corpus.
+     *
+     * @param name String containing the name of the corpus: 1 to 64 letters, digits, '_' or '-'.
+     * @return the new {@link Corpus}.
+     * @throws IllegalArgumentException if the name is invalid, or a corpus with the name exists.
+     */
+    public Corpus create(String name) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("The corpus name should consist of 1 to 64 letters, digits, '_' or '-'. The name provided is '" + name + "'.");
+        }
+        Corpus corpus = new Corpus(name);
+        if (corpora.putIfAbsent(name, corpus) != null) {
+            throw new IllegalArgumentException("A corpus named '" + name + "' exists already.");
+        }
+        return corpus;
+    }
+
+    /**
+     * @param name String containing the name of the corpus.
+     * @return the {@link Corpus} with the {@param name}.
+     * @throws IllegalArgumentException if no corpus with the name exists.
+     */
+    public Corpus get(String name) {
+        Corpus corpus = corpora.get(name);
+        if (corpus == null) {
+            throw new IllegalArgumentException("No corpus named '" + name + "' exists.");
+        }
+        return corpus;
+    }
+
+    /**
+     * Deletes a corpus. Appends to it which are still in progress are lost.
+     *
+     * @param name String containing the name of the corpus.
+     * @throws IllegalArgumentException if no corpus with the name exists.
+     */
+    public void delete(String name) {
+        if (corpora.remove(name) == null) {
+            throw new IllegalArgumentException("No corpus named '" + name + "' exists.");
+        }
+    }
+
+    /**
+     * @return a new, sorted list with the names of all corpora.
+     */
+    public List<String> getNames() {
+        List<String> names = new ArrayList<>(corpora.keySet());
+        Collections.sort(names);
+        return names;
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.wordcount.external;
+
+import com.example.wordcount.input.MappedFileReader;
+import com.example.wordcount.input.StreamWordReader;
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.FrequencyCounter;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import com.example.wordcount.model.WordWatchlist;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import com.example.wordcount.tokenizer.Tokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * {@link WordFrequencyAnalyzer} counting exactly within a memory budget, whatever the number of different words: once
+ * the words counted in memory exceed 'memoryBudget' bytes, they are spilled to a sorted run on disk, and the runs are
+ * merged into a memory-mapped index at the end (see {@link SpillingCounter}).
+ * <p>
+ * The heap then holds the table being filled, up to the budget, and sorting it before a spill takes 4 more bytes per
+ * word. The merged index holds the {@value com.example.wordcount.index.FrequencyIndexWriter#DEFAULT_TOP_K} most
+ * frequent words; asking for more decodes the whole dictionary on the heap. A vocabulary that fits the budget is
+ * answered from memory, as by the exact engine.
+ */
+public class ExternalWordFrequencyAnalyzer implements WordFrequencyAnalyzer {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 256L << 20;
+
+    private final Tokenizer tokenizer = new LetterTokenizer();
+    private final long memoryBudget;
+    private final Path tempDirectory;
+
+    public ExternalWordFrequencyAnalyzer() {
+        this(DEFAULT_MEMORY_BUDGET, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    /**
+     * @param memoryBudget  long containing the estimated number of bytes of words counted in memory before they are
+     *                      spilled to disk.
+     * @param tempDirectory Path of the directory to write the runs to, each analysis in a directory of its own.
+     */
+    public ExternalWordFrequencyAnalyzer(long memoryBudget, Path tempDirectory) {
+        if (memoryBudget < 1) {
+            throw new IllegalArgumentException("The memory budget should be a non zero positive value. The value provided is '" + memoryBudget + "'.");
+        }
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    @Override
+    public int calculateHighestFrequency(String text) {
+        return analyze(text).getHighestFrequency();
+    }
+
+    @Override
+    public int calculateHighestFrequency(Path path) throws IOException {
+        return analyze(path).getHighestFrequency();
+    }
+
+    @Override
+    public int calculateHighestFrequency(InputStream inputStream) throws IOException {
+        return analyze(inputStream).getHighestFrequency();
+    }
+
+    @Override
+    public int calculateFrequencyForWord(String text, String word) {
+        // Validate the word before counting.
+        ArgumentValidator.normalizeAndValidateWord(word);
+        return analyze(text).getFrequencyForWord(word);
+    }
+
+    @Override
+    public int calculateFrequencyForWord(Path path, String word) throws IOException {
+        ArgumentValidator.normalizeAndValidateWord(word);
+        return analyze(path).getFrequencyForWord(word);
+    }
+
+    @Override
+    public int calculateFrequencyForWord(InputStream inputStream, String word) throws IOException {
+        ArgumentValidator.normalizeAndValidateWord(word);
+        return analyze(inputStream).getFrequencyForWord(word);
+    }
+
+    // A watchlist is counted in memory, as only its words are counted: there is no vocabulary to spill.
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(String text, WordWatchlist wordWatchlist) {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        tokenizer.tokenize(text, counter);
+        return getWordFrequencies(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(Path path, WordWatchlist wordWatchlist) throws IOException {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        MappedFileReader.read(path, counter);
+        return getWordFrequencies(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(InputStream inputStream, WordWatchlist wordWatchlist) throws IOException {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        StreamWordReader.read(inputStream, counter);
+        return getWordFrequencies(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(String text, int n) {
+        ArgumentValidator.validateNumberOfWords(n);
+        return analyze(text).getMostFrequentNWords(n);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException {
+        ArgumentValidator.validateNumberOfWords(n);
+        return analyze(path).getMostFrequentNWords(n);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(InputStream inputStream, int n) throws IOException {
+        ArgumentValidator.validateNumberOfWords(n);
+        return analyze(inputStream).getMostFrequentNWords(n);
+    }
+
+    /**
+     * @throws IllegalStateException if the spilled words cannot be written or merged.
+     */
+    @Override
+    public FrequencySnapshot analyze(String text) {
+        try {
+            FrequencyCounter counter = newCounter();
+            tokenizer.tokenize(text, counter);
+            return counter.toSnapshot();
+        } catch (UncheckedIOException uncheckedIOException) {
+            // Not a failure to read the text, which is in memory, but of the engine's own storage.
+            throw new IllegalStateException(uncheckedIOException.getMessage(), uncheckedIOException.getCause());
+        }
+    }
+
+    @Override
+    public FrequencySnapshot analyze(Path path) throws IOException {
+        try {
+            FrequencyCounter counter = newCounter();
+            MappedFileReader.read(path, counter);
+            return counter.toSnapshot();
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    @Override
+    public FrequencySnapshot analyze(InputStream inputStream) throws IOException {
+        try {
+            FrequencyCounter counter = newCounter();
+            StreamWordReader.read(inputStream, counter);
+            return counter.toSnapshot();
+        } catch (UncheckedIOException uncheckedIOException) {
+            throw uncheckedIOException.getCause();
+        }
+    }
+
+    // N-grams are only counted in memory.
+
+    @Override
+    public FrequencySnapshot analyzeNGrams(String text, int n) {
+        throw nGramsNotSupported();
+    }
+
+    @Override
+    public FrequencySnapshot analyzeNGrams(Path path, int n) {
+        throw nGramsNotSupported();
+    }
+
+    @Override
+    public FrequencySnapshot analyzeNGrams(InputStream inputStream, int n) {
+        throw nGramsNotSupported();
+    }
+
+    /**
+     * @return a new counter spilling to disk; its snapshot must be taken to delete the runs it spilled.
+     */
+    @Override
+    public FrequencyCounter newCounter() {
+        return new SpillingCounter(memoryBudget, tempDirectory);
+    }
+
+    private static IllegalArgumentException nGramsNotSupported() {
+        return new IllegalArgumentException("N-grams can only be counted in memory, with engine 'exact' or 'parallel'.");
+    }
+
+    private static List<WordFrequency> getWordFrequencies(WordWatchlist.Counter counter) {
+        if (counter.getNumberOfWords() == 0) {
+            ArgumentValidator.validateTextContainsWords(0);
+        }
+        return counter.getWordFrequencies();
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.wordcount.external;
+
+import com.example.wordcount.index.FrequencyIndex;
+import com.example.wordcount.index.FrequencyIndexMerger;
+import com.example.wordcount.index.FrequencyIndexWriter;
+import com.example.wordcount.model.FrequencyCounter;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequencySnapshot;
+import com.example.wordcount.model.WordFrequencyTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts words into a {@link WordFrequencyTable} until its estimated memory usage exceeds a budget, then spills the
+ * table as a run: a {@link FrequencyIndex} file, sorted by word, written sequentially to a temporary directory. The
+ * table is then emptied, and counting goes on.
+ * <p>
+ * If nothing was spilled, the snapshot is the table itself. Otherwise the runs are merged by {@link FrequencyIndexMerger},
+ * a streaming k-way merge holding one word per run, into a single index whose file is memory-mapped: the heap holds
+ * its precomputed top words only, while the page cache and the disk hold the dictionary. More than
+ * {@value #MAX_MERGE_FAN_IN} runs are merged in several passes, so the number of open runs stays bounded as well.
+ */
+class SpillingCounter implements FrequencyCounter {
+
+    static final int MAX_MERGE_FAN_IN = 64;
+
+    private final long memoryBudget;
+    private final Path tempDirectory;
+    private WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+    private Path runDirectory; // Created on the first spill.
+    private final List<Path> runs = new ArrayList<>();
+
+    /**
+     * @param memoryBudget  long containing the estimated number of bytes the table may hold before it is spilled.
+     * @param tempDirectory Path of the directory to create the directory of the runs in.
+     */
+    SpillingCounter(long memoryBudget, Path tempDirectory) {
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Adds one occurrence of a word, spilling the table if a new word takes it over the budget.
+     *
+     * @throws UncheckedIOException if the table cannot be spilled.
+     */
+    @Override
+    public void accept(char[] buffer, int offset, int length) {
+        int id = wordFrequencyTable.addWord(buffer, offset, length);
+        // Only a new word makes the table grow.
+        if (id == wordFrequencyTable.size() - 1 && wordFrequencyTable.getEstimatedMemoryUsage() > memoryBudget) {
+            spill();
+        }
+    }
+
+    /**
+     * @throws UncheckedIOException     if the runs cannot be written or merged.
+     * @throws IllegalArgumentException if the counted text contains no words.
+     */
+    @Override
+    public FrequencySnapshot toSnapshot() {
+        if (runs.isEmpty()) {
+            return new WordFrequencySnapshot(wordFrequencyTable);
+        }
+        try {
+            if (!wordFrequencyTable.isEmpty()) {
+                spill();
+            }
+            wordFrequencyTable = null;
+            Path merged = merge();
+            FrequencyIndex frequencyIndex = FrequencyIndex.open(merged);
+            // The mapping stays readable once the file is deleted, where the platform allows deleting it.
+            deleteQuietly(merged);
+            return frequencyIndex;
+        } catch (IOException ioException) {
+            throw new UncheckedIOException("The spilled words cannot be merged in '" + runDirectory + "'. " + ioException.getMessage(), ioException);
+        } finally {
+            for (Path run : runs) {
+                deleteQuietly(run);
+            }
+            deleteQuietly(runDirectory);
+        }
+    }
+
+    /**
+     * @return the number of runs spilled so far.
+     */
+    int getNumberOfRuns() {
+        return runs.size();
+    }
+
+    private void spill() {
+        try {
+            if (runDirectory == null) {
+                runDirectory = Files.createTempDirectory(tempDirectory, "wordcount-runs-");
+            }
+            // Runs are only merged, so they need no precomputed top words.
+            Path run = runDirectory.resolve("run-" + runs.size());
+            runs.add(run);
+            FrequencyIndexWriter.write(wordFrequencyTable, run, 0);
+        } catch (IOException ioException) {
+            throw new UncheckedIOException("The words cannot be spilled to '" + tempDirectory + "'. " + ioException.getMessage(), ioException);
+        }
+        wordFrequencyTable = new WordFrequencyTable();
+    }
+
+    /**
+     * Merges the runs, at most {@value #MAX_MERGE_FAN_IN} at a time, until a single index with precomputed top words
+     * is left.
+     *
+     * @return the Path of the merged index.
+     */
+    private Path merge() throws IOException {
+        List<Path> level = new ArrayList<>(runs);
+        int pass = 0;
+        do {
+            boolean lastPass = level.size() <= MAX_MERGE_FAN_IN;
+            List<Path> nextLevel = new ArrayList<>();
+            for (int start = 0; start < level.size(); start += MAX_MERGE_FAN_IN) {
+                List<Path> group = level.subList(start, Math.min(level.size(), start + MAX_MERGE_FAN_IN));
+                Path merged = runDirectory.resolve("merged-" + pass + "-" + nextLevel.size());
+                runs.add(merged);
+                mergeGroup(group, merged, lastPass ? FrequencyIndexWriter.DEFAULT_TOP_K : 0);
+                nextLevel.add(merged);
+                // Free the disk space of merged runs early.
+                for (Path run : group) {
+                    deleteQuietly(run);
+                }
+            }
+            level = nextLevel;
+            pass++;
+        } while (level.size() > 1);
+        return level.get(0);
+    }
+
+    private static void mergeGroup(List<Path> group, Path merged, int topK) throws IOException {
+        List<FrequencyIndex> frequencyIndices = new ArrayList<>(group.size());
+        for (Path run : group) {
+            frequencyIndices.add(FrequencyIndex.open(run));
+        }
+        try (FileChannel fileChannel = FileChannel.open(merged, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            FrequencyIndexMerger.merge(frequencyIndices, fileChannel, topK);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ioException) {
+            // E.g. a mapped file on a platform that keeps it locked; leave it to the end of the JVM.
+            path.toFile().deleteOnExit();
+        }
+    }
+}
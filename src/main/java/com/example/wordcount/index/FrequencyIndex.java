@@ -0,0 +1,405 @@
+package com.example.wordcount.index;
+
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.TopWordSelector;
+import com.example.wordcount.model.Word;
+import com.example.wordcount.model.WordFrequency;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link FrequencySnapshot} read from a compact binary index, written by {@link FrequencyIndexWriter}. Opening an
+ * index file memory-maps it and only decodes its footer and top words, so it is near instant whatever the vocabulary
+ * size; the dictionary is read from the page cache on demand. A file is mapped in regions of at most 1 GiB, as a
+ * single mapping cannot exceed 2 GiB, so positions within an index are longs.
+ * <p>
+ * An index holds, big endian:
+ * <ul>
+ * <li>a header: magic and version;</li>
+ * <li>the dictionary, sorted by UTF-8 bytes, in blocks of {@value #BLOCK_SIZE} words. Each word is front coded as a
+ * varint length of the prefix shared with the previous word, a varint length and the bytes of the rest, and a varint
+ * frequency. The first word of a block is complete;</li>
+ * <li>a long offset per block, so a word lookup is a binary search over the blocks and a scan of a single block;</li>
+ * <li>the precomputed top K words, most frequent first, each as a varint length, UTF-8 bytes and a varint frequency;</li>
+ * <li>a fixed size footer: number of different words, number of words, highest frequency, number of blocks, the
+ * positions of the block offsets and of the top words, K, and the magic again.</li>
+ * </ul>
+ * As the summary trails the dictionary, an index is written in a single pass, also to a stream. Indices are partial
+ * results as well: {@link FrequencyIndexMerger} merges them into a new index. Frequencies are stored as longs, so
+ * merges never overflow; those beyond the int range of a {@link WordFrequency} are answered as Integer.MAX_VALUE.
+ */
+public class FrequencyIndex implements FrequencySnapshot {
+
+    static final int MAGIC = 0x57464958; // "WFIX".
+    static final int VERSION = 2; // Version 1 held the summary and the top words in the header.
+    static final int BLOCK_SIZE = 16;
+    private static final int HEADER_SIZE = 8;
+    private static final int FOOTER_SIZE = 48;
+    private static final int WORD_OVERHEAD = 24 + 24 + 16; // Word, String and its (Latin-1) byte array.
+    private static final int REGION_SHIFT = 30; // Regions of 1 GiB.
+
+    private final ByteBuffer[] regions;
+    private final int regionShift;
+    private final long regionMask;
+    private final long size;
+    private final int numberOfDifferentWords;
+    private final long numberOfWords;
+    private final long highestFrequency;
+    private final int numberOfBlocks;
+    private final long blockOffsetsPosition;
+    private final List<WordFrequency> topWordFrequencyList;
+
+    /**
+     * @param regions     ByteBuffer array holding the index, all but the last of 1 << {@param regionShift} bytes.
+     * @param regionShift int containing the base 2 logarithm of the region size.
+     */
+    private FrequencyIndex(ByteBuffer[] regions, int regionShift) throws IOException {
+        this.regions = regions;
+        this.regionShift = regionShift;
+        this.regionMask = (1L << regionShift) - 1;
+        this.size = ((long) (regions.length - 1) << regionShift) + regions[regions.length - 1].limit();
+        // Check the version before the footer, whose place depends on it.
+        if (size < HEADER_SIZE || getInt(0) != MAGIC) {
+            throw new IOException("The data is not a frequency index.");
+        }
+        if (getInt(4) != VERSION) {
+            throw new IOException("The frequency index has unsupported version '" + getInt(4) + "'.");
+        }
+        long footer = size - FOOTER_SIZE;
+        if (footer < HEADER_SIZE || getInt(footer + 44) != MAGIC) {
+            throw new IOException("The data is not a (complete) frequency index.");
+        }
+        this.numberOfDifferentWords = getInt(footer);
+        this.numberOfWords = getLong(footer + 4);
+        this.highestFrequency = getLong(footer + 12);
+        this.numberOfBlocks = getInt(footer + 20);
+        this.blockOffsetsPosition = getLong(footer + 24);
+        long topWordsPosition = getLong(footer + 32);
+        int topK = getInt(footer + 40);
+
+        // Indices are received over the network as well, so check that the footer points within the data.
+        if (numberOfDifferentWords < 0 || numberOfBlocks != (numberOfDifferentWords + (long) BLOCK_SIZE - 1) / BLOCK_SIZE
+                || blockOffsetsPosition < HEADER_SIZE || blockOffsetsPosition > footer - (long) numberOfBlocks * Long.BYTES
+                || topWordsPosition < HEADER_SIZE || topWordsPosition > footer || topK < 0 || topK > numberOfDifferentWords) {
+            throw new IOException("The frequency index has an invalid footer.");
+        }
+        List<WordFrequency> topWords = new ArrayList<>(topK);
+        Cursor cursor = new Cursor(topWordsPosition, footer);
+        try {
+            for (int i = 0; i < topK; i++) {
+                byte[] word = new byte[cursor.readLength()];
+                cursor.readBytes(word, 0, word.length);
+                topWords.add(new Word(new String(word, StandardCharsets.UTF_8), Word.saturatedFrequency(cursor.readVarint())));
+            }
+        } catch (IllegalStateException illegalStateException) {
+            throw new IOException(illegalStateException.getMessage());
+        }
+        this.topWordFrequencyList = topWords;
+    }
+
+    /**
+     * Opens an index file by memory-mapping it.
+     *
+     * @param path Path of the index file.
+     * @return the {@link FrequencyIndex}.
+     * @throws IOException if the file cannot be read, or is not a frequency index.
+     */
+    public static FrequencyIndex open(Path path) throws IOException {
+        return open(path, REGION_SHIFT);
+    }
+
+    /**
+     * As {@link #open(Path)}, mapping regions of 1 << {@param regionShift} bytes, so tests can span several regions.
+     */
+    static FrequencyIndex open(Path path, int regionShift) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = fileChannel.size();
+            long regionSize = 1L << regionShift;
+            ByteBuffer[] regions = new ByteBuffer[(int) Math.max(1, (fileSize + regionSize - 1) >> regionShift)];
+            for (int i = 0; i < regions.length; i++) {
+                long position = (long) i << regionShift;
+                // The mappings stay valid after the channel is closed.
+                regions[i] = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(regionSize, fileSize - position));
+            }
+            return new FrequencyIndex(regions, regionShift);
+        }
+    }
+
+    /**
+     * Reads an index held in memory, e.g. a partial result received over the network.
+     *
+     * @param bytes byte array holding the index. It must no longer be changed.
+     * @return the {@link FrequencyIndex}.
+     * @throws IOException if the bytes are not a frequency index.
+     */
+    public static FrequencyIndex wrap(byte[] bytes) throws IOException {
+        // An array fits a single region.
+        return new FrequencyIndex(new ByteBuffer[]{ByteBuffer.wrap(bytes)}, 31);
+    }
+
+    @Override
+    public int getHighestFrequency() {
+        // Check if the parsed text is there.
+        ArgumentValidator.validateTextContainsWords(numberOfDifferentWords);
+
+        return Word.saturatedFrequency(highestFrequency);
+    }
+
+    @Override
+    public int getFrequencyForWord(String word) {
+        byte[] key = ArgumentValidator.normalizeAndValidateWord(word).getBytes(StandardCharsets.UTF_8);
+
+        // Find the last block starting with a word at most the key.
+        byte[] wordBuffer = new byte[Math.max(64, key.length)];
+        int low = 0;
+        int high = numberOfBlocks - 1;
+        int block = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            Cursor cursor = new Cursor(getBlockOffset(middle), blockOffsetsPosition);
+            cursor.readVarint(); // The shared length of a block's first word is 0.
+            int length = cursor.readLength();
+            wordBuffer = ensureCapacity(wordBuffer, length);
+            cursor.readBytes(wordBuffer, 0, length);
+            int comparison = Arrays.compareUnsigned(wordBuffer, 0, length, key, 0, key.length);
+            if (comparison == 0) {
+                return Word.saturatedFrequency(cursor.readVarint());
+            } else if (comparison < 0) {
+                block = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (block < 0) {
+            return 0;
+        }
+
+        // Scan the block, rebuilding every word from the previous one.
+        Entries entries = new Entries(getBlockOffset(block), Math.min(BLOCK_SIZE, numberOfDifferentWords - block * BLOCK_SIZE));
+        while (entries.next()) {
+            int comparison = Arrays.compareUnsigned(entries.getWord(), 0, entries.getWordLength(), key, 0, key.length);
+            if (comparison == 0) {
+                return Word.saturatedFrequency(entries.getFrequency());
+            } else if (comparison > 0) {
+                break;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public List<WordFrequency> getMostFrequentNWords(int n) {
+        ArgumentValidator.validateNumberOfWords(n);
+        ArgumentValidator.validateNumberOfWords(n, numberOfDifferentWords);
+
+        List<WordFrequency> headWordFrequencyList = new ArrayList<>(n);
+        if (n <= topWordFrequencyList.size()) {
+            // Copy the entries, so the index cannot be changed through them.
+            for (WordFrequency wordFrequency : topWordFrequencyList.subList(0, n)) {
+                headWordFrequencyList.add(new Word(wordFrequency.getWord(), wordFrequency.getFrequency()));
+            }
+            return headWordFrequencyList;
+        }
+        // Beyond the precomputed top K, decode the whole dictionary.
+        return TopWordSelector.select(toList(), n);
+    }
+
+    @Override
+    public int getNumberOfDifferentWords() {
+        return numberOfDifferentWords;
+    }
+
+    /**
+     * @return the number of words the index was counted from.
+     */
+    public long getNumberOfWords() {
+        return numberOfWords;
+    }
+
+    /**
+     * Estimates the bytes held on the heap, which are those of the precomputed top words. A mapped file is held by
+     * the page cache.
+     */
+    @Override
+    public long getEstimatedMemoryUsage() {
+        long memoryUsage = 64;
+        for (WordFrequency wordFrequency : topWordFrequencyList) {
+            memoryUsage += WORD_OVERHEAD + wordFrequency.getWord().length();
+        }
+        return memoryUsage;
+    }
+
+    /**
+     * @return a new {@link List<WordFrequency>} with an entry per different word, sorted alphabetically.
+     */
+    public List<WordFrequency> toList() {
+        List<WordFrequency> wordFrequencyList = new ArrayList<>(numberOfDifferentWords);
+        Entries entries = entries();
+        while (entries.next()) {
+            wordFrequencyList.add(new Word(new String(entries.getWord(), 0, entries.getWordLength(), StandardCharsets.UTF_8),
+                    Word.saturatedFrequency(entries.getFrequency())));
+        }
+        return wordFrequencyList;
+    }
+
+    /**
+     * @return new {@link Entries} iterating over all words of the dictionary, in ascending order of their UTF-8 bytes.
+     */
+    public Entries entries() {
+        return new Entries(HEADER_SIZE, numberOfDifferentWords);
+    }
+
+    /**
+     * @throws IllegalStateException if the offset lies outside the dictionary.
+     */
+    private long getBlockOffset(int block) {
+        long position = blockOffsetsPosition + (long) block * Long.BYTES;
+        long blockOffset = getLong(position);
+        if (blockOffset < HEADER_SIZE || blockOffset >= blockOffsetsPosition) {
+            throw corrupt(position);
+        }
+        return blockOffset;
+    }
+
+    private static IllegalStateException corrupt(long position) {
+        return new IllegalStateException("The frequency index is corrupt at position " + position + ".");
+    }
+
+    private byte get(long position) {
+        return regions[(int) (position >>> regionShift)].get((int) (position & regionMask));
+    }
+
+    private int getInt(long position) {
+        int value = 0;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            value = value << 8 | get(position + i) & 0xFF;
+        }
+        return value;
+    }
+
+    private long getLong(long position) {
+        // A field may span two regions.
+        return (long) getInt(position) << 32 | getInt(position + Integer.BYTES) & 0xFFFFFFFFL;
+    }
+
+    private static byte[] ensureCapacity(byte[] bytes, int length) {
+        return bytes.length >= length ? bytes : Arrays.copyOf(bytes, Math.max(length, bytes.length * 2));
+    }
+
+    /**
+     * Iterator over words of the dictionary, which decodes each word into a buffer it reuses, without creating objects.
+     */
+    public class Entries {
+
+        private final Cursor cursor;
+        private int remaining;
+        private byte[] word = new byte[64];
+        private int wordLength;
+        private long frequency;
+
+        private Entries(long position, int count) {
+            this.cursor = new Cursor(position, blockOffsetsPosition);
+            this.remaining = count;
+        }
+
+        /**
+         * Moves to the next word.
+         *
+         * @return false if there is no next word.
+         * @throws IllegalStateException if the dictionary is corrupt.
+         */
+        public boolean next() {
+            if (remaining == 0) {
+                return false;
+            }
+            remaining--;
+            long position = cursor.position;
+            long sharedLength = cursor.readVarint();
+            if (sharedLength < 0 || sharedLength > wordLength) {
+                throw corrupt(position);
+            }
+            wordLength = (int) sharedLength + cursor.readLength();
+            word = ensureCapacity(word, wordLength);
+            cursor.readBytes(word, (int) sharedLength, wordLength - (int) sharedLength);
+            frequency = cursor.readVarint();
+            return true;
+        }
+
+        /**
+         * @return the buffer holding the UTF-8 bytes of the current word from offset 0. It is changed by {@link #next()}.
+         */
+        public byte[] getWord() {
+            return word;
+        }
+
+        public int getWordLength() {
+            return wordLength;
+        }
+
+        public long getFrequency() {
+            return frequency;
+        }
+    }
+
+    /**
+     * Reads fields by absolute position, so concurrent readers do not share the position of a buffer. Fields are read
+     * up to an end position only, so a corrupt index cannot make a cursor run away.
+     */
+    private class Cursor {
+
+        private long position;
+        private final long end;
+
+        Cursor(long position, long end) {
+            this.position = position;
+            this.end = end;
+        }
+
+        /**
+         * @throws IllegalStateException if the varint does not end before the end position.
+         */
+        long readVarint() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position >= end || shift > 63) {
+                    throw corrupt(position);
+                }
+                b = get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        /**
+         * @return a varint length of bytes that follow it.
+         * @throws IllegalStateException if the length exceeds the bytes up to the end position.
+         */
+        int readLength() {
+            long start = position;
+            long length = readVarint();
+            if (length < 0 || length > end - position) {
+                throw corrupt(start);
+            }
+            return (int) length;
+        }
+
+        void readBytes(byte[] bytes, int offset, int length) {
+            for (int i = 0; i < length; i++) {
+                bytes[offset + i] = get(position++);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.wordcount.index;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges {@link FrequencyIndex} partial results, e.g. counted per shard of the input by separate instances, into a
+ * single index, adding the frequencies of equal words. The dictionaries are sorted, so this is a streaming k-way merge
+ * holding one word per input only.
+ * <p>
+ * Merging is associative and commutative, and its result is an index again, so partial results can be combined in any
+ * grouping, e.g. as a tree reduction. The result equals the index of counting the whole input at once.
+ */
+public class FrequencyIndexMerger {
+
+    private FrequencyIndexMerger() {
+    }
+
+    /**
+     * Merges indices to a channel.
+     *
+     * @param frequencyIndices {@link List<FrequencyIndex>} to merge. They are not modified.
+     * @param channel          WritableByteChannel to write the merged index to. It is not closed.
+     * @param topK             integer containing the number of top frequent words to precompute in the merged index.
+     * @throws IOException if the channel cannot be written.
+     */
+    public static void merge(List<FrequencyIndex> frequencyIndices, WritableByteChannel channel, int topK) throws IOException {
+        FrequencyIndexWriter frequencyIndexWriter = new FrequencyIndexWriter(channel, topK);
+        PriorityQueue<FrequencyIndex.Entries> heap = new PriorityQueue<>(Math.max(1, frequencyIndices.size()),
+                (entries1, entries2) -> Arrays.compareUnsigned(entries1.getWord(), 0, entries1.getWordLength(),
+                        entries2.getWord(), 0, entries2.getWordLength()));
+        for (FrequencyIndex frequencyIndex : frequencyIndices) {
+            FrequencyIndex.Entries entries = frequencyIndex.entries();
+            if (entries.next()) {
+                heap.add(entries);
+            }
+        }
+        byte[] word = new byte[64];
+        while (!heap.isEmpty()) {
+            // Take the smallest word, and add the frequencies of all inputs at that word.
+            FrequencyIndex.Entries smallest = heap.poll();
+            int wordLength = smallest.getWordLength();
+            if (word.length < wordLength) {
+                word = new byte[Math.max(wordLength, word.length * 2)];
+            }
+            System.arraycopy(smallest.getWord(), 0, word, 0, wordLength);
+            long frequency = smallest.getFrequency();
+            advance(heap, smallest);
+            while (!heap.isEmpty() && Arrays.equals(heap.peek().getWord(), 0, heap.peek().getWordLength(), word, 0, wordLength)) {
+                FrequencyIndex.Entries equal = heap.poll();
+                frequency += equal.getFrequency();
+                advance(heap, equal);
+            }
+            frequencyIndexWriter.add(word, 0, wordLength, frequency);
+        }
+        frequencyIndexWriter.finish();
+    }
+
+    /**
+     * Merges indices in memory.
+     *
+     * @param frequencyIndices {@link List<FrequencyIndex>} to merge. They are not modified.
+     * @param topK             integer containing the number of top frequent words to precompute in the merged index.
+     * @return a byte array holding the merged index.
+     */
+    public static byte[] merge(List<FrequencyIndex> frequencyIndices, int topK) {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        try {
+            merge(frequencyIndices, Channels.newChannel(byteArrayOutputStream), topK);
+        } catch (IOException ioException) {
+            // Writing to memory does not fail.
+            throw new IllegalStateException(ioException);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static void advance(PriorityQueue<FrequencyIndex.Entries> heap, FrequencyIndex.Entries entries) {
+        if (entries.next()) {
+            heap.add(entries);
+        }
+    }
+}
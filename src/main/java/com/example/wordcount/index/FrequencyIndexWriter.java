@@ -0,0 +1,200 @@
+package com.example.wordcount.index;
+
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.TopWordSelector;
+import com.example.wordcount.model.Word;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyTable;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Writes a {@link FrequencyIndex} to a channel in a single pass, from words added in ascending order of their UTF-8
+ * bytes. The precomputed top K words are collected while writing, so the words can stream from any sorted source:
+ * a {@link WordFrequencyTable}, or a merge of other indices.
+ */
+public class FrequencyIndexWriter {
+
+    public static final int DEFAULT_TOP_K = 1000;
+
+    private final IndexOutput indexOutput;
+    private final int topK;
+    private final PriorityQueue<WordFrequency> topWords; // The root is the 'worst' top word collected so far.
+    private long[] blockOffsets = new long[64];
+    private int numberOfBlocks;
+    private byte[] previousWord = new byte[64];
+    private int previousWordLength = -1;
+    private int numberOfDifferentWords;
+    private long numberOfWords;
+    private long highestFrequency;
+
+    /**
+     * Starts writing an index.
+     *
+     * @param channel WritableByteChannel to write to. It is not closed.
+     * @param topK    integer containing the number of top frequent words to precompute.
+     * @throws IOException              if the channel cannot be written.
+     * @throws IllegalArgumentException if 'topK' is negative.
+     */
+    public FrequencyIndexWriter(WritableByteChannel channel, int topK) throws IOException {
+        ArgumentValidator.validateTopK(topK);
+        this.indexOutput = new IndexOutput(channel);
+        this.topK = topK;
+        this.topWords = new PriorityQueue<>(Math.max(1, Math.min(topK, 1024)), TopWordSelector.MOST_FREQUENT_FIRST.reversed());
+        indexOutput.writeInt(FrequencyIndex.MAGIC);
+        indexOutput.writeInt(FrequencyIndex.VERSION);
+    }
+
+    /**
+     * Writes a table as an index with the default number of precomputed top frequent words.
+     *
+     * @see #write(WordFrequencyTable, WritableByteChannel, int)
+     */
+    public static void write(WordFrequencyTable wordFrequencyTable, Path path) throws IOException {
+        write(wordFrequencyTable, path, DEFAULT_TOP_K);
+    }
+
+    /**
+     * Writes a table as an index file, replacing the file if it exists.
+     *
+     * @see #write(WordFrequencyTable, WritableByteChannel, int)
+     */
+    public static void write(WordFrequencyTable wordFrequencyTable, Path path, int topK) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(wordFrequencyTable, fileChannel, topK);
+        }
+    }
+
+    /**
+     * Writes a table as an index.
+     *
+     * @param wordFrequencyTable {@link WordFrequencyTable} containing at least one word. It is not modified.
+     * @param channel            WritableByteChannel to write to. It is not closed.
+     * @param topK               integer containing the number of top frequent words to precompute, or less if the
+     *                           table holds fewer words.
+     * @throws IOException              if the channel cannot be written.
+     * @throws IllegalArgumentException if the table is empty.
+     */
+    public static void write(WordFrequencyTable wordFrequencyTable, WritableByteChannel channel, int topK) throws IOException {
+        // Check if the parsed text is there.
+        ArgumentValidator.validateTextContainsWords(wordFrequencyTable.size());
+
+        int[] sortedIds = new int[wordFrequencyTable.size()];
+        for (int id = 0; id < sortedIds.length; id++) {
+            sortedIds[id] = id;
+        }
+        TopWordSelector.sort(sortedIds, wordFrequencyTable::compareWords);
+
+        FrequencyIndexWriter frequencyIndexWriter = new FrequencyIndexWriter(channel, topK);
+        for (int id : sortedIds) {
+            byte[] word = wordFrequencyTable.getWord(id).getBytes(StandardCharsets.UTF_8);
+            frequencyIndexWriter.add(word, 0, word.length, wordFrequencyTable.getFrequency(id));
+        }
+        frequencyIndexWriter.finish();
+    }
+
+    /**
+     * Writes the next word of the dictionary, front coded: it only stores what differs from the previous word.
+     *
+     * @param word      byte array holding the UTF-8 bytes of the word.
+     * @param offset    integer containing the offset of the word within the array.
+     * @param length    integer containing the number of bytes of the word.
+     * @param frequency long containing the frequency of the word.
+     * @throws IOException              if the channel cannot be written.
+     * @throws IllegalArgumentException if the word does not follow the previous word.
+     */
+    public void add(byte[] word, int offset, int length, long frequency) throws IOException {
+        if (previousWordLength >= 0
+                && Arrays.compareUnsigned(previousWord, 0, previousWordLength, word, offset, offset + length) >= 0) {
+            throw new IllegalArgumentException("The words of an index should be added in ascending order, without duplicates.");
+        }
+        int sharedLength = 0;
+        if (numberOfDifferentWords % FrequencyIndex.BLOCK_SIZE == 0) {
+            // A block starts with a complete word, so a lookup can start decoding there.
+            if (numberOfBlocks == blockOffsets.length) {
+                blockOffsets = Arrays.copyOf(blockOffsets, numberOfBlocks * 2);
+            }
+            blockOffsets[numberOfBlocks++] = indexOutput.position();
+        } else {
+            int maxSharedLength = Math.min(length, previousWordLength);
+            while (sharedLength < maxSharedLength && word[offset + sharedLength] == previousWord[sharedLength]) {
+                sharedLength++;
+            }
+        }
+        indexOutput.writeVarint(sharedLength);
+        indexOutput.writeVarint(length - sharedLength);
+        indexOutput.writeBytes(word, offset + sharedLength, length - sharedLength);
+        indexOutput.writeVarint(frequency);
+
+        if (previousWord.length < length) {
+            previousWord = new byte[Math.max(length, previousWord.length * 2)];
+        }
+        System.arraycopy(word, offset, previousWord, 0, length);
+        previousWordLength = length;
+        numberOfDifferentWords++;
+        numberOfWords += frequency;
+        highestFrequency = Math.max(highestFrequency, frequency);
+        collectTopWord(word, offset, length, frequency);
+    }
+
+    /**
+     * Writes the block offsets, the top words and the footer. The index is complete once this returns.
+     *
+     * @throws IOException if the channel cannot be written.
+     */
+    public void finish() throws IOException {
+        long blockOffsetsPosition = indexOutput.position();
+        for (int block = 0; block < numberOfBlocks; block++) {
+            indexOutput.writeLong(blockOffsets[block]);
+        }
+
+        long topWordsPosition = indexOutput.position();
+        List<WordFrequency> topWordFrequencyList = new ArrayList<>(topWords);
+        topWordFrequencyList.sort(TopWordSelector.MOST_FREQUENT_FIRST);
+        for (WordFrequency wordFrequency : topWordFrequencyList) {
+            byte[] word = wordFrequency.getWord().getBytes(StandardCharsets.UTF_8);
+            indexOutput.writeVarint(word.length);
+            indexOutput.writeBytes(word, 0, word.length);
+            indexOutput.writeVarint(wordFrequency.getFrequency());
+        }
+
+        indexOutput.writeInt(numberOfDifferentWords);
+        indexOutput.writeLong(numberOfWords);
+        indexOutput.writeLong(highestFrequency);
+        indexOutput.writeInt(numberOfBlocks);
+        indexOutput.writeLong(blockOffsetsPosition);
+        indexOutput.writeLong(topWordsPosition);
+        indexOutput.writeInt(topWordFrequencyList.size());
+        indexOutput.writeInt(FrequencyIndex.MAGIC);
+        indexOutput.flush();
+    }
+
+    private void collectTopWord(byte[] word, int offset, int length, long frequency) {
+        if (topK == 0) {
+            return;
+        }
+        // Only create a String for words entering the top words.
+        if (topWords.size() == topK && frequency < topWords.peek().getFrequency()) {
+            return;
+        }
+        // Frequencies summed beyond the int range are kept exact in the dictionary, but saturate as top words.
+        WordFrequency wordFrequency = new Word(new String(word, offset, length, StandardCharsets.UTF_8), Word.saturatedFrequency(frequency));
+        if (topWords.size() < topK) {
+            topWords.add(wordFrequency);
+        } else if (TopWordSelector.MOST_FREQUENT_FIRST.compare(wordFrequency, topWords.peek()) < 0) {
+            // Replace the 'worst' top word.
+            topWords.poll();
+            topWords.add(wordFrequency);
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.example.wordcount.input;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+import com.example.wordcount.tokenizer.WordScanner;
+import com.github.luben.zstd.ZstdInputStreamNoFinalizer;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the words of gzip or zstd compressed input, and of tar archives, plain or compressed, without decompressing to
+ * disk first.
+ * <p>
+ * Decompression runs on a thread of a shared pool, of at most one thread per processor, filling buffers that it hands
+ * to the scanning thread through a bounded ring, so decompressing and counting overlap. Reads beyond the size of the
+ * pool wait for a thread. Once all buffers of the ring are filled, decompression waits until
+ * counting frees one, and once all are counted, counting waits for decompression; the {@link InputStatistics} record
+ * how long each side waited, showing which of the two is the bottleneck.
+ */
+public class CompressedInputReader {
+
+    public static final int MAGIC_SIZE = 4; // The bytes holding the gzip and zstd magic numbers.
+    public static final int HEADER_SIZE = 262; // The bytes up to the end of the tar magic number.
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int RING_SIZE = 8;
+    private static final int TAR_MAGIC_OFFSET = 257;
+
+    private static final ThreadPoolExecutor DECOMPRESSION_EXECUTOR = createDecompressionExecutor();
+
+    private CompressedInputReader() {
+    }
+
+    /**
+     * Marks a stream as allowed to be compressed, so {@link StreamWordReader} decompresses it if its magic numbers say
+     * so. Streams are read as plain text otherwise, as a small compressed input can expand to any size.
+     *
+     * @param inputStream         InputStream that may contain compressed text or an archive.
+     * @param maxDecompressedSize maximum number of bytes the input may decompress to.
+     * @return an InputStream reading {@param inputStream}.
+     * @throws IllegalArgumentException if {@param maxDecompressedSize} is not positive.
+     */
+    public static InputStream allowDecompression(InputStream inputStream, long maxDecompressedSize) {
+        if (maxDecompressedSize <= 0) {
+            throw new IllegalArgumentException("The maximum decompressed size should be a positive value. The value provided is '" + maxDecompressedSize + "'.");
+        }
+        return new DecompressibleInputStream(inputStream, maxDecompressedSize);
+    }
+
+    /**
+     * @param header byte array containing the first bytes of an input.
+     * @param length number of bytes of the header, at least {@link #MAGIC_SIZE} to recognize all formats.
+     * @return true if the input is gzip or zstd compressed, according to its magic numbers.
+     */
+    public static boolean isCompressed(byte[] header, int length) {
+        return isGzip(header, length) || isZstd(header, length);
+    }
+
+    /**
+     * @param header byte array containing the first bytes of an input.
+     * @param length number of bytes of the header, at most {@link #HEADER_SIZE}.
+     * @return true if the input is gzip or zstd compressed, or a tar archive, according to its magic numbers.
+     */
+    public static boolean isCompressedOrArchive(byte[] header, int length) {
+        return isCompressed(header, length) || isTar(header, length);
+    }
+
+    /**
+     * Hands the words of compressed input to a consumer. The words of every file within an archive are read as a text
+     * of their own, so files do not join words.
+     *
+     * @param inputStream     InputStream containing gzip or zstd compressed text, or a tar archive of text files. It is
+     *                        read until its end, but not closed.
+     * @param wordConsumer    {@link WordConsumer} to hand the words to.
+     * @param inputStatistics {@link InputStatistics} to add the measurements of the read to.
+     * @throws IOException if the stream cannot be read or decompressed.
+     */
+    public static void read(InputStream inputStream, WordConsumer wordConsumer, InputStatistics inputStatistics) throws IOException {
+        read(inputStream, wordConsumer, inputStatistics, Long.MAX_VALUE);
+    }
+
+    /**
+     * As {@link #read(InputStream, WordConsumer, InputStatistics)}, stopping once the input decompresses to more than
+     * {@param maxDecompressedSize} bytes.
+     *
+     * @throws IllegalArgumentException if the input decompresses to more than {@param maxDecompressedSize} bytes.
+     */
+    public static void read(InputStream inputStream, WordConsumer wordConsumer, InputStatistics inputStatistics, long maxDecompressedSize) throws IOException {
+        CountingInputStream compressedInput = new CountingInputStream(inputStream);
+        Ring ring = new Ring();
+        Future<?> decompression = DECOMPRESSION_EXECUTOR.submit(() -> ring.decompress(compressedInput));
+
+        WordScanner wordScanner = new WordScanner(wordConsumer);
+        long countingWaitNanos = 0;
+        long decompressedSize = 0;
+        boolean completed = false;
+        try {
+            while (true) {
+                long waitStart = System.nanoTime();
+                Chunk chunk = ring.filled.take();
+                countingWaitNanos += System.nanoTime() - waitStart;
+                if (chunk == Chunk.END) {
+                    break;
+                } else if (chunk == Chunk.END_OF_FILE) {
+                    // The end of a file ends a word.
+                    wordScanner.finish();
+                    inputStatistics.addFile(0);
+                } else if (chunk.failure != null) {
+                    throw chunk.failure;
+                } else {
+                    decompressedSize += chunk.length;
+                    if (decompressedSize > maxDecompressedSize) {
+                        throw new IllegalArgumentException("The input exceeds the maximum decompressed size of " + maxDecompressedSize + " bytes.");
+                    }
+                    wordScanner.scan(chunk.buffer, 0, chunk.length);
+                    inputStatistics.addSize(chunk.length);
+                    ring.free.add(chunk.buffer);
+                }
+            }
+            // The decompression task ends right after handing over the end of the input.
+            decompression.get();
+            completed = true;
+        } catch (InterruptedException interruptedException) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading compressed input.");
+        } catch (ExecutionException executionException) {
+            // The task hands all failures over through the ring.
+            throw new IllegalStateException(executionException.getCause());
+        } finally {
+            if (!completed) {
+                // Stop decompressing if counting fails.
+                decompression.cancel(true);
+            }
+        }
+        inputStatistics.addDecompression(compressedInput.getCount(), countingWaitNanos, ring.decompressionWaitNanos);
+    }
+
+    private static ThreadPoolExecutor createDecompressionExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        int poolSize = Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "wordcount-decompressor-" + threadNumber.incrementAndGet());
+            // Idle threads end after a minute, and never keep the JVM alive.
+            thread.setDaemon(true);
+            return thread;
+        });
+        threadPoolExecutor.allowCoreThreadTimeOut(true);
+        return threadPoolExecutor;
+    }
+
+    private static boolean isGzip(byte[] header, int length) {
+        return length >= 2 && header[0] == (byte) 0x1F && header[1] == (byte) 0x8B;
+    }
+
+    private static boolean isZstd(byte[] header, int length) {
+        return length >= 4 && header[0] == (byte) 0x28 && header[1] == (byte) 0xB5 && header[2] == (byte) 0x2F && header[3] == (byte) 0xFD;
+    }
+
+    private static boolean isTar(byte[] header, int length) {
+        // Both POSIX ("ustar\0") and GNU ("ustar ") archives.
+        return length >= TAR_MAGIC_OFFSET + 5 && header[TAR_MAGIC_OFFSET] == 'u' && header[TAR_MAGIC_OFFSET + 1] == 's'
+                && header[TAR_MAGIC_OFFSET + 2] == 't' && header[TAR_MAGIC_OFFSET + 3] == 'a' && header[TAR_MAGIC_OFFSET + 4] == 'r';
+    }
+
+    /**
+     * @param inputStream InputStream that may be gzip or zstd compressed. It is closed with the returned stream.
+     * @return a buffered InputStream reading the {@param inputStream}, decompressing it according to its magic number.
+     */
+    static InputStream openDecompressed(InputStream inputStream) throws IOException {
+        InputStream input = new BufferedInputStream(inputStream, BUFFER_SIZE);
+        byte[] header = peekHeader(input, MAGIC_SIZE);
+        if (isGzip(header, header.length)) {
+            return new BufferedInputStream(new GZIPInputStream(input, BUFFER_SIZE), BUFFER_SIZE);
+        } else if (isZstd(header, header.length)) {
+            return new BufferedInputStream(new ZstdInputStreamNoFinalizer(input), BUFFER_SIZE);
+        }
+        return input;
+    }
+
+    /**
+     * @return the first {@param size} bytes of a stream that supports marks, leaving the stream at its start.
+     */
+    private static byte[] peekHeader(InputStream inputStream, int size) throws IOException {
+        inputStream.mark(size);
+        byte[] header = inputStream.readNBytes(size);
+        inputStream.reset();
+        return header;
+    }
+
+    /**
+     * A stream marked by {@link #allowDecompression(InputStream, long)}.
+     */
+    static class DecompressibleInputStream extends FilterInputStream {
+
+        private final long maxDecompressedSize;
+
+        DecompressibleInputStream(InputStream inputStream, long maxDecompressedSize) {
+            super(inputStream);
+            this.maxDecompressedSize = maxDecompressedSize;
+        }
+
+        long getMaxDecompressedSize() {
+            return maxDecompressedSize;
+        }
+    }
+
+    /**
+     * A chunk of decompressed input, or a marker for the end of a file, the end of the input or a failure.
+     */
+    private static class Chunk {
+
+        static final Chunk END_OF_FILE = new Chunk(null, 0, null);
+        static final Chunk END = new Chunk(null, 0, null);
+
+        final byte[] buffer;
+        final int length;
+        final IOException failure;
+
+        Chunk(byte[] buffer, int length, IOException failure) {
+            this.buffer = buffer;
+            this.length = length;
+            this.failure = failure;
+        }
+    }
+
+    /**
+     * The buffers passed around between decompression and counting: free buffers to fill, and filled ones to count.
+     */
+    private static class Ring {
+
+        // Room for all buffers, and for markers in between them.
+        final ArrayBlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(RING_SIZE * 2);
+        final ArrayBlockingQueue<byte[]> free = new ArrayBlockingQueue<>(RING_SIZE);
+        volatile long decompressionWaitNanos;
+
+        Ring() {
+            for (int i = 0; i < RING_SIZE; i++) {
+                free.add(new byte[BUFFER_SIZE]);
+            }
+        }
+
+        /**
+         * Runs on the decompression thread, until the end of the input, a failure, or an interrupt by the counting
+         * thread.
+         */
+        void decompress(InputStream compressedInput) {
+            // Closing the decompressor frees its native memory (zstd) or Inflater (gzip), but the caller's stream stays
+            // open.
+            InputStream unclosedInput = new FilterInputStream(compressedInput) {
+                @Override
+                public void close() {
+                }
+            };
+            try {
+                try (InputStream input = openDecompressed(unclosedInput)) {
+                    byte[] header = peekHeader(input, HEADER_SIZE);
+                    if (isTar(header, header.length)) {
+                        TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(input);
+                        TarArchiveEntry tarArchiveEntry;
+                        while ((tarArchiveEntry = tarArchiveInputStream.getNextTarEntry()) != null) {
+                            if (tarArchiveEntry.isFile()) {
+                                transferFile(tarArchiveInputStream);
+                            }
+                        }
+                    } else {
+                        transferFile(input);
+                    }
+                    filled.put(Chunk.END);
+                } catch (IOException ioException) {
+                    filled.put(new Chunk(null, 0, ioException));
+                } catch (RuntimeException runtimeException) {
+                    filled.put(new Chunk(null, 0, new IOException("The compressed input cannot be read. " + runtimeException.getMessage(), runtimeException)));
+                }
+            } catch (InterruptedException interruptedException) {
+                // Counting failed, nobody waits for the rest of the input.
+            }
+        }
+
+        /**
+         * Fills free buffers with a file until its end, and hands them over to counting.
+         */
+        private void transferFile(InputStream input) throws IOException, InterruptedException {
+            while (true) {
+                long waitStart = System.nanoTime();
+                byte[] buffer = free.take();
+                decompressionWaitNanos += System.nanoTime() - waitStart;
+                int length = input.readNBytes(buffer, 0, buffer.length);
+                if (length > 0) {
+                    filled.put(new Chunk(buffer, length, null));
+                } else {
+                    free.add(buffer);
+                }
+                if (length < buffer.length) {
+                    filled.put(Chunk.END_OF_FILE);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.wordcount.input;
+
+/**
+ * Measurements of reading an input: its size, and for compressed input the size before decompression and how long
+ * decompression and counting waited for each other. Whichever side waited the least is the bottleneck.
+ */
+public class InputStatistics {
+
+    private long size;
+    private long compressedSize;
+    private int numberOfFiles;
+    private long countingWaitNanos;
+    private long decompressionWaitNanos;
+
+    void addFile(long size) {
+        this.size += size;
+        this.numberOfFiles++;
+    }
+
+    void addSize(long size) {
+        this.size += size;
+    }
+
+    void addDecompression(long compressedSize, long countingWaitNanos, long decompressionWaitNanos) {
+        this.compressedSize += compressedSize;
+        this.countingWaitNanos += countingWaitNanos;
+        this.decompressionWaitNanos += decompressionWaitNanos;
+    }
+
+    /**
+     * @return the number of bytes scanned for words, after decompression.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of compressed bytes read, or 0 if the input was not compressed.
+     */
+    public long getCompressedSize() {
+        return compressedSize;
+    }
+
+    /**
+     * @return the number of files read, counting every file within an archive.
+     */
+    public int getNumberOfFiles() {
+        return numberOfFiles;
+    }
+
+    /**
+     * @return the time counting waited for decompressed input, in nanoseconds.
+     */
+    public long getCountingWaitNanos() {
+        return countingWaitNanos;
+    }
+
+    /**
+     * @return the time decompression waited for counting to free a buffer, in nanoseconds.
+     */
+    public long getDecompressionWaitNanos() {
+        return decompressionWaitNanos;
+    }
+}
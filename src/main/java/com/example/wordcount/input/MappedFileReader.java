@@ -0,0 +1,91 @@
+package com.example.wordcount.input;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+import com.example.wordcount.tokenizer.WordScanner;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Reads the words of ASCII or UTF-8 encoded files by memory-mapping them, so the text is tokenized straight from the
+ * page cache and never copied onto the heap. Heap use stays flat, whatever the size of the files.
+ * <p>
+ * Compressed files and archives, recognized by their magic numbers, are read by the {@link CompressedInputReader}.
+ */
+public class MappedFileReader {
+
+    private static final long MAX_REGION_SIZE = 1L << 30; // A mapping cannot exceed Integer.MAX_VALUE bytes.
+
+    private MappedFileReader() {
+    }
+
+    /**
+     * Hands the words of a file, or of all regular files within a directory tree, to a consumer.
+     *
+     * @param path         Path of a file or a directory. The files of a directory are read in path order.
+     * @param wordConsumer {@link WordConsumer} to hand the words to.
+     * @throws IOException if the path cannot be read.
+     */
+    public static void read(Path path, WordConsumer wordConsumer) throws IOException {
+        read(path, wordConsumer, new InputStatistics());
+    }
+
+    /**
+     * As {@link #read(Path, WordConsumer)}, adding the measurements of the read to {@param inputStatistics}.
+     */
+    public static void read(Path path, WordConsumer wordConsumer, InputStatistics inputStatistics) throws IOException {
+        for (Path file : listFiles(path)) {
+            readFile(file, wordConsumer, inputStatistics);
+        }
+    }
+
+    /**
+     * @return the path itself if it is a file, or the regular files within the directory tree sorted by path.
+     * @throws IOException if the path does not exist or cannot be walked.
+     */
+    public static List<Path> listFiles(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            if (!Files.isRegularFile(path)) {
+                throw new IOException("The path '" + path + "' should be an existing file or directory.");
+            }
+            return List.of(path);
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            return paths
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static void readFile(Path file, WordConsumer wordConsumer, InputStatistics inputStatistics) throws IOException {
+        WordScanner wordScanner = new WordScanner(wordConsumer);
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(CompressedInputReader.HEADER_SIZE);
+            while (header.hasRemaining() && fileChannel.read(header) != -1) {
+            }
+            if (CompressedInputReader.isCompressedOrArchive(header.array(), header.position())) {
+                CompressedInputReader.read(Channels.newInputStream(fileChannel.position(0)), wordConsumer, inputStatistics);
+                return;
+            }
+            long size = fileChannel.size();
+            inputStatistics.addFile(size);
+            // Map the file region by region. A word crossing two regions is kept by the scanner.
+            for (long position = 0; position < size; position += MAX_REGION_SIZE) {
+                MappedByteBuffer region = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAX_REGION_SIZE, size - position));
+                wordScanner.scan(region);
+            }
+        }
+        // The end of a file ends a word.
+        wordScanner.finish();
+    }
+}
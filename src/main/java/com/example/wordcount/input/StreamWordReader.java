@@ -0,0 +1,70 @@
+package com.example.wordcount.input;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+import com.example.wordcount.tokenizer.WordScanner;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+
+/**
+ * Reads the words of an ASCII or UTF-8 encoded stream chunk by chunk, while it arrives. Only a single chunk is held in
+ * memory at a time, so memory use is bounded by the consumer (e.g. the vocabulary), not by the length of the stream.
+ * <p>
+ * Streams are read as plain text, unless marked by {@link CompressedInputReader#allowDecompression(InputStream, long)}:
+ * a compressed stream or archive, recognized by its magic numbers, is then read by the {@link CompressedInputReader}.
+ */
+public class StreamWordReader {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private StreamWordReader() {
+    }
+
+    /**
+     * Hands the words of a stream to a consumer. The stream is read until its end, but not closed.
+     *
+     * @param inputStream  InputStream containing ASCII or UTF-8 encoded text.
+     * @param wordConsumer {@link WordConsumer} to hand the words to.
+     * @throws IOException              if the stream cannot be read.
+     * @throws IllegalArgumentException if a stream allowed to be compressed exceeds its maximum decompressed size.
+     */
+    public static void read(InputStream inputStream, WordConsumer wordConsumer) throws IOException {
+        read(inputStream, wordConsumer, new InputStatistics());
+    }
+
+    /**
+     * As {@link #read(InputStream, WordConsumer)}, adding the measurements of the read to {@param inputStatistics}.
+     */
+    public static void read(InputStream inputStream, WordConsumer wordConsumer, InputStatistics inputStatistics) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int length;
+        if (inputStream instanceof CompressedInputReader.DecompressibleInputStream) {
+            // Recognize compressed input by the first bytes, then pass them on with the rest of the stream. Only the tar
+            // magic number lies beyond the first few bytes, so wait for more only if the input is not compressed.
+            length = inputStream.readNBytes(chunk, 0, CompressedInputReader.MAGIC_SIZE);
+            if (length == CompressedInputReader.MAGIC_SIZE && !CompressedInputReader.isCompressed(chunk, length)) {
+                length += inputStream.readNBytes(chunk, length, CompressedInputReader.HEADER_SIZE - length);
+            }
+            if (CompressedInputReader.isCompressedOrArchive(chunk, length)) {
+                long maxDecompressedSize = ((CompressedInputReader.DecompressibleInputStream) inputStream).getMaxDecompressedSize();
+                CompressedInputReader.read(new SequenceInputStream(new ByteArrayInputStream(chunk, 0, length), inputStream), wordConsumer, inputStatistics, maxDecompressedSize);
+                return;
+            }
+        } else {
+            length = inputStream.read(chunk);
+        }
+
+        WordScanner wordScanner = new WordScanner(wordConsumer);
+        long size = 0;
+        while (length != -1) {
+            wordScanner.scan(chunk, 0, length);
+            size += length;
+            length = inputStream.read(chunk);
+        }
+        // The end of the stream ends a word.
+        wordScanner.finish();
+        inputStatistics.addFile(size);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.wordcount.metrics;
+
+/**
+ * Receives the measurements of an analyzer: per count of a text, its size, its number of (different) words and the
+ * time taken to tokenize and count it (and to decompress it, if compressed), and per selection of the most frequent
+ * words the time taken to select them.
+ * Tokenizing and counting form a single phase, as every word is counted the moment it is scanned.
+ * <p>
+ * An analyzer only takes measurements if its metrics are enabled, so {@link #DISABLED} costs a single check per count.
+ */
+public interface AnalyzerMetrics {
+
+    AnalyzerMetrics DISABLED = new AnalyzerMetrics() {
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void recordCount(long nanos, long inputSize, long numberOfWords, int numberOfDifferentWords) {
+        }
+
+        @Override
+        public void recordSelection(long nanos, int n) {
+        }
+    };
+
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * @param nanos                  long containing the time taken to tokenize and count the text, in nanoseconds.
+     * @param inputSize              long containing the size of the text, in bytes (in characters for a String).
+     * @param numberOfWords          long containing the number of words in the text.
+     * @param numberOfDifferentWords int containing the number of different words in the text.
+     */
+    void recordCount(long nanos, long inputSize, long numberOfWords, int numberOfDifferentWords);
+
+    /**
+     * @param nanos long containing the time taken to select the most frequent words, in nanoseconds.
+     * @param n     int containing the number of most frequent words selected.
+     */
+    void recordSelection(long nanos, int n);
+
+    /**
+     * Records the decompression of a compressed text, in addition to its count. Decompression and counting run side by
+     * side, and whichever waited the least for the other is the bottleneck.
+     *
+     * @param compressedSize         long containing the size of the compressed text, in bytes.
+     * @param countingWaitNanos      long containing the time counting waited for decompressed text, in nanoseconds.
+     * @param decompressionWaitNanos long containing the time decompression waited for counting, in nanoseconds.
+     */
+    default void recordDecompression(long compressedSize, long countingWaitNanos, long decompressionWaitNanos) {
+    }
+}
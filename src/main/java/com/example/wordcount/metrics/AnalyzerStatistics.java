@@ -0,0 +1,100 @@
+package com.example.wordcount.metrics;
+
+/**
+ * {@link AnalyzerMetrics} summing up all measurements in memory, e.g. for printing them after a single run of the CLI.
+ */
+public class AnalyzerStatistics implements AnalyzerMetrics {
+
+    private long numberOfCounts;
+    private long countNanos;
+    private long inputSize;
+    private long numberOfWords;
+    private long numberOfDifferentWords;
+    private long numberOfSelections;
+    private long selectionNanos;
+    private long compressedSize;
+    private long countingWaitNanos;
+    private long decompressionWaitNanos;
+
+    @Override
+    public synchronized void recordCount(long nanos, long inputSize, long numberOfWords, int numberOfDifferentWords) {
+        this.numberOfCounts++;
+        this.countNanos += nanos;
+        this.inputSize += inputSize;
+        this.numberOfWords += numberOfWords;
+        this.numberOfDifferentWords += numberOfDifferentWords;
+    }
+
+    @Override
+    public synchronized void recordSelection(long nanos, int n) {
+        this.numberOfSelections++;
+        this.selectionNanos += nanos;
+    }
+
+    @Override
+    public synchronized void recordDecompression(long compressedSize, long countingWaitNanos, long decompressionWaitNanos) {
+        this.compressedSize += compressedSize;
+        this.countingWaitNanos += countingWaitNanos;
+        this.decompressionWaitNanos += decompressionWaitNanos;
+    }
+
+    public synchronized long getNumberOfCounts() {
+        return numberOfCounts;
+    }
+
+    public synchronized long getCountNanos() {
+        return countNanos;
+    }
+
+    public synchronized long getInputSize() {
+        return inputSize;
+    }
+
+    public synchronized long getNumberOfWords() {
+        return numberOfWords;
+    }
+
+    /**
+     * @return the sum of the number of different words of every text counted.
+     */
+    public synchronized long getNumberOfDifferentWords() {
+        return numberOfDifferentWords;
+    }
+
+    public synchronized long getNumberOfSelections() {
+        return numberOfSelections;
+    }
+
+    public synchronized long getSelectionNanos() {
+        return selectionNanos;
+    }
+
+    /**
+     * @return the number of compressed bytes decompressed, or 0 if no text was compressed.
+     */
+    public synchronized long getCompressedSize() {
+        return compressedSize;
+    }
+
+    public synchronized long getCountingWaitNanos() {
+        return countingWaitNanos;
+    }
+
+    public synchronized long getDecompressionWaitNanos() {
+        return decompressionWaitNanos;
+    }
+
+    /**
+     * @return the number of words counted per second of counting, or 0 if nothing was counted.
+     */
+    public synchronized double getWordsPerSecond() {
+        return countNanos > 0 ? numberOfWords * 1e9 / countNanos : 0;
+    }
+
+    /**
+     * @return the number of bytes (or characters) counted per second of counting, or 0 if nothing was counted.
+     */
+    public synchronized double getBytesPerSecond() {
+        return countNanos > 0 ? inputSize * 1e9 / countNanos : 0;
+    }
+}
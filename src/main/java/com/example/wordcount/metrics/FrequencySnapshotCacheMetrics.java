@@ -0,0 +1,43 @@
+package com.example.wordcount.metrics;
+
+import com.example.wordcount.cache.CacheStatistics;
+import com.example.wordcount.cache.FrequencySnapshotCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the {@link CacheStatistics} of the {@link FrequencySnapshotCache} as 'wordcount.cache.*' meters, read
+ * whenever the meters are.
+ */
+@Component
+public class FrequencySnapshotCacheMetrics implements MeterBinder {
+
+    private final FrequencySnapshotCache frequencySnapshotCache;
+
+    public FrequencySnapshotCacheMetrics(FrequencySnapshotCache frequencySnapshotCache) {
+        this.frequencySnapshotCache = frequencySnapshotCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("wordcount.cache.requests", frequencySnapshotCache, cache -> cache.getStatistics().getHitCount())
+                .description("Number of requests for a snapshot, answered without counting (hit) or by counting (miss).")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("wordcount.cache.requests", frequencySnapshotCache, cache -> cache.getStatistics().getMissCount())
+                .description("Number of requests for a snapshot, answered without counting (hit) or by counting (miss).")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("wordcount.cache.evictions", frequencySnapshotCache, cache -> cache.getStatistics().getEvictionCount())
+                .register(meterRegistry);
+        Gauge.builder("wordcount.cache.entries", frequencySnapshotCache, cache -> cache.getStatistics().getEntryCount())
+                .register(meterRegistry);
+        Gauge.builder("wordcount.cache.size", frequencySnapshotCache, cache -> cache.getStatistics().getEstimatedBytes())
+                .description("Estimated size of the cached snapshots.")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+}
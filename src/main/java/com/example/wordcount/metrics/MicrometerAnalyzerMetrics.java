@@ -0,0 +1,103 @@
+package com.example.wordcount.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AnalyzerMetrics} publishing to a Micrometer {@link MeterRegistry}, tagged with the engine measured:
+ * <ul>
+ * <li>'wordcount.analysis.duration', a timer per phase ('count' or 'selection'), with a percentile histogram;</li>
+ * <li>'wordcount.analysis.input.size', the distribution of the size of the texts counted;</li>
+ * <li>'wordcount.analysis.words' and 'wordcount.analysis.different.words', the distributions of the number of
+ * (different) words per text;</li>
+ * <li>'wordcount.decompression.input.size', the total size of the compressed texts, and
+ * 'wordcount.decompression.wait', timers of how long counting ('waiting' 'counting') and decompression ('waiting'
+ * 'decompression') waited for each other.</li>
+ * </ul>
+ * The totals of the distributions over the total time of the 'count' timer give the bytes and words per second.
+ */
+public class MicrometerAnalyzerMetrics implements AnalyzerMetrics {
+
+    private final Timer countTimer;
+    private final Timer selectionTimer;
+    private final DistributionSummary inputSize;
+    private final DistributionSummary numberOfWords;
+    private final DistributionSummary numberOfDifferentWords;
+    private final Counter compressedSize;
+    private final Timer countingWaitTimer;
+    private final Timer decompressionWaitTimer;
+
+    /**
+     * @param meterRegistry {@link MeterRegistry} to register the meters with.
+     * @param engine        String containing the name of the engine measured.
+     */
+    public MicrometerAnalyzerMetrics(MeterRegistry meterRegistry, String engine) {
+        this.countTimer = phaseTimer(meterRegistry, engine, "count");
+        this.selectionTimer = phaseTimer(meterRegistry, engine, "selection");
+        this.inputSize = DistributionSummary.builder("wordcount.analysis.input.size")
+                .description("Size of the texts counted, in bytes (in characters for texts given as a String).")
+                .baseUnit("bytes")
+                .tag("engine", engine)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.numberOfWords = DistributionSummary.builder("wordcount.analysis.words")
+                .description("Number of words per text counted.")
+                .baseUnit("words")
+                .tag("engine", engine)
+                .register(meterRegistry);
+        this.numberOfDifferentWords = DistributionSummary.builder("wordcount.analysis.different.words")
+                .description("Number of different words per text counted.")
+                .baseUnit("words")
+                .tag("engine", engine)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.compressedSize = Counter.builder("wordcount.decompression.input.size")
+                .description("Size of the compressed texts decompressed.")
+                .baseUnit("bytes")
+                .tag("engine", engine)
+                .register(meterRegistry);
+        this.countingWaitTimer = waitTimer(meterRegistry, engine, "counting");
+        this.decompressionWaitTimer = waitTimer(meterRegistry, engine, "decompression");
+    }
+
+    @Override
+    public void recordCount(long nanos, long inputSize, long numberOfWords, int numberOfDifferentWords) {
+        countTimer.record(nanos, TimeUnit.NANOSECONDS);
+        this.inputSize.record(inputSize);
+        this.numberOfWords.record(numberOfWords);
+        this.numberOfDifferentWords.record(numberOfDifferentWords);
+    }
+
+    @Override
+    public void recordSelection(long nanos, int n) {
+        selectionTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordDecompression(long compressedSize, long countingWaitNanos, long decompressionWaitNanos) {
+        this.compressedSize.increment(compressedSize);
+        countingWaitTimer.record(countingWaitNanos, TimeUnit.NANOSECONDS);
+        decompressionWaitTimer.record(decompressionWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer waitTimer(MeterRegistry meterRegistry, String engine, String waiting) {
+        return Timer.builder("wordcount.decompression.wait")
+                .description("Time counting waited for decompressed text, or decompression waited for counting, per compressed text.")
+                .tag("engine", engine)
+                .tag("waiting", waiting)
+                .register(meterRegistry);
+    }
+
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String engine, String phase) {
+        return Timer.builder("wordcount.analysis.duration")
+                .description("Time taken per phase of an analysis: tokenizing and counting a text, or selecting its most frequent words.")
+                .tag("engine", engine)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.wordcount.model;
+
+/**
+ * Validates (and normalizes) the arguments of the word frequency operations, so every {@link WordFrequencyAnalyzer}
+ * rejects them with the same messages.
+ */
+public class ArgumentValidator {
+
+    public static final int MAX_NGRAM_SIZE = 8;
+
+    private ArgumentValidator() {
+    }
+
+    /**
+     * Ensures that the number of words 'n' is a non zero positive number.
+     *
+     * @param n integer containing the number of entries to return.
+     * @throws IllegalArgumentException if 'n' is zero or negative.
+     */
+    public static void validateNumberOfWords(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("The number 'n' should be a non zero positive value. The value provided is '" + n + "'.");
+        }
+    }
+
+    /**
+     * Ensures that the number of words 'n' does not exceed the number of different words in a text.
+     *
+     * @param n                      integer containing the number of entries to return.
+     * @param numberOfDifferentWords integer containing the number of different words in the text.
+     * @throws IllegalArgumentException if 'n' exceeds the number of different words.
+     */
+    public static void validateNumberOfWords(int n, int numberOfDifferentWords) {
+        if (numberOfDifferentWords < n) {
+            throw new IllegalArgumentException("The number 'n' should be at most the number of different words in the text. The current number of different words is '" + numberOfDifferentWords + "'.");
+        }
+    }
+
+    /**
+     * Ensures that a text contains at least one word.
+     *
+     * @param numberOfDifferentWords integer containing the number of different words in the text.
+     * @throws IllegalArgumentException if the text contains no words.
+     */
+    public static void validateTextContainsWords(int numberOfDifferentWords) {
+        if (numberOfDifferentWords == 0) {
+            throw new IllegalArgumentException("The text should contain at least one word.");
+        }
+    }
+
+    /**
+     * Ensures that a watchlist of words to find the frequencies for contains at least one word.
+     *
+     * @param numberOfWords integer containing the number of words in the watchlist.
+     * @throws IllegalArgumentException if the watchlist contains no words.
+     */
+    public static void validateWatchlistContainsWords(int numberOfWords) {
+        if (numberOfWords == 0) {
+            throw new IllegalArgumentException("The watchlist should contain at least one word.");
+        }
+    }
+
+    /**
+     * Ensures that a word is filled, in lowercase, is a single word only, composed by regular a-z characters.
+     *
+     * @param word the word String provided
+     * @return a normalized and validated word String.
+     * @throws IllegalArgumentException if the word cannot be validated.
+     */
+    public static String normalizeAndValidateWord(String word) {
+        if (word.isBlank()) {
+            throw new IllegalArgumentException("The word should be non blank.");
+        }
+
+        // Ensure the word to search for is in lowercase (the List will also be filled with lowercase words).
+        word = word.toLowerCase();
+
+        // Count the runs of a-z characters, and find the first invalid character, in a single pass.
+        int numberOfWords = 0;
+        int firstInvalidCharacter = -1;
+        for (int i = 0; i < word.length(); i++) {
+            if (isLowerCaseLetter(word.charAt(i))) {
+                if (i == 0 || !isLowerCaseLetter(word.charAt(i - 1))) {
+                    numberOfWords++;
+                }
+            } else if (firstInvalidCharacter < 0) {
+                firstInvalidCharacter = i;
+            }
+        }
+
+        // Check if word to find frequency for is a single word.
+        if (numberOfWords != 1) {
+            throw new IllegalArgumentException("The word to calculate frequency for argument should be filled with a single word.");
+        }
+
+        // Check if there are invalid characters in word to find frequency for.
+        if (firstInvalidCharacter >= 0) {
+            int end = firstInvalidCharacter;
+            while (end < word.length() && !isLowerCaseLetter(word.charAt(end))) {
+                end++;
+            }
+            throw new IllegalArgumentException("Invalid characters in word to calculate frequency for argument. First matched invalid character(s) '" + word.substring(firstInvalidCharacter, end) + "'.");
+        }
+
+        // Return the normalized and validated word argument.
+        return word;
+    }
+
+    /**
+     * Ensures that the number of top frequent words to precompute in an index is zero or a positive number.
+     *
+     * @param topK integer containing the number of top frequent words to precompute.
+     * @throws IllegalArgumentException if 'topK' is negative.
+     */
+    public static void validateTopK(int topK) {
+        if (topK < 0) {
+            throw new IllegalArgumentException("The number 'topK' should be zero or a positive value. The value provided is '" + topK + "'.");
+        }
+    }
+
+    /**
+     * Ensures that the number of words per n-gram is within 1 and {@link #MAX_NGRAM_SIZE}.
+     *
+     * @param n integer containing the number of words per n-gram.
+     * @throws IllegalArgumentException if 'n' is out of range.
+     */
+    public static void validateNGramSize(int n) {
+        if (n < 1 || n > MAX_NGRAM_SIZE) {
+            throw new IllegalArgumentException("The n-gram size should be a value from 1 to " + MAX_NGRAM_SIZE + ". The value provided is '" + n + "'.");
+        }
+    }
+
+    /**
+     * Ensures that a phrase consists of 'n' words separated by whitespace, and normalizes and validates each word as by
+     * {@link #normalizeAndValidateWord(String)}.
+     *
+     * @param phrase the phrase String provided
+     * @param n      integer containing the number of words the phrase should consist of.
+     * @return a new array with the normalized and validated words of the phrase.
+     * @throws IllegalArgumentException if the phrase cannot be validated.
+     */
+    public static String[] normalizeAndValidatePhrase(String phrase, int n) {
+        if (phrase.isBlank()) {
+            throw new IllegalArgumentException("The phrase should be non blank.");
+        }
+        String[] words = phrase.strip().split("\\s+");
+        if (words.length != n) {
+            throw new IllegalArgumentException("The phrase to calculate frequency for argument should be filled with " + n + " words separated by whitespace. The number of words provided is '" + words.length + "'.");
+        }
+        for (int i = 0; i < n; i++) {
+            words[i] = normalizeAndValidateWord(words[i]);
+        }
+        return words;
+    }
+
+    private static boolean isLowerCaseLetter(char character) {
+        return character >= 'a' && character <= 'z';
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+
+/**
+ * Counts the words handed over to it, until a {@link FrequencySnapshot} of them is taken. A counter is used by a single
+ * thread at a time, and no longer after its snapshot has been taken.
+ */
+public interface FrequencyCounter extends WordConsumer {
+
+    /**
+     * @return a {@link FrequencySnapshot} of the words counted.
+     * @throws IllegalArgumentException if the counted text contains no words, and the snapshot cannot answer then.
+     */
+    FrequencySnapshot toSnapshot();
+}
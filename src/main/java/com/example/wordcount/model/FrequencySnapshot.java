@@ -0,0 +1,37 @@
+package com.example.wordcount.model;
+
+import java.util.List;
+
+/**
+ * Result of counting a text once, answering any number of questions about its word frequencies without counting again.
+ * Implementations are immutable, so a snapshot can be shared between threads.
+ */
+public interface FrequencySnapshot {
+
+    /**
+     * @return an int containing the number of times the most frequent word occurs within the text.
+     */
+    int getHighestFrequency();
+
+    /**
+     * @param word String containing the word to find the frequency for.
+     * @return an integer containing the number of times the {@param word} occurs within the text.
+     */
+    int getFrequencyForWord(String word);
+
+    /**
+     * @param n integer containing the number of entries te return.
+     * @return a {@link List<WordFrequency>} containing the head with size {@param n} of the top frequent words.
+     */
+    List<WordFrequency> getMostFrequentNWords(int n);
+
+    /**
+     * @return an int containing the number of different words within the text.
+     */
+    int getNumberOfDifferentWords();
+
+    /**
+     * @return a long containing the estimated number of bytes held by the snapshot.
+     */
+    long getEstimatedMemoryUsage();
+}
@@ -0,0 +1,84 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.metrics.AnalyzerMetrics;
+
+import java.util.List;
+
+/**
+ * {@link FrequencySnapshot} on top of an {@link NGramFrequencyTable}, answering the questions about the n-grams of a
+ * text as if every n-gram was a word: a word to find the frequency for is a phrase of 'n' words, and the most frequent
+ * words are the most frequent phrases, their words separated by a space. A top-N question selects the head with
+ * {@link TopWordSelector}, without sorting all n-grams.
+ */
+public class NGramFrequencySnapshot implements FrequencySnapshot {
+
+    private final NGramFrequencyTable nGramFrequencyTable;
+    private final AnalyzerMetrics analyzerMetrics;
+    private final int highestFrequency;
+
+    /**
+     * @param nGramFrequencyTable {@link NGramFrequencyTable} of a text, containing at least one n-gram. The snapshot
+     *                            takes it over, so it must no longer be changed.
+     * @throws IllegalArgumentException if the table is empty.
+     */
+    public NGramFrequencySnapshot(NGramFrequencyTable nGramFrequencyTable) {
+        this(nGramFrequencyTable, AnalyzerMetrics.DISABLED);
+    }
+
+    /**
+     * As {@link #NGramFrequencySnapshot(NGramFrequencyTable)}, recording every selection of the most frequent n-grams
+     * with the {@param analyzerMetrics} of the analyzer that counted the table.
+     */
+    public NGramFrequencySnapshot(NGramFrequencyTable nGramFrequencyTable, AnalyzerMetrics analyzerMetrics) {
+        // Check if the parsed text is there, with at least 'n' words.
+        ArgumentValidator.validateTextContainsWords(nGramFrequencyTable.size());
+
+        this.nGramFrequencyTable = nGramFrequencyTable;
+        this.analyzerMetrics = analyzerMetrics;
+        this.highestFrequency = nGramFrequencyTable.getHighestFrequency();
+    }
+
+    @Override
+    public int getHighestFrequency() {
+        return highestFrequency;
+    }
+
+    /**
+     * @param word String containing the phrase to find the frequency for: 'n' words separated by whitespace.
+     */
+    @Override
+    public int getFrequencyForWord(String word) {
+        return nGramFrequencyTable.getFrequency(ArgumentValidator.normalizeAndValidatePhrase(word, nGramFrequencyTable.getN()));
+    }
+
+    @Override
+    public List<WordFrequency> getMostFrequentNWords(int n) {
+        ArgumentValidator.validateNumberOfWords(n);
+        ArgumentValidator.validateNumberOfWords(n, nGramFrequencyTable.size());
+
+        if (!analyzerMetrics.isEnabled()) {
+            return selectMostFrequent(n);
+        }
+        long start = System.nanoTime();
+        List<WordFrequency> mostFrequent = selectMostFrequent(n);
+        analyzerMetrics.recordSelection(System.nanoTime() - start, n);
+        return mostFrequent;
+    }
+
+    /**
+     * @return the number of different n-grams within the text.
+     */
+    @Override
+    public int getNumberOfDifferentWords() {
+        return nGramFrequencyTable.size();
+    }
+
+    @Override
+    public long getEstimatedMemoryUsage() {
+        return nGramFrequencyTable.getEstimatedMemoryUsage();
+    }
+
+    private List<WordFrequency> selectMostFrequent(int n) {
+        return nGramFrequencyTable.toList(TopWordSelector.select(nGramFrequencyTable.size(), nGramFrequencyTable::compareMostFrequentFirst, n));
+    }
+}
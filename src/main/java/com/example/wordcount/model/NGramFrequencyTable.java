@@ -0,0 +1,256 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hash-indexed table holding the frequency of every distinct n-gram (sequence of 'n' consecutive words) seen, without
+ * a String per n-gram. Every word gets an id from a {@link WordFrequencyTable} of the vocabulary, and an n-gram is
+ * stored as the ids of its words, in a single int array of 'n' ids per n-gram.
+ * <p>
+ * The last 'n' word ids are kept in a ring, and the hash of the n-gram they form is a polynomial over the ids, rolled
+ * along with the text: the oldest id is taken out and the newest one added in O(1), whatever 'n'. So counting an
+ * n-gram costs about as much as counting a word: a vocabulary lookup of the new word, and an index lookup of its
+ * n-gram that compares ids, not characters. Phrases are only created for results, joining their words by a space.
+ * <p>
+ * Changing the table is not thread safe, but once it is no longer changed, it may be read concurrently.
+ */
+public class NGramFrequencyTable implements WordConsumer {
+
+    private static final int INITIAL_CAPACITY = 64; // Index slots, should be a power of two.
+    private static final long HASH_BASE = 0x9E3779B97F4A7C15L; // Odd, so multiplying by it loses no bits modulo 2^64.
+    private static final int ARRAY_OVERHEAD = 16;
+
+    private final int n;
+    private final long highestPower; // HASH_BASE^(n - 1), the weight of the oldest id within the hash.
+    private final WordFrequencyTable vocabulary = new WordFrequencyTable();
+
+    private final int[] window; // Ring of the ids of the last 'n' words.
+    private long numberOfWords;
+    private long rollingHash;
+
+    private int[] index = new int[INITIAL_CAPACITY]; // Id + 1 per slot, 0 for an empty slot.
+    private int[] frequencies = new int[INITIAL_CAPACITY / 2];
+    private long[] hashes = new long[INITIAL_CAPACITY / 2];
+    private int[] wordIds; // 'n' word ids per n-gram.
+    private int size;
+
+    /**
+     * @param n int containing the number of words per n-gram.
+     * @throws IllegalArgumentException if 'n' is out of range.
+     */
+    public NGramFrequencyTable(int n) {
+        ArgumentValidator.validateNGramSize(n);
+        this.n = n;
+        long power = 1;
+        for (int i = 1; i < n; i++) {
+            power *= HASH_BASE;
+        }
+        this.highestPower = power;
+        this.window = new int[n];
+        this.wordIds = new int[INITIAL_CAPACITY / 2 * n];
+    }
+
+    /**
+     * Adds a word, handed over as a view on a buffer, and one occurrence of the n-gram it ends, once 'n' words have
+     * been added.
+     */
+    @Override
+    public void accept(char[] buffer, int offset, int length) {
+        int wordId = vocabulary.addWord(buffer, offset, length);
+        int slot = (int) (numberOfWords % n);
+        if (numberOfWords >= n) {
+            // Take the oldest id out of the hash, before its slot is reused.
+            rollingHash -= (window[slot] + 1L) * highestPower;
+        }
+        // Shift the ids by one, so the id 0 weighs in as well.
+        rollingHash = rollingHash * HASH_BASE + wordId + 1;
+        window[slot] = wordId;
+        numberOfWords++;
+        if (numberOfWords >= n) {
+            add(rollingHash, (int) (numberOfWords % n));
+        }
+    }
+
+    /**
+     * Finds the frequency of an n-gram.
+     *
+     * @param words String array containing the 'n' (normalized) words of the n-gram.
+     * @return the frequency of the n-gram, or 0 if it is absent.
+     */
+    public int getFrequency(String[] words) {
+        int[] ids = new int[n];
+        long hash = 0;
+        for (int i = 0; i < n; i++) {
+            ids[i] = vocabulary.getId(words[i]);
+            if (ids[i] < 0) {
+                return 0;
+            }
+            hash = hash * HASH_BASE + ids[i] + 1;
+        }
+        int mask = index.length - 1;
+        int slot = spread(hash) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0) {
+            int id = entry - 1;
+            if (hashes[id] == hash && Arrays.equals(wordIds, id * n, id * n + n, ids, 0, n)) {
+                return frequencies[id];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of words added, which end one n-gram each once there are 'n'.
+     */
+    public long getNumberOfWords() {
+        return numberOfWords;
+    }
+
+    /**
+     * @return the number of words per n-gram.
+     */
+    public int getN() {
+        return n;
+    }
+
+    /**
+     * @return the highest frequency in the table, or 0 if the table is empty.
+     */
+    public int getHighestFrequency() {
+        int highestFrequency = 0;
+        for (int id = 0; id < size; id++) {
+            highestFrequency = Math.max(highestFrequency, frequencies[id]);
+        }
+        return highestFrequency;
+    }
+
+    /**
+     * @return the number of different n-grams in the table. Ids range from 0 up to this number.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return a new String containing the words of the n-gram with a given id, separated by a space.
+     */
+    public String getNGram(int id) {
+        StringBuilder nGram = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                nGram.append(' ');
+            }
+            nGram.append(vocabulary.getWord(wordIds[id * n + i]));
+        }
+        return nGram.toString();
+    }
+
+    /**
+     * Compares two n-grams by id, most frequent first, and alphabetically per frequency. Comparing word by word is the
+     * order of {@link String#compareTo(String)} on the phrases, as a space sorts before any letter.
+     */
+    public int compareMostFrequentFirst(int id1, int id2) {
+        int frequencyComparison = Integer.compare(frequencies[id2], frequencies[id1]);
+        if (frequencyComparison != 0) {
+            return frequencyComparison;
+        }
+        for (int i = 0; i < n; i++) {
+            int wordComparison = vocabulary.compareWords(wordIds[id1 * n + i], wordIds[id2 * n + i]);
+            if (wordComparison != 0) {
+                return wordComparison;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return a new {@link List<WordFrequency>} with a view per given id, in the order of the ids.
+     */
+    public List<WordFrequency> toList(int[] ids) {
+        List<WordFrequency> wordFrequencyList = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            wordFrequencyList.add(new Word(getNGram(id), frequencies[id]));
+        }
+        return wordFrequencyList;
+    }
+
+    /**
+     * Estimates the number of bytes held by the table: its index, its per n-gram arrays and its vocabulary.
+     *
+     * @return the estimated memory usage in bytes.
+     */
+    public long getEstimatedMemoryUsage() {
+        return 5L * ARRAY_OVERHEAD + (long) index.length * Integer.BYTES
+                + (long) frequencies.length * (Integer.BYTES + Long.BYTES + (long) n * Integer.BYTES)
+                + (long) n * Integer.BYTES + vocabulary.getEstimatedMemoryUsage();
+    }
+
+    /**
+     * Adds one occurrence of the n-gram in the window, inserting it if it is new.
+     *
+     * @param hash  long containing the rolling hash of the window.
+     * @param start index of the oldest word id within the window.
+     */
+    private void add(long hash, int start) {
+        int mask = index.length - 1;
+        int slot = spread(hash) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0) {
+            int id = entry - 1;
+            if (hashes[id] == hash && windowEquals(id, start)) {
+                // Raise the frequency.
+                frequencies[id]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        // Insert a new entry.
+        int id = size;
+        if (id == frequencies.length) {
+            frequencies = Arrays.copyOf(frequencies, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+            wordIds = Arrays.copyOf(wordIds, id * 2 * n);
+        }
+        frequencies[id] = 1;
+        hashes[id] = hash;
+        for (int i = 0; i < n; i++) {
+            wordIds[id * n + i] = window[(start + i) % n];
+        }
+        index[slot] = id + 1;
+        size++;
+        // Keep the load factor at most 1/2, so probe sequences stay short.
+        if (size * 2 > index.length) {
+            resize();
+        }
+    }
+
+    private boolean windowEquals(int id, int start) {
+        for (int i = 0; i < n; i++) {
+            if (wordIds[id * n + i] != window[(start + i) % n]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void resize() {
+        index = new int[index.length * 2];
+        int mask = index.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = spread(hashes[id]) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = id + 1;
+        }
+    }
+
+    private static int spread(long hash) {
+        return WordHash.mix((int) (hash ^ (hash >>> 32)));
+    }
+}
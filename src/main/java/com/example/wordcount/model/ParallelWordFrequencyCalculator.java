@@ -0,0 +1,139 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.metrics.AnalyzerMetrics;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import com.example.wordcount.tokenizer.Tokenizer;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * {@link WordFrequencyAnalyzer} counting large texts on a {@link ForkJoinPool}. The text is split at word boundaries
+ * into chunks, each chunk is counted into its own {@link WordFrequencyTable}, and the tables are merged pairwise.
+ * The results are identical to those of the sequential {@link WordFrequencyCalculator}.
+ * <p>
+ * A calculator created with a parallelism owns its pool, and shuts it down when closed; a calculator handed a pool
+ * shares it, and leaves it to its owner.
+ */
+public class ParallelWordFrequencyCalculator extends WordFrequencyCalculator implements AutoCloseable {
+
+    public static final int DEFAULT_MIN_CHUNK_SIZE = 1 << 20;
+
+    private final ForkJoinPool forkJoinPool;
+    private final boolean ownsForkJoinPool;
+    private final int minChunkSize;
+
+    public ParallelWordFrequencyCalculator() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * @param parallelism  int containing the number of threads to count with.
+     * @param minChunkSize int containing the number of characters below which a chunk is no longer split.
+     */
+    public ParallelWordFrequencyCalculator(int parallelism, int minChunkSize) {
+        this(new LetterTokenizer(), parallelism, minChunkSize);
+    }
+
+    public ParallelWordFrequencyCalculator(Tokenizer tokenizer, int parallelism, int minChunkSize) {
+        this(tokenizer, parallelism, minChunkSize, AnalyzerMetrics.DISABLED);
+    }
+
+    public ParallelWordFrequencyCalculator(Tokenizer tokenizer, int parallelism, int minChunkSize, AnalyzerMetrics analyzerMetrics) {
+        this(tokenizer, new ForkJoinPool(parallelism), true, minChunkSize, analyzerMetrics);
+    }
+
+    /**
+     * @param forkJoinPool {@link ForkJoinPool} to count with, shared with its owner: closing the calculator leaves it
+     *                     running.
+     */
+    public ParallelWordFrequencyCalculator(Tokenizer tokenizer, ForkJoinPool forkJoinPool, int minChunkSize, AnalyzerMetrics analyzerMetrics) {
+        this(tokenizer, forkJoinPool, false, minChunkSize, analyzerMetrics);
+    }
+
+    private ParallelWordFrequencyCalculator(Tokenizer tokenizer, ForkJoinPool forkJoinPool, boolean ownsForkJoinPool, int minChunkSize,
+                                            AnalyzerMetrics analyzerMetrics) {
+        super(tokenizer, analyzerMetrics);
+        if (minChunkSize < 1) {
+            // Do not leave the pool of a rejected calculator running.
+            if (ownsForkJoinPool) {
+                forkJoinPool.shutdown();
+            }
+            throw new IllegalArgumentException("The minimum chunk size should be a non zero positive value. The value provided is '" + minChunkSize + "'.");
+        }
+        this.forkJoinPool = forkJoinPool;
+        this.ownsForkJoinPool = ownsForkJoinPool;
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * Shuts the pool down if the calculator owns it. Texts of more than one chunk can no longer be counted afterwards.
+     */
+    @Override
+    public void close() {
+        if (ownsForkJoinPool) {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Override
+    protected WordFrequencyTable countWords(String text) {
+        // Small texts are not worth handing over to other threads.
+        if (text.length() <= minChunkSize) {
+            return super.countWords(text);
+        }
+        return forkJoinPool.invoke(new CountTask(text, 0, text.length()));
+    }
+
+    /**
+     * Moves an index forward until it is no longer within a word.
+     *
+     * @return the first index at or after {@param index} that does not split a word, at most {@param end}.
+     */
+    private static int alignToWordBoundary(String text, int index, int end) {
+        while (index < end && LetterTokenizer.isLetter(text.charAt(index - 1)) && LetterTokenizer.isLetter(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private class CountTask extends RecursiveTask<WordFrequencyTable> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String text;
+        private final int start;
+        private final int end;
+
+        CountTask(String text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected WordFrequencyTable compute() {
+            int middle = alignToWordBoundary(text, start + (end - start) / 2, end);
+            if (end - start <= minChunkSize || middle == end) {
+                // Count the chunk on this thread.
+                WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+                getTokenizer().tokenize(text, start, end, wordFrequencyTable);
+                return wordFrequencyTable;
+            }
+
+            // Count both halves, forking the left half to another thread.
+            CountTask left = new CountTask(text, start, middle);
+            left.fork();
+            WordFrequencyTable rightTable = new CountTask(text, middle, end).compute();
+            WordFrequencyTable leftTable = left.join();
+
+            // Merge the smaller table into the larger one.
+            if (leftTable.size() < rightTable.size()) {
+                rightTable.merge(leftTable);
+                return rightTable;
+            }
+            leftTable.merge(rightTable);
+            return leftTable;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.wordcount.model;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Selects the head of a list of words ordered most to least frequent, and alphabetically per frequency, without
+ * sorting the whole list. A small head is collected in a bounded heap, a large head is moved to the front by
+ * quickselect, after which only the head itself is sorted.
+ * <p>
+ * The selection works on entry indices, so tables which do not hold a {@link WordFrequency} per word can use it as well.
+ */
+public class TopWordSelector {
+
+    /**
+     * Orders most to least frequent, and for equal frequencies alphabetically.
+     */
+    public static final Comparator<WordFrequency> MOST_FREQUENT_FIRST = (wordFrequency1, wordFrequency2) -> {
+        int frequencyComparison = Integer.compare(wordFrequency2.getFrequency(), wordFrequency1.getFrequency());
+        return frequencyComparison != 0 ? frequencyComparison : wordFrequency1.getWord().compareTo(wordFrequency2.getWord());
+    };
+
+    /**
+     * Compares two entries by their index, without boxing.
+     */
+    @FunctionalInterface
+    public interface IndexComparator {
+        int compare(int index1, int index2);
+    }
+
+    private static final int HEAP_SELECTION_MAX_N = 1024;
+    private static final int INSERTION_SORT_MAX_SIZE = 16;
+
+    private TopWordSelector() {
+    }
+
+    /**
+     * Finds the head with a given size of a list of words ordered by {@link #MOST_FREQUENT_FIRST}.
+     *
+     * @param wordFrequencyList {@link List<WordFrequency>} with distinct words, in any order. It is not modified.
+     * @param n                 integer containing the number of entries to return, at most the size of the list.
+     * @return a new {@link List<WordFrequency>} containing the {@param n} first entries.
+     */
+    public static List<WordFrequency> select(List<WordFrequency> wordFrequencyList, int n) {
+        WordFrequency[] wordFrequencies = wordFrequencyList.toArray(new WordFrequency[0]);
+        int[] head = select(wordFrequencies.length,
+                (index1, index2) -> MOST_FREQUENT_FIRST.compare(wordFrequencies[index1], wordFrequencies[index2]), n);
+        List<WordFrequency> headWordFrequencyList = new ArrayList<>(n);
+        for (int index : head) {
+            headWordFrequencyList.add(wordFrequencies[index]);
+        }
+        return headWordFrequencyList;
+    }
+
+    /**
+     * Finds the indices of the head with a given size of the entries 0 to {@param size}, in the order of a comparator.
+     *
+     * @param size       integer containing the number of entries.
+     * @param comparator {@link IndexComparator} ordering distinct entries, first entry first.
+     * @param n          integer containing the number of indices to return, at most {@param size}.
+     * @return a new array containing the indices of the {@param n} first entries, in order.
+     */
+    public static int[] select(int size, IndexComparator comparator, int n) {
+        int[] head = n <= HEAP_SELECTION_MAX_N && n * 8 <= size
+                ? selectWithHeap(size, comparator, n)
+                : selectWithQuickselect(size, comparator, n);
+        sort(head, comparator);
+        return head;
+    }
+
+    /**
+     * Sorts indices in the order of a comparator, with a merge sort.
+     *
+     * @param indices    array of indices to sort in place.
+     * @param comparator {@link IndexComparator} ordering the entries, first entry first.
+     */
+    public static void sort(int[] indices, IndexComparator comparator) {
+        if (indices.length <= INSERTION_SORT_MAX_SIZE) {
+            insertionSort(indices, 0, indices.length, comparator);
+            return;
+        }
+        int[] source = indices;
+        int[] target = new int[indices.length];
+        // Sort short runs in place, then merge runs of doubling width, swapping source and target each pass.
+        for (int start = 0; start < indices.length; start += INSERTION_SORT_MAX_SIZE) {
+            insertionSort(indices, start, Math.min(start + INSERTION_SORT_MAX_SIZE, indices.length), comparator);
+        }
+        for (int width = INSERTION_SORT_MAX_SIZE; width < indices.length; width *= 2) {
+            for (int start = 0; start < indices.length; start += 2 * width) {
+                int middle = Math.min(start + width, indices.length);
+                int end = Math.min(start + 2 * width, indices.length);
+                merge(source, target, start, middle, end, comparator);
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != indices) {
+            System.arraycopy(source, 0, indices, 0, indices.length);
+        }
+    }
+
+    private static int[] selectWithHeap(int size, IndexComparator comparator, int n) {
+        // The root of the heap is the 'worst' entry of the head collected so far.
+        int[] heap = new int[n];
+        for (int index = 0; index < size; index++) {
+            if (index < n) {
+                heap[index] = index;
+                siftUp(heap, index, comparator);
+            } else if (comparator.compare(index, heap[0]) < 0) {
+                // Replace the 'worst' entry of the head.
+                heap[0] = index;
+                siftDown(heap, 0, n, comparator);
+            }
+        }
+        return heap;
+    }
+
+    private static int[] selectWithQuickselect(int size, IndexComparator comparator, int n) {
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+        }
+        int left = 0;
+        int right = size - 1;
+        // Partition until the n first entries precede all others.
+        while (left < right) {
+            int pivotIndex = partition(indices, left, right, left + ThreadLocalRandom.current().nextInt(right - left + 1), comparator);
+            if (pivotIndex < n - 1) {
+                left = pivotIndex + 1;
+            } else if (pivotIndex > n) {
+                right = pivotIndex - 1;
+            } else {
+                break;
+            }
+        }
+        return Arrays.copyOf(indices, n);
+    }
+
+    /**
+     * Moves the entries preceding the pivot to its left, and the other entries to its right.
+     *
+     * @return the final position of the pivot.
+     */
+    private static int partition(int[] indices, int left, int right, int pivotPosition, IndexComparator comparator) {
+        int pivot = indices[pivotPosition];
+        swap(indices, pivotPosition, right);
+        int storePosition = left;
+        for (int i = left; i < right; i++) {
+            if (comparator.compare(indices[i], pivot) < 0) {
+                swap(indices, i, storePosition++);
+            }
+        }
+        swap(indices, storePosition, right);
+        return storePosition;
+    }
+
+    /**
+     * Restores a heap with the 'worst' entry at the root, after an entry was placed at a position.
+     */
+    private static void siftUp(int[] heap, int position, IndexComparator comparator) {
+        int index = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (comparator.compare(heap[parent], index) >= 0) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = index;
+    }
+
+    private static void siftDown(int[] heap, int position, int size, IndexComparator comparator) {
+        int index = heap[position];
+        int child;
+        while ((child = 2 * position + 1) < size) {
+            if (child + 1 < size && comparator.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (comparator.compare(index, heap[child]) >= 0) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = index;
+    }
+
+    private static void insertionSort(int[] indices, int start, int end, IndexComparator comparator) {
+        for (int i = start + 1; i < end; i++) {
+            int index = indices[i];
+            int j = i - 1;
+            while (j >= start && comparator.compare(indices[j], index) > 0) {
+                indices[j + 1] = indices[j];
+                j--;
+            }
+            indices[j + 1] = index;
+        }
+    }
+
+    private static void merge(int[] source, int[] target, int start, int middle, int end, IndexComparator comparator) {
+        int left = start;
+        int right = middle;
+        for (int i = start; i < end; i++) {
+            if (left < middle && (right >= end || comparator.compare(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+
+    private static void swap(int[] indices, int i, int j) {
+        int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+    }
+}
@@ -15,6 +15,17 @@ public class Word implements WordFrequency {
         this.frequency = frequency;
     }
 
+    /**
+     * Converts a frequency summed as a long to the int of a {@link WordFrequency}, capping it at Integer.MAX_VALUE
+     * instead of overflowing.
+     *
+     * @param frequency long containing a non negative frequency.
+     * @return the {@param frequency}, or Integer.MAX_VALUE if it is larger.
+     */
+    public static int saturatedFrequency(long frequency) {
+        return (int) Math.min(frequency, Integer.MAX_VALUE);
+    }
+
     /**
      * Raises the frequency with one.
      */
@@ -22,6 +33,15 @@ public class Word implements WordFrequency {
         this.frequency = this.getFrequency() + 1;
     }
 
+    /**
+     * Raises the frequency with a given amount.
+     *
+     * @param amount int containing the amount to raise the frequency with.
+     */
+    public void add(int amount) {
+        this.frequency = this.getFrequency() + amount;
+    }
+
     @Override
     public String getWord() {
         return word;
@@ -1,5 +1,8 @@
 package com.example.wordcount.model;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 
 public interface WordFrequencyAnalyzer {
@@ -12,6 +15,25 @@ public interface WordFrequencyAnalyzer {
      */
     int calculateHighestFrequency(String text);
 
+    /**
+     * Finds the number of times the most frequent word occurs within an ASCII or UTF-8 encoded file.
+     *
+     * @param path Path of the file to analyze, or of a directory whose files are analyzed as a whole.
+     * @return an int containing the number of times the most frequent word occurs within the file(s).
+     * @throws IOException if the {@param path} cannot be read.
+     */
+    int calculateHighestFrequency(Path path) throws IOException;
+
+    /**
+     * Finds the number of times the most frequent word occurs within an ASCII or UTF-8 encoded stream, reading it
+     * chunk by chunk.
+     *
+     * @param inputStream InputStream containing the text to analyze. It is read until its end, but not closed.
+     * @return an int containing the number of times the most frequent word occurs within the stream.
+     * @throws IOException if the {@param inputStream} cannot be read.
+     */
+    int calculateHighestFrequency(InputStream inputStream) throws IOException;
+
     /**
      * Finds the number of times a given word occurs within a given text.
      *
@@ -21,6 +43,60 @@ public interface WordFrequencyAnalyzer {
      */
     int calculateFrequencyForWord(String text, String word);
 
+    /**
+     * Finds the number of times a given word occurs within an ASCII or UTF-8 encoded file.
+     *
+     * @param path Path of the file to analyze, or of a directory whose files are analyzed as a whole.
+     * @param word String containing the word to find the frequency for.
+     * @return an integer containing the number of times the {@param word} occurs within the file(s).
+     * @throws IOException if the {@param path} cannot be read.
+     */
+    int calculateFrequencyForWord(Path path, String word) throws IOException;
+
+    /**
+     * Finds the number of times a given word occurs within an ASCII or UTF-8 encoded stream, reading it chunk by chunk.
+     *
+     * @param inputStream InputStream containing the text to analyze. It is read until its end, but not closed.
+     * @param word        String containing the word to find the frequency for.
+     * @return an integer containing the number of times the {@param word} occurs within the stream.
+     * @throws IOException if the {@param inputStream} cannot be read.
+     */
+    int calculateFrequencyForWord(InputStream inputStream, String word) throws IOException;
+
+    /**
+     * Finds the number of times each word of a watchlist occurs within a given text, counting only those words.
+     *
+     * @param text          String containing the text to analyze.
+     * @param wordWatchlist {@link WordWatchlist} containing the words to find the frequencies for.
+     * @return a {@link List<WordFrequency>} containing the frequency of every word of the {@param wordWatchlist}, in its
+     * order.
+     */
+    List<WordFrequency> calculateFrequencyForWords(String text, WordWatchlist wordWatchlist);
+
+    /**
+     * Finds the number of times each word of a watchlist occurs within an ASCII or UTF-8 encoded file, counting only
+     * those words.
+     *
+     * @param path          Path of the file to analyze, or of a directory whose files are analyzed as a whole.
+     * @param wordWatchlist {@link WordWatchlist} containing the words to find the frequencies for.
+     * @return a {@link List<WordFrequency>} containing the frequency of every word of the {@param wordWatchlist}, in its
+     * order.
+     * @throws IOException if the {@param path} cannot be read.
+     */
+    List<WordFrequency> calculateFrequencyForWords(Path path, WordWatchlist wordWatchlist) throws IOException;
+
+    /**
+     * Finds the number of times each word of a watchlist occurs within an ASCII or UTF-8 encoded stream, reading it
+     * chunk by chunk, counting only those words.
+     *
+     * @param inputStream   InputStream containing the text to analyze. It is read until its end, but not closed.
+     * @param wordWatchlist {@link WordWatchlist} containing the words to find the frequencies for.
+     * @return a {@link List<WordFrequency>} containing the frequency of every word of the {@param wordWatchlist}, in its
+     * order.
+     * @throws IOException if the {@param inputStream} cannot be read.
+     */
+    List<WordFrequency> calculateFrequencyForWords(InputStream inputStream, WordWatchlist wordWatchlist) throws IOException;
+
     /**
      * Finds the head with a given size of a list of the top frequent words in a given text.
      *
@@ -29,4 +105,89 @@ public interface WordFrequencyAnalyzer {
      * @return a {@link List<WordFrequency>} containing the number of entries requested for.
      */
     List<WordFrequency> calculateMostFrequentNWords(String text, int n);
+
+    /**
+     * Finds the head with a given size of a list of the top frequent words in an ASCII or UTF-8 encoded file.
+     *
+     * @param path Path of the file to analyze, or of a directory whose files are analyzed as a whole.
+     * @param n    integer containing the number of entries te return.
+     * @return a {@link List<WordFrequency>} containing the number of entries requested for.
+     * @throws IOException if the {@param path} cannot be read.
+     */
+    List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException;
+
+    /**
+     * Finds the head with a given size of a list of the top frequent words in an ASCII or UTF-8 encoded stream,
+     * reading it chunk by chunk.
+     *
+     * @param inputStream InputStream containing the text to analyze. It is read until its end, but not closed.
+     * @param n           integer containing the number of entries te return.
+     * @return a {@link List<WordFrequency>} containing the number of entries requested for.
+     * @throws IOException if the {@param inputStream} cannot be read.
+     */
+    List<WordFrequency> calculateMostFrequentNWords(InputStream inputStream, int n) throws IOException;
+
+    /**
+     * Counts the words within a text once, for answering several questions about it.
+     *
+     * @param text String containing the text to analyze.
+     * @return a {@link FrequencySnapshot} of the word frequencies within the {@param text}.
+     */
+    FrequencySnapshot analyze(String text);
+
+    /**
+     * Counts the words within an ASCII or UTF-8 encoded file once, for answering several questions about it.
+     *
+     * @param path Path of the file to analyze, or of a directory whose files are analyzed as a whole.
+     * @return a {@link FrequencySnapshot} of the word frequencies within the file(s).
+     * @throws IOException if the {@param path} cannot be read.
+     */
+    FrequencySnapshot analyze(Path path) throws IOException;
+
+    /**
+     * Counts the words within an ASCII or UTF-8 encoded stream once, for answering several questions about it.
+     *
+     * @param inputStream InputStream containing the text to analyze. It is read until its end, but not closed.
+     * @return a {@link FrequencySnapshot} of the word frequencies within the stream.
+     * @throws IOException if the {@param inputStream} cannot be read.
+     */
+    FrequencySnapshot analyze(InputStream inputStream) throws IOException;
+
+    /**
+     * Counts the n-grams (sequences of 'n' consecutive words) within a text once, for answering several questions
+     * about them as if every n-gram was a word.
+     *
+     * @param text String containing the text to analyze.
+     * @param n    integer containing the number of words per n-gram, e.g. 2 for two-word phrases.
+     * @return a {@link FrequencySnapshot} of the n-gram frequencies within the {@param text}.
+     */
+    FrequencySnapshot analyzeNGrams(String text, int n);
+
+    /**
+     * Counts the n-grams within an ASCII or UTF-8 encoded file once, for answering several questions about them.
+     *
+     * @param path Path of the file to analyze, or of a directory whose files are analyzed as a whole.
+     * @param n    integer containing the number of words per n-gram.
+     * @return a {@link FrequencySnapshot} of the n-gram frequencies within the file(s).
+     * @throws IOException if the {@param path} cannot be read.
+     */
+    FrequencySnapshot analyzeNGrams(Path path, int n) throws IOException;
+
+    /**
+     * Counts the n-grams within an ASCII or UTF-8 encoded stream once, for answering several questions about them.
+     *
+     * @param inputStream InputStream containing the text to analyze. It is read until its end, but not closed.
+     * @param n           integer containing the number of words per n-gram.
+     * @return a {@link FrequencySnapshot} of the n-gram frequencies within the stream.
+     * @throws IOException if the {@param inputStream} cannot be read.
+     */
+    FrequencySnapshot analyzeNGrams(InputStream inputStream, int n) throws IOException;
+
+    /**
+     * Starts counting a text handed over word by word, e.g. by a {@link com.example.wordcount.tokenizer.WordScanner}
+     * fed with chunks as they arrive, for answering several questions about it once it has been handed over.
+     *
+     * @return a new {@link FrequencyCounter}.
+     */
+    FrequencyCounter newCounter();
 }
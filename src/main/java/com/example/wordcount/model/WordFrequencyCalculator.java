@@ -1,153 +1,319 @@
 package com.example.wordcount.model;
 
-import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import com.example.wordcount.input.InputStatistics;
+import com.example.wordcount.input.MappedFileReader;
+import com.example.wordcount.input.StreamWordReader;
+import com.example.wordcount.metrics.AnalyzerMetrics;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import com.example.wordcount.tokenizer.Tokenizer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
 
 public class WordFrequencyCalculator implements WordFrequencyAnalyzer {
 
-    String REGEX = "[a-zA-Z]*"; // A (too) basic regex to identify words with.
+    private final Tokenizer tokenizer;
+    private final AnalyzerMetrics analyzerMetrics;
+
+    public WordFrequencyCalculator() {
+        this(new LetterTokenizer());
+    }
+
+    public WordFrequencyCalculator(Tokenizer tokenizer) {
+        this(tokenizer, AnalyzerMetrics.DISABLED);
+    }
+
+    /**
+     * @param tokenizer       {@link Tokenizer} splitting texts given as a String into words.
+     * @param analyzerMetrics {@link AnalyzerMetrics} to record the counts and selections with.
+     */
+    public WordFrequencyCalculator(Tokenizer tokenizer, AnalyzerMetrics analyzerMetrics) {
+        this.tokenizer = tokenizer;
+        this.analyzerMetrics = analyzerMetrics;
+    }
 
     @Override
     public int calculateHighestFrequency(String text) {
-        // Fill word frequency list.
-        List<WordFrequency> textWordFrequencyList = fillWordFrequencyList(text, REGEX, new ArrayList<>());
-
-        // Check if the parsed text is there.
-        if (textWordFrequencyList.isEmpty()) {
-            throw new IllegalArgumentException("The text should contain at least one word.");
-        }
+        return calculateHighestFrequency(count(text));
+    }
 
-        // Sort the data, most to least frequent.
-        textWordFrequencyList
-                .sort(Comparator.comparing(WordFrequency::getFrequency)
-                        .reversed());
+    @Override
+    public int calculateHighestFrequency(Path path) throws IOException {
+        return calculateHighestFrequency(count(path));
+    }
 
-        // Return the value of the first element.
-        return textWordFrequencyList.get(0).getFrequency();
+    @Override
+    public int calculateHighestFrequency(InputStream inputStream) throws IOException {
+        return calculateHighestFrequency(count(inputStream));
     }
 
     @Override
     public int calculateFrequencyForWord(String text, String word) {
         // Normalize and validate argument word to find frequency for.
-        word = normalizeAndValidateWordToFindFrequencyFor(word);
+        word = ArgumentValidator.normalizeAndValidateWord(word);
 
-        // Fill word frequency list.
-        List<WordFrequency> textWordFrequencyList = fillWordFrequencyList(text, REGEX, new ArrayList<>());
+        return calculateFrequencyForWord(count(text), word);
+    }
 
-        // Check if the parsed text is there.
-        if (textWordFrequencyList.isEmpty()) {
-            throw new IllegalArgumentException("The text should contain at least one word.");
-        }
+    @Override
+    public int calculateFrequencyForWord(Path path, String word) throws IOException {
+        // Normalize and validate argument word to find frequency for.
+        word = ArgumentValidator.normalizeAndValidateWord(word);
 
-        // Return the frequency of a Word.
-        int index = findIndexOfWord(textWordFrequencyList, word);
-        return index > -1 ? textWordFrequencyList.get(index).getFrequency() : 0;
+        return calculateFrequencyForWord(count(path), word);
+    }
+
+    @Override
+    public int calculateFrequencyForWord(InputStream inputStream, String word) throws IOException {
+        // Normalize and validate argument word to find frequency for.
+        word = ArgumentValidator.normalizeAndValidateWord(word);
+
+        return calculateFrequencyForWord(count(inputStream), word);
+    }
+
+    // The watchlist operations only count the words of the watchlist, without building a table of all words.
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(String text, WordWatchlist wordWatchlist) {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        tokenizer.tokenize(text, counter);
+        return calculateFrequencyForWords(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(Path path, WordWatchlist wordWatchlist) throws IOException {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        MappedFileReader.read(path, counter);
+        return calculateFrequencyForWords(counter);
+    }
+
+    @Override
+    public List<WordFrequency> calculateFrequencyForWords(InputStream inputStream, WordWatchlist wordWatchlist) throws IOException {
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        StreamWordReader.read(inputStream, counter);
+        return calculateFrequencyForWords(counter);
     }
 
     @Override
     public List<WordFrequency> calculateMostFrequentNWords(String text, int n) {
-        // Check if 'n' is a non zero positive number.
-        if (n < 1) {
-            throw new IllegalArgumentException("The number 'n' should be a non zero positive value. The value provided is '" + n + "'.");
-        }
+        ArgumentValidator.validateNumberOfWords(n);
+
+        return calculateMostFrequentNWords(count(text), n);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(Path path, int n) throws IOException {
+        ArgumentValidator.validateNumberOfWords(n);
+
+        return calculateMostFrequentNWords(count(path), n);
+    }
+
+    @Override
+    public List<WordFrequency> calculateMostFrequentNWords(InputStream inputStream, int n) throws IOException {
+        ArgumentValidator.validateNumberOfWords(n);
+
+        return calculateMostFrequentNWords(count(inputStream), n);
+    }
+
+    @Override
+    public FrequencySnapshot analyze(String text) {
+        return new WordFrequencySnapshot(count(text), analyzerMetrics);
+    }
+
+    @Override
+    public FrequencySnapshot analyze(Path path) throws IOException {
+        return new WordFrequencySnapshot(count(path), analyzerMetrics);
+    }
+
+    @Override
+    public FrequencySnapshot analyze(InputStream inputStream) throws IOException {
+        return new WordFrequencySnapshot(count(inputStream), analyzerMetrics);
+    }
 
-        // Fill word frequency list.
-        List<WordFrequency> textWordFrequencyList = fillWordFrequencyList(text, REGEX, new ArrayList<>());
+    // An n-gram count is measured as a count of words, with the different n-grams as the different words.
 
-        // Check if the textWordFrequencyList contains at least 'n' entries.
-        if (textWordFrequencyList.size() < n) {
-            throw new IllegalArgumentException("The number 'n' should be at most the number of different words in the text. The current number of different words is '" + textWordFrequencyList.size() + "'.");
+    @Override
+    public FrequencySnapshot analyzeNGrams(String text, int n) {
+        NGramFrequencyTable nGramFrequencyTable = new NGramFrequencyTable(n);
+        long start = System.nanoTime();
+        tokenizer.tokenize(text, nGramFrequencyTable);
+        if (analyzerMetrics.isEnabled()) {
+            recordCount(start, text.length(), nGramFrequencyTable.getNumberOfWords(), nGramFrequencyTable.size());
         }
+        return new NGramFrequencySnapshot(nGramFrequencyTable, analyzerMetrics);
+    }
 
-        // Sort the data, most to least frequent, and if needed alphabetically per frequency.
-        textWordFrequencyList
-                // Sort highest frequency to lowest.
-                .sort(Comparator.comparing(WordFrequency::getFrequency).reversed()
-                        // For equal frequencies sort alphabetically.
-                        .thenComparing(WordFrequency::getWord));
+    @Override
+    public FrequencySnapshot analyzeNGrams(Path path, int n) throws IOException {
+        NGramFrequencyTable nGramFrequencyTable = new NGramFrequencyTable(n);
+        InputStatistics inputStatistics = new InputStatistics();
+        long start = System.nanoTime();
+        MappedFileReader.read(path, nGramFrequencyTable, inputStatistics);
+        if (analyzerMetrics.isEnabled()) {
+            recordCount(start, inputStatistics, nGramFrequencyTable.getNumberOfWords(), nGramFrequencyTable.size());
+        }
+        return new NGramFrequencySnapshot(nGramFrequencyTable, analyzerMetrics);
+    }
 
-        // Return a sublist with the requested 'n' entries.
-        return new ArrayList<>(textWordFrequencyList.subList(0, n));
+    @Override
+    public FrequencySnapshot analyzeNGrams(InputStream inputStream, int n) throws IOException {
+        NGramFrequencyTable nGramFrequencyTable = new NGramFrequencyTable(n);
+        InputStatistics inputStatistics = new InputStatistics();
+        long start = System.nanoTime();
+        StreamWordReader.read(inputStream, nGramFrequencyTable, inputStatistics);
+        if (analyzerMetrics.isEnabled()) {
+            recordCount(start, inputStatistics, nGramFrequencyTable.getNumberOfWords(), nGramFrequencyTable.size());
+        }
+        return new NGramFrequencySnapshot(nGramFrequencyTable, analyzerMetrics);
     }
 
-    /**
-     * Searches the {@param wordFrequencyList} for the {@param wordToAdd}.
-     *
-     * @param wordFrequencyList List where the filling is in progress.
-     * @param wordToAdd         String containing the word to add.
-     * @return the number of the index if found, or -1 otherwise.
-     */
-    private int findIndexOfWord(List<WordFrequency> wordFrequencyList, String wordToAdd) {
-        int index = 0;
-        // Browse the list.
-        for (WordFrequency wordFrequency : wordFrequencyList) {
-            if (wordFrequency.getWord().equals(wordToAdd)) {
-                // Return the index of the word found.
-                return index;
+    @Override
+    public FrequencyCounter newCounter() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        return new FrequencyCounter() {
+            @Override
+            public void accept(char[] buffer, int offset, int length) {
+                wordFrequencyTable.accept(buffer, offset, length);
             }
-            index++;
-        }
-        // Return the first available negative value as a 'not found'.
-        return -1;
+
+            @Override
+            public FrequencySnapshot toSnapshot() {
+                return new WordFrequencySnapshot(wordFrequencyTable, analyzerMetrics);
+            }
+        };
     }
 
-    /**
-     * Ensures that a word is filled, in lowercase, is a single word only, composed by regular a-z characters.
-     *
-     * @param word the word String provided
-     * @return a normalized and validated word String.
-     * @throws IllegalArgumentException if the word cannot be validated.
-     */
-    private String normalizeAndValidateWordToFindFrequencyFor(String word) {
-        if (word.isBlank()) {
-            throw new IllegalArgumentException("The word should be non blank.");
+    private int calculateHighestFrequency(WordFrequencyTable textWordFrequencyTable) {
+        // Check if the parsed text is there.
+        ArgumentValidator.validateTextContainsWords(textWordFrequencyTable.size());
+
+        // Return the highest frequency.
+        return textWordFrequencyTable.getHighestFrequency();
+    }
+
+    private int calculateFrequencyForWord(WordFrequencyTable textWordFrequencyTable, String word) {
+        // Check if the parsed text is there.
+        ArgumentValidator.validateTextContainsWords(textWordFrequencyTable.size());
+
+        // Return the frequency of a Word.
+        return textWordFrequencyTable.getFrequency(word);
+    }
+
+    private List<WordFrequency> calculateFrequencyForWords(WordWatchlist.Counter counter) {
+        // Check if the parsed text is there.
+        if (counter.getNumberOfWords() == 0) {
+            ArgumentValidator.validateTextContainsWords(0);
         }
 
-        // Ensure the word to search for is in lowercase (the List will also be filled with lowercase words).
-        word = word.toLowerCase();
+        // Return the frequency of every word of the watchlist.
+        return counter.getWordFrequencies();
+    }
+
+    private List<WordFrequency> calculateMostFrequentNWords(WordFrequencyTable textWordFrequencyTable, int n) {
+        // Check if the textWordFrequencyTable contains at least 'n' entries.
+        ArgumentValidator.validateNumberOfWords(n, textWordFrequencyTable.size());
 
-        // Check if word to find frequency for is a single word.
-        String regex = "[a-z]*"; // A (too) basic regex to identify words with.
-        List<WordFrequency> wordWordFrequencyList = fillWordFrequencyList(word, regex, new ArrayList<>());
-        if (wordWordFrequencyList.size() != 1 || wordWordFrequencyList.get(0).getFrequency() > 1) {
-            throw new IllegalArgumentException("The word to calculate frequency for argument should be filled with a single word.");
+        // Select the 'n' most frequent entries, and if needed alphabetically per frequency, without sorting all data.
+        if (!analyzerMetrics.isEnabled()) {
+            return textWordFrequencyTable.getMostFrequent(n);
         }
+        long start = System.nanoTime();
+        List<WordFrequency> mostFrequent = textWordFrequencyTable.getMostFrequent(n);
+        analyzerMetrics.recordSelection(System.nanoTime() - start, n);
+        return mostFrequent;
+    }
 
-        // Check if there are invalid characters in word to find frequency for.
-        regex = "((?![a-zA-Z]).)*"; // Regex to find invalid characters with. Inversion of "[a-zA-Z]*".
-        List<WordFrequency> invalidCharacterWordList = fillWordFrequencyList(word, regex, new ArrayList<>());
-        if (!invalidCharacterWordList.isEmpty()) {
-            throw new IllegalArgumentException("Invalid characters in word to calculate frequency for argument. First matched invalid character(s) '" + invalidCharacterWordList.get(0).getWord() + "'.");
+    // The count methods count a text, measuring the count if the metrics are enabled.
+
+    private WordFrequencyTable count(String text) {
+        if (!analyzerMetrics.isEnabled()) {
+            return countWords(text);
         }
+        long start = System.nanoTime();
+        WordFrequencyTable wordFrequencyTable = countWords(text);
+        recordCount(start, text.length(), wordFrequencyTable.getNumberOfWords(), wordFrequencyTable.size());
+        return wordFrequencyTable;
+    }
 
-        // Return the normalized and validated word argument.
-        return word;
+    private WordFrequencyTable count(Path path) throws IOException {
+        InputStatistics inputStatistics = new InputStatistics();
+        if (!analyzerMetrics.isEnabled()) {
+            return countWords(path, inputStatistics);
+        }
+        long start = System.nanoTime();
+        WordFrequencyTable wordFrequencyTable = countWords(path, inputStatistics);
+        recordCount(start, inputStatistics, wordFrequencyTable.getNumberOfWords(), wordFrequencyTable.size());
+        return wordFrequencyTable;
     }
 
-    private List<WordFrequency> fillWordFrequencyList(String text, String regex, List<WordFrequency> wordFrequencyList) {
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(text);
-        // Find the 'words' within a text line.
-        while (matcher.find()) {
-            // Deal with empty Strings.
-            if (matcher.group().isEmpty()) {
-                continue;
-            }
+    private WordFrequencyTable count(InputStream inputStream) throws IOException {
+        InputStatistics inputStatistics = new InputStatistics();
+        if (!analyzerMetrics.isEnabled()) {
+            return countWords(inputStream, inputStatistics);
+        }
+        long start = System.nanoTime();
+        WordFrequencyTable wordFrequencyTable = countWords(inputStream, inputStatistics);
+        recordCount(start, inputStatistics, wordFrequencyTable.getNumberOfWords(), wordFrequencyTable.size());
+        return wordFrequencyTable;
+    }
 
-            // Add the word to the word frequency list.
-            String wordToAdd = matcher.group().toLowerCase();
-            // See if the word is present.
-            int index = findIndexOfWord(wordFrequencyList, wordToAdd);
-            if (index > -1) {
-                // Raise the frequency.
-                Word wordInList = (Word) wordFrequencyList.get(index);
-                wordFrequencyList.set(index, new Word(wordInList.getWord(), wordInList.getFrequency() + 1));
-            } else {
-                // Insert a new entry.
-                wordFrequencyList.add(new Word(wordToAdd));
-            }
+    private void recordCount(long start, InputStatistics inputStatistics, long numberOfWords, int numberOfDifferentWords) {
+        recordCount(start, inputStatistics.getSize(), numberOfWords, numberOfDifferentWords);
+        if (inputStatistics.getCompressedSize() > 0) {
+            analyzerMetrics.recordDecompression(inputStatistics.getCompressedSize(), inputStatistics.getCountingWaitNanos(), inputStatistics.getDecompressionWaitNanos());
         }
-        return wordFrequencyList;
+    }
+
+    private void recordCount(long start, long inputSize, long numberOfWords, int numberOfDifferentWords) {
+        long nanos = System.nanoTime() - start;
+        analyzerMetrics.recordCount(nanos, inputSize, numberOfWords, numberOfDifferentWords);
+    }
+
+    /**
+     * Counts the words within a text.
+     *
+     * @param text String containing the text to analyze.
+     * @return a {@link WordFrequencyTable} with the frequency of every different word in the {@param text}.
+     */
+    protected WordFrequencyTable countWords(String text) {
+        // Hand the words within the text to the table, raising their frequency if they are present.
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        tokenizer.tokenize(text, wordFrequencyTable);
+        return wordFrequencyTable;
+    }
+
+    /**
+     * Counts the words within a file, or within all files of a directory tree, reading them memory-mapped, or
+     * decompressing them if they are compressed.
+     *
+     * @param path            Path of the file or directory to analyze.
+     * @param inputStatistics {@link InputStatistics} to add the measurements of reading the files to.
+     * @return a {@link WordFrequencyTable} with the frequency of every different word in the files.
+     * @throws IOException if the path cannot be read.
+     */
+    protected WordFrequencyTable countWords(Path path, InputStatistics inputStatistics) throws IOException {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        MappedFileReader.read(path, wordFrequencyTable, inputStatistics);
+        return wordFrequencyTable;
+    }
+
+    /**
+     * Counts the words within a stream, reading it chunk by chunk, or decompressing it if it is compressed.
+     *
+     * @param inputStream     InputStream containing the text to analyze.
+     * @param inputStatistics {@link InputStatistics} to add the measurements of reading the stream to.
+     * @return a {@link WordFrequencyTable} with the frequency of every different word in the stream.
+     * @throws IOException if the stream cannot be read.
+     */
+    protected WordFrequencyTable countWords(InputStream inputStream, InputStatistics inputStatistics) throws IOException {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        StreamWordReader.read(inputStream, wordFrequencyTable, inputStatistics);
+        return wordFrequencyTable;
+    }
+
+    protected Tokenizer getTokenizer() {
+        return tokenizer;
     }
 }
@@ -0,0 +1,96 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.metrics.AnalyzerMetrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * {@link FrequencySnapshot} on top of a {@link WordFrequencyTable}, answering a word lookup in O(1). The highest
+ * frequency is determined once when the snapshot is taken. The ids of all words are sorted, most to least frequent,
+ * on the first top-N question, after which every top-N question only creates views for the head.
+ */
+public class WordFrequencySnapshot implements FrequencySnapshot {
+
+    private final WordFrequencyTable wordFrequencyTable;
+    private final AnalyzerMetrics analyzerMetrics;
+    private final int highestFrequency;
+    private volatile int[] sortedIds;
+
+    /**
+     * @param wordFrequencyTable {@link WordFrequencyTable} of a text, containing at least one word. The snapshot takes
+     *                           it over, so it must no longer be changed.
+     * @throws IllegalArgumentException if the table is empty.
+     */
+    public WordFrequencySnapshot(WordFrequencyTable wordFrequencyTable) {
+        this(wordFrequencyTable, AnalyzerMetrics.DISABLED);
+    }
+
+    /**
+     * As {@link #WordFrequencySnapshot(WordFrequencyTable)}, recording every selection of the most frequent words with
+     * the {@param analyzerMetrics} of the analyzer that counted the table.
+     */
+    public WordFrequencySnapshot(WordFrequencyTable wordFrequencyTable, AnalyzerMetrics analyzerMetrics) {
+        // Check if the parsed text is there.
+        ArgumentValidator.validateTextContainsWords(wordFrequencyTable.size());
+
+        this.wordFrequencyTable = wordFrequencyTable;
+        this.analyzerMetrics = analyzerMetrics;
+        this.highestFrequency = wordFrequencyTable.getHighestFrequency();
+    }
+
+    @Override
+    public int getHighestFrequency() {
+        return highestFrequency;
+    }
+
+    @Override
+    public int getFrequencyForWord(String word) {
+        return wordFrequencyTable.getFrequency(ArgumentValidator.normalizeAndValidateWord(word));
+    }
+
+    @Override
+    public List<WordFrequency> getMostFrequentNWords(int n) {
+        ArgumentValidator.validateNumberOfWords(n);
+        ArgumentValidator.validateNumberOfWords(n, wordFrequencyTable.size());
+
+        // Create new views, so the snapshot cannot be changed through them.
+        if (!analyzerMetrics.isEnabled()) {
+            return wordFrequencyTable.toList(Arrays.copyOf(getSortedIds(), n));
+        }
+        long start = System.nanoTime();
+        List<WordFrequency> mostFrequent = wordFrequencyTable.toList(Arrays.copyOf(getSortedIds(), n));
+        analyzerMetrics.recordSelection(System.nanoTime() - start, n);
+        return mostFrequent;
+    }
+
+    /**
+     * @return the {@link WordFrequencyTable} the snapshot answers from. It must not be changed.
+     */
+    public WordFrequencyTable getWordFrequencyTable() {
+        return wordFrequencyTable;
+    }
+
+    @Override
+    public int getNumberOfDifferentWords() {
+        return wordFrequencyTable.size();
+    }
+
+    /**
+     * Estimates the bytes held by the table, plus the sorted ids once they exist.
+     */
+    @Override
+    public long getEstimatedMemoryUsage() {
+        return wordFrequencyTable.getEstimatedMemoryUsage() + 4L * wordFrequencyTable.size();
+    }
+
+    private int[] getSortedIds() {
+        int[] sorted = sortedIds;
+        if (sorted == null) {
+            // Concurrent first questions may both sort; the results are equal.
+            sorted = wordFrequencyTable.getSortedIds();
+            sortedIds = sorted;
+        }
+        return sorted;
+    }
+}
@@ -0,0 +1,398 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hash-indexed table holding the frequency of every distinct word seen, without an object per word. Each word is
+ * interned once as UTF-8 bytes in large byte array slabs, and gets an id: the position of its frequency, hash and
+ * slab position in parallel primitive arrays. An open addressing index maps hashes to ids, so adding a word costs
+ * O(1) amortized, at some 24 bytes plus the word itself per distinct word.
+ * <p>
+ * Words handed over by a {@link com.example.wordcount.tokenizer.Tokenizer} are looked up by their characters, and
+ * {@link WordFrequency} views are only created for results. Changing the table is not thread safe, but once it is
+ * no longer changed, it may be read concurrently.
+ */
+public class WordFrequencyTable implements WordConsumer {
+
+    private static final int INITIAL_CAPACITY = 64; // Index slots, should be a power of two.
+    private static final int INITIAL_SLAB_SIZE = 1 << 10;
+    private static final int MAX_SLAB_SIZE = 1 << 20;
+    private static final int ARRAY_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 4; // Assuming compressed references.
+    private static final int SLAB_SHIFT = 32;
+
+    private int[] index = new int[INITIAL_CAPACITY]; // Id + 1 per slot, 0 for an empty slot.
+    private int[] frequencies = new int[INITIAL_CAPACITY / 2];
+    private int[] hashes = new int[INITIAL_CAPACITY / 2];
+    private long[] positions = new long[INITIAL_CAPACITY / 2]; // Slab number << 32 | offset of the length prefix.
+    private int size;
+
+    private byte[][] slabs = new byte[8][];
+    private int slabCount;
+    private int slabOffset; // Next free offset within the last slab.
+    private long slabBytes;
+
+    private byte[] encodeBuffer = new byte[64];
+
+    /**
+     * Adds one occurrence of a word to the table.
+     *
+     * @param word String containing the (normalized) word to add.
+     */
+    public void add(String word) {
+        add(word, 1);
+    }
+
+    /**
+     * Adds a number of occurrences of a word to the table.
+     *
+     * @param word      String containing the (normalized) word to add.
+     * @param frequency int containing the number of occurrences to add.
+     */
+    public void add(String word, int frequency) {
+        byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+        add(bytes, 0, bytes.length, WordHash.hash(bytes, 0, bytes.length), frequency);
+    }
+
+    /**
+     * Adds all occurrences of the words of another table to this table.
+     *
+     * @param wordFrequencyTable {@link WordFrequencyTable} to merge into this table. It is not modified.
+     */
+    public void merge(WordFrequencyTable wordFrequencyTable) {
+        for (int id = 0; id < wordFrequencyTable.size; id++) {
+            long position = wordFrequencyTable.positions[id];
+            byte[] slab = wordFrequencyTable.slabs[(int) (position >>> SLAB_SHIFT)];
+            int length = readLength(slab, (int) position);
+            add(slab, (int) position + lengthPrefixSize(length), length,
+                    wordFrequencyTable.hashes[id], wordFrequencyTable.frequencies[id]);
+        }
+    }
+
+    /**
+     * Adds one occurrence of a word, handed over as a view on a buffer, to the table.
+     */
+    @Override
+    public void accept(char[] buffer, int offset, int length) {
+        addWord(buffer, offset, length);
+    }
+
+    /**
+     * Adds one occurrence of a word, handed over as a view on a buffer, to the table.
+     *
+     * @return the id of the word.
+     */
+    public int addWord(char[] buffer, int offset, int length) {
+        int byteLength = encode(buffer, offset, length);
+        return add(encodeBuffer, 0, byteLength, WordHash.hash(encodeBuffer, 0, byteLength), 1);
+    }
+
+    /**
+     * Finds the frequency of a word.
+     *
+     * @param word String containing the (normalized) word to find the frequency for.
+     * @return the frequency of the {@param word}, or 0 if it is absent.
+     */
+    public int getFrequency(String word) {
+        int id = getId(word);
+        return id >= 0 ? frequencies[id] : 0;
+    }
+
+    /**
+     * Finds the id of a word.
+     *
+     * @param word String containing the (normalized) word to find.
+     * @return the id of the {@param word}, or -1 if it is absent.
+     */
+    public int getId(String word) {
+        byte[] bytes = word.getBytes(StandardCharsets.UTF_8);
+        return index[findSlot(bytes, 0, bytes.length, WordHash.hash(bytes, 0, bytes.length))] - 1;
+    }
+
+    /**
+     * @return the highest frequency in the table, or 0 if the table is empty.
+     */
+    public int getHighestFrequency() {
+        int highestFrequency = 0;
+        for (int id = 0; id < size; id++) {
+            highestFrequency = Math.max(highestFrequency, frequencies[id]);
+        }
+        return highestFrequency;
+    }
+
+    /**
+     * @return the total number of words in the table, i.e. the sum of all frequencies.
+     */
+    public long getNumberOfWords() {
+        long numberOfWords = 0;
+        for (int id = 0; id < size; id++) {
+            numberOfWords += frequencies[id];
+        }
+        return numberOfWords;
+    }
+
+    /**
+     * @return the number of different words in the table. Ids range from 0 up to this number.
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the frequency of the word with a given id.
+     */
+    public int getFrequency(int id) {
+        return frequencies[id];
+    }
+
+    /**
+     * @return a new String containing the word with a given id.
+     */
+    public String getWord(int id) {
+        long position = positions[id];
+        byte[] slab = slabs[(int) (position >>> SLAB_SHIFT)];
+        int offset = (int) position;
+        int length = readLength(slab, offset);
+        return new String(slab, offset + lengthPrefixSize(length), length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return a new {@link WordFrequency} view of the word with a given id.
+     */
+    public WordFrequency getWordFrequency(int id) {
+        return new Word(getWord(id), frequencies[id]);
+    }
+
+    /**
+     * Compares two words by id in the order of {@link TopWordSelector#MOST_FREQUENT_FIRST}, without creating Strings.
+     */
+    public int compareMostFrequentFirst(int id1, int id2) {
+        int frequencyComparison = Integer.compare(frequencies[id2], frequencies[id1]);
+        return frequencyComparison != 0 ? frequencyComparison : compareWords(id1, id2);
+    }
+
+    /**
+     * Compares two words by id alphabetically, by their UTF-8 bytes. For the normalized words (ASCII letters) this is
+     * the order of {@link String#compareTo(String)}.
+     */
+    public int compareWords(int id1, int id2) {
+        long position1 = positions[id1];
+        long position2 = positions[id2];
+        byte[] slab1 = slabs[(int) (position1 >>> SLAB_SHIFT)];
+        byte[] slab2 = slabs[(int) (position2 >>> SLAB_SHIFT)];
+        int length1 = readLength(slab1, (int) position1);
+        int length2 = readLength(slab2, (int) position2);
+        int offset1 = (int) position1 + lengthPrefixSize(length1);
+        int offset2 = (int) position2 + lengthPrefixSize(length2);
+        return Arrays.compareUnsigned(slab1, offset1, offset1 + length1, slab2, offset2, offset2 + length2);
+    }
+
+    /**
+     * Finds the most frequent words, and alphabetically per frequency, creating views for those words only.
+     *
+     * @param n integer containing the number of words to return, at most the size of the table.
+     * @return a new {@link List<WordFrequency>} containing the {@param n} most frequent words, in order.
+     */
+    public List<WordFrequency> getMostFrequent(int n) {
+        return toList(TopWordSelector.select(size, this::compareMostFrequentFirst, n));
+    }
+
+    /**
+     * @return a new array with the ids of all words, sorted by {@link TopWordSelector#MOST_FREQUENT_FIRST}.
+     */
+    public int[] getSortedIds() {
+        int[] ids = new int[size];
+        for (int id = 0; id < size; id++) {
+            ids[id] = id;
+        }
+        TopWordSelector.sort(ids, this::compareMostFrequentFirst);
+        return ids;
+    }
+
+    /**
+     * Estimates the number of bytes held by the table: its index, its per-word arrays and its slabs.
+     *
+     * @return the estimated memory usage in bytes.
+     */
+    public long getEstimatedMemoryUsage() {
+        return 6L * ARRAY_OVERHEAD + (long) index.length * Integer.BYTES
+                + (long) frequencies.length * (Integer.BYTES + Integer.BYTES + Long.BYTES)
+                + (long) slabs.length * REFERENCE_SIZE + (long) slabCount * ARRAY_OVERHEAD + slabBytes
+                + encodeBuffer.length;
+    }
+
+    /**
+     * @return a new, unordered {@link List<WordFrequency>} with a view per different word.
+     */
+    public List<WordFrequency> toList() {
+        List<WordFrequency> wordFrequencyList = new ArrayList<>(size);
+        for (int id = 0; id < size; id++) {
+            wordFrequencyList.add(getWordFrequency(id));
+        }
+        return wordFrequencyList;
+    }
+
+    /**
+     * @return a new {@link List<WordFrequency>} with a view per given id, in the order of the ids.
+     */
+    public List<WordFrequency> toList(int[] ids) {
+        List<WordFrequency> wordFrequencyList = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            wordFrequencyList.add(getWordFrequency(id));
+        }
+        return wordFrequencyList;
+    }
+
+    /**
+     * Adds occurrences of a word, given as UTF-8 bytes, interning the bytes if the word is new.
+     *
+     * @return the id of the word.
+     */
+    private int add(byte[] bytes, int offset, int length, int hash, int frequency) {
+        int slot = findSlot(bytes, offset, length, hash);
+        int id = index[slot] - 1;
+        if (id >= 0) {
+            // Raise the frequency.
+            frequencies[id] += frequency;
+            return id;
+        }
+        // Insert a new entry.
+        id = size;
+        if (id == frequencies.length) {
+            frequencies = Arrays.copyOf(frequencies, id * 2);
+            hashes = Arrays.copyOf(hashes, id * 2);
+            positions = Arrays.copyOf(positions, id * 2);
+        }
+        frequencies[id] = frequency;
+        hashes[id] = hash;
+        positions[id] = intern(bytes, offset, length);
+        index[slot] = id + 1;
+        size++;
+        // Keep the load factor at most 1/2, so probe sequences stay short.
+        if (size * 2 > index.length) {
+            resize();
+        }
+        return id;
+    }
+
+    /**
+     * @return the slot holding the word, or the empty slot where it should be inserted.
+     */
+    private int findSlot(byte[] bytes, int offset, int length, int hash) {
+        int mask = index.length - 1;
+        int slot = WordHash.spread(hash) & mask;
+        int entry;
+        while ((entry = index[slot]) != 0) {
+            int id = entry - 1;
+            if (hashes[id] == hash && contentEquals(id, bytes, offset, length)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean contentEquals(int id, byte[] bytes, int offset, int length) {
+        long position = positions[id];
+        byte[] slab = slabs[(int) (position >>> SLAB_SHIFT)];
+        int slabOffset = (int) position;
+        if (readLength(slab, slabOffset) != length) {
+            return false;
+        }
+        slabOffset += lengthPrefixSize(length);
+        return Arrays.equals(slab, slabOffset, slabOffset + length, bytes, offset, offset + length);
+    }
+
+    private void resize() {
+        index = new int[index.length * 2];
+        int mask = index.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = WordHash.spread(hashes[id]) & mask;
+            while (index[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = id + 1;
+        }
+    }
+
+    /**
+     * Copies a word, prefixed by its length, to the last slab, or to a new slab if it does not fit.
+     *
+     * @return the position of the word.
+     */
+    private long intern(byte[] bytes, int offset, int length) {
+        int prefixSize = lengthPrefixSize(length);
+        int required = prefixSize + length;
+        if (slabCount == 0 || slabOffset + required > slabs[slabCount - 1].length) {
+            // Slabs double in size up to a maximum, so small tables stay small; a longer word gets a slab of its own.
+            int slabSize = slabCount == 0 ? INITIAL_SLAB_SIZE : Math.min(MAX_SLAB_SIZE, slabs[slabCount - 1].length * 2);
+            if (slabCount == slabs.length) {
+                slabs = Arrays.copyOf(slabs, slabCount * 2);
+            }
+            slabs[slabCount++] = new byte[Math.max(slabSize, required)];
+            slabBytes += Math.max(slabSize, required);
+            slabOffset = 0;
+        }
+        byte[] slab = slabs[slabCount - 1];
+        long position = (long) (slabCount - 1) << SLAB_SHIFT | slabOffset;
+        if (prefixSize == 1) {
+            slab[slabOffset] = (byte) length;
+        } else {
+            // Lengths of 128 and up: a marked high byte, followed by three bytes.
+            slab[slabOffset] = (byte) (0x80 | length >>> 24);
+            slab[slabOffset + 1] = (byte) (length >>> 16);
+            slab[slabOffset + 2] = (byte) (length >>> 8);
+            slab[slabOffset + 3] = (byte) length;
+        }
+        System.arraycopy(bytes, offset, slab, slabOffset + prefixSize, length);
+        slabOffset += required;
+        return position;
+    }
+
+    private static int lengthPrefixSize(int length) {
+        return length < 0x80 ? 1 : 4;
+    }
+
+    private static int readLength(byte[] slab, int offset) {
+        int length = slab[offset] & 0xFF;
+        return length < 0x80 ? length : readLongLength(slab, offset);
+    }
+
+    private static int readLongLength(byte[] slab, int offset) {
+        return (slab[offset] & 0x7F) << 24 | (slab[offset + 1] & 0xFF) << 16 | (slab[offset + 2] & 0xFF) << 8
+                | slab[offset + 3] & 0xFF;
+    }
+
+    /**
+     * Encodes characters as UTF-8 into the encode buffer, directly for ASCII.
+     *
+     * @return the number of bytes.
+     */
+    private int encode(char[] buffer, int offset, int length) {
+        if (encodeBuffer.length < length) {
+            encodeBuffer = new byte[Math.max(length, encodeBuffer.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            char c = buffer[offset + i];
+            if (c >= 0x80) {
+                byte[] bytes = new String(buffer, offset, length).getBytes(StandardCharsets.UTF_8);
+                if (encodeBuffer.length < bytes.length) {
+                    encodeBuffer = new byte[bytes.length];
+                }
+                System.arraycopy(bytes, 0, encodeBuffer, 0, bytes.length);
+                return bytes.length;
+            }
+            encodeBuffer[i] = (byte) c;
+        }
+        return length;
+    }
+}
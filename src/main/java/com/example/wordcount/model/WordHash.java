@@ -0,0 +1,62 @@
+package com.example.wordcount.model;
+
+/**
+ * Hash functions over the characters of a word, for words handed over as a view on a buffer.
+ */
+public class WordHash {
+
+    private WordHash() {
+    }
+
+    /**
+     * Hashes the characters the same way {@link String#hashCode()} does, so lookups by String and by buffer agree.
+     */
+    public static int hash(char[] buffer, int offset, int length) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + buffer[i];
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes (UTF-8 encoded) bytes the way {@link #hash(char[], int, int)} hashes characters, so both agree for ASCII.
+     */
+    public static int hash(byte[] buffer, int offset, int length) {
+        int hash = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = 31 * hash + (buffer[i] & 0xFF);
+        }
+        return hash;
+    }
+
+    /**
+     * Hashes the characters with 32 bit FNV-1a, independently of {@link #hash(char[], int, int)}.
+     */
+    public static int secondHash(char[] buffer, int offset, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            hash = (hash ^ buffer[i]) * 0x01000193;
+        }
+        return hash;
+    }
+
+    /**
+     * Spreads the higher bits of a hash to the lower bits, which are used to index power of two sized tables.
+     */
+    public static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Mixes all bits of a hash thoroughly (the MurmurHash3 finalizer).
+     */
+    public static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
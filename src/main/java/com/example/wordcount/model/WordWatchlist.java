@@ -0,0 +1,145 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A set of words to find the frequencies for, precompiled into a trie, so a text can be scanned once counting only
+ * those words instead of its whole vocabulary.
+ * <p>
+ * Every node of the trie has a slot per letter a-z, holding the node the letter leads to. A word of the text is matched
+ * letter by letter, and dropped at the first letter that no word of the watchlist continues with: a word costs at most
+ * one array lookup per letter, and nothing is allocated for it, whether it matches or not.
+ */
+public class WordWatchlist {
+
+    private static final int ALPHABET_SIZE = 26;
+    private static final int INITIAL_NUMBER_OF_NODES = 64;
+
+    private final List<String> words;
+    private int[] children = new int[INITIAL_NUMBER_OF_NODES * ALPHABET_SIZE]; // Per node and letter, the next node, or 0 (the root) for none.
+    private int[] wordIndexes = new int[INITIAL_NUMBER_OF_NODES]; // Per node, the index of the word ending at it plus one, or 0 for none.
+    private int numberOfNodes = 1;
+
+    /**
+     * @param words Collection of Strings containing the words to find the frequencies for. Every word is normalized and
+     *              validated as by {@link ArgumentValidator#normalizeAndValidateWord(String)}, and duplicates are
+     *              dropped.
+     * @throws IllegalArgumentException if there are no words, or a word cannot be validated.
+     */
+    public WordWatchlist(Collection<String> words) {
+        ArgumentValidator.validateWatchlistContainsWords(words.size());
+        List<String> distinctWords = new ArrayList<>(words.size());
+        for (String word : words) {
+            word = ArgumentValidator.normalizeAndValidateWord(word);
+            int node = 0;
+            for (int i = 0; i < word.length(); i++) {
+                int slot = node * ALPHABET_SIZE + (word.charAt(i) - 'a');
+                if (children[slot] == 0) {
+                    // Add the node before storing it, as adding may replace the array.
+                    int child = addNode();
+                    children[slot] = child;
+                }
+                node = children[slot];
+            }
+            if (wordIndexes[node] == 0) {
+                distinctWords.add(word);
+                wordIndexes[node] = distinctWords.size();
+            }
+        }
+        this.words = List.copyOf(distinctWords);
+    }
+
+    /**
+     * @return the normalized words of the watchlist, without duplicates, in the order given.
+     */
+    public List<String> getWords() {
+        return words;
+    }
+
+    public int size() {
+        return words.size();
+    }
+
+    /**
+     * Looks up a lowercase word.
+     *
+     * @param buffer char array containing the word.
+     * @param offset index of the first character of the word.
+     * @param length number of characters of the word.
+     * @return the index of the word within {@link #getWords()}, or -1 if it is not on the watchlist.
+     */
+    public int indexOf(char[] buffer, int offset, int length) {
+        int node = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int letter = buffer[i] - 'a';
+            if (letter < 0 || letter >= ALPHABET_SIZE) {
+                return -1;
+            }
+            node = children[node * ALPHABET_SIZE + letter];
+            if (node == 0) {
+                return -1;
+            }
+        }
+        return wordIndexes[node] - 1;
+    }
+
+    /**
+     * @return a new {@link Counter}, to hand the words of a text to.
+     */
+    public Counter newCounter() {
+        return new Counter();
+    }
+
+    private int addNode() {
+        if (numberOfNodes == wordIndexes.length) {
+            children = Arrays.copyOf(children, children.length * 2);
+            wordIndexes = Arrays.copyOf(wordIndexes, wordIndexes.length * 2);
+        }
+        return numberOfNodes++;
+    }
+
+    /**
+     * Counts the words of the watchlist within a text handed over word by word, and the number of words of the text.
+     */
+    public class Counter implements WordConsumer {
+
+        private final int[] frequencies = new int[words.size()];
+        private long numberOfWords;
+
+        private Counter() {
+        }
+
+        @Override
+        public void accept(char[] buffer, int offset, int length) {
+            numberOfWords++;
+            int index = indexOf(buffer, offset, length);
+            if (index >= 0) {
+                frequencies[index]++;
+            }
+        }
+
+        /**
+         * @return the number of words handed over, whether on the watchlist or not.
+         */
+        public long getNumberOfWords() {
+            return numberOfWords;
+        }
+
+        /**
+         * @return a {@link List<WordFrequency>} containing the frequency of every word of the watchlist, in the order
+         * of {@link #getWords()}.
+         */
+        public List<WordFrequency> getWordFrequencies() {
+            List<WordFrequency> wordFrequencies = new ArrayList<>(words.size());
+            for (int i = 0; i < frequencies.length; i++) {
+                wordFrequencies.add(new Word(words.get(i), frequencies[i]));
+            }
+            return wordFrequencies;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.wordcount.reactive;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.cache.FrequencySnapshotCache;
+import com.example.wordcount.model.FrequencyCounter;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import com.example.wordcount.tokenizer.WordScanner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Function;
+
+/**
+ * Non-blocking variant of the three operations of
+ * {@link com.example.wordcount.controller.WordFrequencyCalculatorController}, served on a small number of event loop
+ * threads instead of a thread per request.
+ * <p>
+ * A POST body is counted chunk by chunk on the parallel scheduler while it arrives. Only a few chunks are requested
+ * ahead, so a slow consumer slows down the sender (backpressure) instead of buffering the body. A GET text is counted
+ * through the {@link FrequencySnapshotCache}, which may wait for a concurrent count, on the bounded elastic scheduler.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WordFrequencyHandler {
+
+    private static final int PREFETCH = 4; // Chunks of the body requested ahead of the count.
+
+    private final FrequencySnapshotCache frequencySnapshotCache;
+    private final WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory;
+
+    public WordFrequencyHandler(FrequencySnapshotCache frequencySnapshotCache, WordFrequencyAnalyzerFactory wordFrequencyAnalyzerFactory) {
+        this.frequencySnapshotCache = frequencySnapshotCache;
+        this.wordFrequencyAnalyzerFactory = wordFrequencyAnalyzerFactory;
+    }
+
+    // The GET variants take the text from the path, and answer from its cached snapshot.
+
+    public Mono<ServerResponse> calculateHighest(ServerRequest request) {
+        return respond(getFrequencySnapshot(request), FrequencySnapshot::getHighestFrequency);
+    }
+
+    public Mono<ServerResponse> calculateWord(ServerRequest request) {
+        String word = request.pathVariable("word");
+        return respond(getFrequencySnapshot(request), frequencySnapshot -> frequencySnapshot.getFrequencyForWord(word));
+    }
+
+    public Mono<ServerResponse> calculateHeadN(ServerRequest request) {
+        return respond(getFrequencySnapshot(request),
+                frequencySnapshot -> frequencySnapshot.getMostFrequentNWords(Integer.parseInt(request.pathVariable("n"))));
+    }
+
+    // The POST variants count the (ASCII or UTF-8 encoded) text in the request body.
+
+    public Mono<ServerResponse> calculateHighestInBody(ServerRequest request) {
+        return respond(countBody(request), FrequencySnapshot::getHighestFrequency);
+    }
+
+    public Mono<ServerResponse> calculateWordInBody(ServerRequest request) {
+        String word = request.pathVariable("word");
+        return respond(countBody(request), frequencySnapshot -> frequencySnapshot.getFrequencyForWord(word));
+    }
+
+    public Mono<ServerResponse> calculateHeadNInBody(ServerRequest request) {
+        return respond(countBody(request),
+                frequencySnapshot -> frequencySnapshot.getMostFrequentNWords(Integer.parseInt(request.pathVariable("n"))));
+    }
+
+    private Mono<FrequencySnapshot> getFrequencySnapshot(ServerRequest request) {
+        return Mono.fromCallable(() -> {
+            String engine = getEngine(request);
+            WordFrequencyAnalyzer wordFrequencyAnalyzer = wordFrequencyAnalyzerFactory.get(engine);
+            return frequencySnapshotCache.get(engine, request.pathVariable("text"), wordFrequencyAnalyzer::analyze);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<FrequencySnapshot> countBody(ServerRequest request) {
+        return Mono.fromCallable(() -> wordFrequencyAnalyzerFactory.get(getEngine(request)))
+                .flatMap(wordFrequencyAnalyzer -> request.bodyToFlux(DataBuffer.class)
+                        .publishOn(Schedulers.parallel(), PREFETCH)
+                        .reduceWith(() -> new BodyCount(wordFrequencyAnalyzer.newCounter()), BodyCount::scan)
+                        .map(BodyCount::toSnapshot))
+                // Release the chunks that were requested, but not counted, e.g. after a failure.
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static <T> Mono<ServerResponse> respond(Mono<FrequencySnapshot> frequencySnapshot, Function<FrequencySnapshot, T> question) {
+        return frequencySnapshot
+                .map(question)
+                .flatMap(answer -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(answer))
+                // Return the error message.
+                .onErrorResume(IllegalArgumentException.class, illegalArgumentException -> ServerResponse.badRequest()
+                        .contentType(MediaType.TEXT_PLAIN).bodyValue(String.valueOf(illegalArgumentException.getMessage())));
+    }
+
+    private static String getEngine(ServerRequest request) {
+        return request.queryParam("engine").orElse(WordFrequencyAnalyzerFactory.EXACT);
+    }
+
+    /**
+     * Counts a body chunk by chunk. A word crossing two chunks is kept by the scanner.
+     */
+    private static class BodyCount {
+
+        private final FrequencyCounter frequencyCounter;
+        private final WordScanner wordScanner;
+
+        BodyCount(FrequencyCounter frequencyCounter) {
+            this.frequencyCounter = frequencyCounter;
+            this.wordScanner = new WordScanner(frequencyCounter);
+        }
+
+        BodyCount scan(DataBuffer dataBuffer) {
+            try {
+                wordScanner.scan(dataBuffer.asByteBuffer());
+            } finally {
+                DataBufferUtils.release(dataBuffer);
+            }
+            return this;
+        }
+
+        FrequencySnapshot toSnapshot() {
+            // The end of the body ends a word.
+            wordScanner.finish();
+            return frequencyCounter.toSnapshot();
+        }
+    }
+}
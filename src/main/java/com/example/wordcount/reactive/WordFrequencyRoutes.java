@@ -0,0 +1,36 @@
+package com.example.wordcount.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+/**
+ * Routes of the non-blocking serving mode, on the same paths as the servlet mode. The mode is active when the
+ * application runs as a reactive web application, e.g. with the 'reactive' Spring profile, and serves on Netty.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class WordFrequencyRoutes {
+
+    // Boot prefers Tomcat for a reactive application as well, as long as the servlet starter is on the classpath.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> wordFrequencyRouterFunction(WordFrequencyHandler wordFrequencyHandler) {
+        return RouterFunctions.route()
+                .GET("/calculate-highest-frequency-in-text/{text}", wordFrequencyHandler::calculateHighest)
+                .GET("/calculate-frequency-in-text-for-word/{text}/{word}", wordFrequencyHandler::calculateWord)
+                .GET("/calculate-frequency-in-text-for-most-frequent-n-words/{text}/{n}", wordFrequencyHandler::calculateHeadN)
+                .POST("/calculate-highest-frequency-in-text", wordFrequencyHandler::calculateHighestInBody)
+                .POST("/calculate-frequency-in-text-for-word/{word}", wordFrequencyHandler::calculateWordInBody)
+                .POST("/calculate-frequency-in-text-for-most-frequent-n-words/{n}", wordFrequencyHandler::calculateHeadNInBody)
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.wordcount.tokenizer;
+
+/**
+ * Default {@link Tokenizer}, scanning the text character by character with a {@link WordScanner}. Letters are
+ * lowercased while they are copied into a reusable word buffer, so no Strings are created while tokenizing.
+ */
+public class LetterTokenizer implements Tokenizer {
+
+    @Override
+    public void tokenize(CharSequence text, int start, int end, WordConsumer wordConsumer) {
+        WordScanner wordScanner = new WordScanner(wordConsumer);
+        wordScanner.scan(text, start, end);
+        // Deal with a word at the end of the text.
+        wordScanner.finish();
+    }
+
+    /**
+     * @return true if the character is within a-z or A-Z.
+     */
+    public static boolean isLetter(int character) {
+        return (character >= 'a' && character <= 'z') || (character >= 'A' && character <= 'Z');
+    }
+
+    /**
+     * Lowercases a letter within a-z or A-Z. The ASCII upper- and lowercase letters only differ in bit 0x20.
+     */
+    public static char toLowerCase(int letter) {
+        return (char) (letter | 0x20);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.wordcount.tokenizer;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reference {@link Tokenizer}, matching words with a regex. Slower than the {@link LetterTokenizer}, as every word
+ * results in new Strings, but easy to verify.
+ */
+public class RegexTokenizer implements Tokenizer {
+
+    private static final Pattern PATTERN = Pattern.compile("[a-zA-Z]*"); // A (too) basic regex to identify words with.
+
+    @Override
+    public void tokenize(CharSequence text, int start, int end, WordConsumer wordConsumer) {
+        Matcher matcher = PATTERN.matcher(text).region(start, end);
+        // Find the 'words' within a text line.
+        while (matcher.find()) {
+            // Deal with empty Strings.
+            if (matcher.group().isEmpty()) {
+                continue;
+            }
+
+            char[] word = matcher.group().toLowerCase(Locale.ROOT).toCharArray();
+            wordConsumer.accept(word, 0, word.length);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.wordcount.tokenizer;
+
+public interface Tokenizer {
+
+    /**
+     * Splits a text into words (defined by pattern a-zA-Z), and hands each word in lowercase to a consumer, in order
+     * of appearance.
+     *
+     * @param text         CharSequence containing the text to tokenize.
+     * @param wordConsumer {@link WordConsumer} to hand the words to.
+     */
+    default void tokenize(CharSequence text, WordConsumer wordConsumer) {
+        tokenize(text, 0, text.length(), wordConsumer);
+    }
+
+    /**
+     * Splits a range of a text into words, as if the range was the whole text.
+     *
+     * @param text         CharSequence containing the text to tokenize.
+     * @param start        index of the first character of the range.
+     * @param end          index after the last character of the range.
+     * @param wordConsumer {@link WordConsumer} to hand the words to.
+     */
+    void tokenize(CharSequence text, int start, int end, WordConsumer wordConsumer);
+}
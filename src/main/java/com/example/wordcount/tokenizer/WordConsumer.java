@@ -0,0 +1,14 @@
+package com.example.wordcount.tokenizer;
+
+public interface WordConsumer {
+
+    /**
+     * Accepts a single lowercase word, handed over as a view on a buffer owned by the {@link Tokenizer}.
+     * The buffer content is only valid during the call; a consumer that keeps the word has to copy it.
+     *
+     * @param buffer char array containing the word.
+     * @param offset index of the first character of the word within the {@param buffer}.
+     * @param length number of characters of the word.
+     */
+    void accept(char[] buffer, int offset, int length);
+}
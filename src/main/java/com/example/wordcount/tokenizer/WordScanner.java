@@ -0,0 +1,88 @@
+package com.example.wordcount.tokenizer;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Incremental letter scanner, splitting input that arrives in chunks into words (defined by pattern a-zA-Z). A word
+ * spanning two chunks is kept in the scanner until it ends, so chunks can be cut anywhere. Letters are lowercased while
+ * they are copied into a reusable word buffer, and each word is handed to a {@link WordConsumer} as a view on it.
+ * <p>
+ * Bytes are read as ASCII. This also holds for UTF-8 (and other ASCII compatible encodings): every byte of a multibyte
+ * character is above 0x7F, so it can never be part of an a-zA-Z word and simply divides words, exactly as the decoded
+ * character would.
+ */
+public class WordScanner {
+
+    private static final int INITIAL_WORD_CAPACITY = 32;
+
+    private final WordConsumer wordConsumer;
+    private char[] wordBuffer = new char[INITIAL_WORD_CAPACITY];
+    private int wordLength;
+
+    public WordScanner(WordConsumer wordConsumer) {
+        this.wordConsumer = wordConsumer;
+    }
+
+    /**
+     * Scans a range of characters.
+     *
+     * @param text  CharSequence containing the characters to scan.
+     * @param start index of the first character of the range.
+     * @param end   index after the last character of the range.
+     */
+    public void scan(CharSequence text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            scan(text.charAt(i));
+        }
+    }
+
+    /**
+     * Scans the remaining bytes of a buffer, without changing its position.
+     *
+     * @param buffer ByteBuffer containing ASCII or UTF-8 encoded text.
+     */
+    public void scan(ByteBuffer buffer) {
+        for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+            // Mask, so bytes above 0x7F do not turn into negative 'characters'.
+            scan(buffer.get(i) & 0xFF);
+        }
+    }
+
+    /**
+     * Scans a range of bytes.
+     *
+     * @param bytes  byte array containing ASCII or UTF-8 encoded text.
+     * @param offset index of the first byte of the range.
+     * @param length number of bytes of the range.
+     */
+    public void scan(byte[] bytes, int offset, int length) {
+        for (int i = offset, end = offset + length; i < end; i++) {
+            scan(bytes[i] & 0xFF);
+        }
+    }
+
+    /**
+     * Ends the input, handing over a word that is still in progress.
+     */
+    public void finish() {
+        if (wordLength > 0) {
+            wordConsumer.accept(wordBuffer, 0, wordLength);
+            wordLength = 0;
+        }
+    }
+
+    private void scan(int character) {
+        if (LetterTokenizer.isLetter(character)) {
+            // Grow the buffer for (very) long words.
+            if (wordLength == wordBuffer.length) {
+                wordBuffer = Arrays.copyOf(wordBuffer, wordLength * 2);
+            }
+            wordBuffer[wordLength++] = LetterTokenizer.toLowerCase(character);
+        } else if (wordLength > 0) {
+            // A non letter ends the current word.
+            wordConsumer.accept(wordBuffer, 0, wordLength);
+            wordLength = 0;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.wordcount.window;
+
+import com.example.wordcount.model.ArgumentValidator;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.Word;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencySnapshot;
+import com.example.wordcount.model.WordFrequencyTable;
+import com.example.wordcount.tokenizer.WordScanner;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Word frequencies over a window sliding along a continuous input, e.g. a live feed on standard input: over the last
+ * 'length' words, or over the last 'length' of time.
+ * <p>
+ * The window is divided into 'numberOfBuckets' buckets. Words are counted into the current bucket, a
+ * {@link WordFrequencyTable}. Once it is full (or its time is up), its frequencies are added to the totals of the
+ * closed buckets and a new bucket starts; the oldest closed bucket expires, and its frequencies are subtracted again.
+ * Each word is thus added once and subtracted once, for O(1) amortized cost per word, and memory is bounded by the
+ * words of a single window. The window covers the current bucket and the 'numberOfBuckets' - 1 buckets before it, so
+ * it spans between ('numberOfBuckets' - 1) / 'numberOfBuckets' and all of 'length'. With a single bucket, the window
+ * is tumbling: it starts empty every 'length'.
+ * <p>
+ * The counter is thread safe: one thread may feed it while others ask questions at any moment.
+ */
+public class SlidingWindowCounter {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int ENTRY_SIZE = 96; // Map entry, key String with its bytes, and Word.
+
+    private final int numberOfBuckets;
+    private final long bucketLength; // In words, or in nanoseconds of the clock.
+    private final LongSupplier clock; // Null for a window of words.
+
+    private final WordScanner wordScanner = new WordScanner(this::accept);
+    private final ArrayDeque<WordFrequencyTable> closedBuckets = new ArrayDeque<>();
+    private final Map<String, Word> closedFrequencies = new HashMap<>(); // Sums of the closed buckets.
+    private long numberOfClosedWords;
+    private WordFrequencyTable currentBucket = new WordFrequencyTable();
+    private long numberOfCurrentWords;
+    private long currentBucketStart; // Clock time the current bucket started.
+
+    /**
+     * @param length          long containing the number of words in the window.
+     * @param numberOfBuckets int containing the number of buckets the window is divided into.
+     * @return a counter over the last {@param length} words.
+     */
+    public static SlidingWindowCounter ofWords(long length, int numberOfBuckets) {
+        return new SlidingWindowCounter(length, numberOfBuckets, null);
+    }
+
+    /**
+     * @param length          Duration of the window.
+     * @param numberOfBuckets int containing the number of buckets the window is divided into.
+     * @return a counter over the words of the last {@param length} of time.
+     */
+    public static SlidingWindowCounter ofDuration(Duration length, int numberOfBuckets) {
+        return new SlidingWindowCounter(length.toNanos(), numberOfBuckets, System::nanoTime);
+    }
+
+    /**
+     * @param length          long containing the length of the window, in words, or in nanoseconds of the clock.
+     * @param numberOfBuckets int containing the number of buckets the window is divided into.
+     * @param clock           LongSupplier of the time in nanoseconds for a window of time, or null for a window of words.
+     */
+    SlidingWindowCounter(long length, int numberOfBuckets, LongSupplier clock) {
+        if (numberOfBuckets < 1 || length < numberOfBuckets) {
+            throw new IllegalArgumentException("The window length should be at least the number of buckets, which should be a non zero positive value. The values provided are '" + length + "' and '" + numberOfBuckets + "'.");
+        }
+        this.numberOfBuckets = numberOfBuckets;
+        this.bucketLength = length / numberOfBuckets;
+        this.clock = clock;
+        if (clock != null) {
+            currentBucketStart = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Feeds the counter with a stream until its end, chunk by chunk as it arrives. The stream is not closed.
+     *
+     * @param inputStream InputStream containing ASCII or UTF-8 encoded text, e.g. standard input.
+     * @throws IOException if the stream cannot be read.
+     */
+    public void read(InputStream inputStream) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int length;
+        // Block outside of the lock, so questions can be answered while waiting for input.
+        while ((length = inputStream.read(chunk)) != -1) {
+            add(chunk, 0, length);
+        }
+        finish();
+    }
+
+    /**
+     * Feeds the counter with a range of bytes. A word at the end of the range is counted once it ends.
+     *
+     * @param bytes  byte array containing ASCII or UTF-8 encoded text.
+     * @param offset index of the first byte of the range.
+     * @param length number of bytes of the range.
+     */
+    public synchronized void add(byte[] bytes, int offset, int length) {
+        advance();
+        wordScanner.scan(bytes, offset, length);
+    }
+
+    /**
+     * Feeds the counter with a text.
+     *
+     * @param text String containing the text.
+     */
+    public synchronized void add(String text) {
+        advance();
+        wordScanner.scan(text, 0, text.length());
+        wordScanner.finish();
+    }
+
+    /**
+     * Ends the input, counting a word that is still in progress.
+     */
+    public synchronized void finish() {
+        wordScanner.finish();
+    }
+
+    /**
+     * @param word String containing the word to find the frequency for. It is normalized and validated.
+     * @return the frequency of the {@param word} within the window.
+     */
+    public synchronized int getFrequencyForWord(String word) {
+        advance();
+        word = ArgumentValidator.normalizeAndValidateWord(word);
+        Word closed = closedFrequencies.get(word);
+        return (closed != null ? closed.getFrequency() : 0) + currentBucket.getFrequency(word);
+    }
+
+    /**
+     * @param n integer containing the number of words to return.
+     * @return a new {@link List<WordFrequency>} containing the {@param n} most frequent words within the window, and
+     * alphabetically per frequency.
+     * @throws IllegalArgumentException if the window contains fewer than 'n' different words, or 'n' is invalid.
+     */
+    public List<WordFrequency> getMostFrequentNWords(int n) {
+        return toSnapshot().getMostFrequentNWords(n);
+    }
+
+    /**
+     * @return the number of words within the window.
+     */
+    public synchronized long getNumberOfWords() {
+        advance();
+        return numberOfClosedWords + numberOfCurrentWords;
+    }
+
+    /**
+     * Copies the frequencies within the window, for answering several questions about the same moment.
+     *
+     * @return a {@link FrequencySnapshot} of the window as it is now.
+     */
+    public synchronized FrequencySnapshot toSnapshot() {
+        advance();
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        for (Word word : closedFrequencies.values()) {
+            wordFrequencyTable.add(word.getWord(), word.getFrequency());
+        }
+        wordFrequencyTable.merge(currentBucket);
+        return new WordFrequencySnapshot(wordFrequencyTable);
+    }
+
+    /**
+     * @return a long containing the estimated number of bytes held by the buckets and their totals.
+     */
+    public synchronized long getEstimatedMemoryUsage() {
+        long estimatedMemoryUsage = currentBucket.getEstimatedMemoryUsage() + (long) closedFrequencies.size() * ENTRY_SIZE;
+        for (WordFrequencyTable closedBucket : closedBuckets) {
+            estimatedMemoryUsage += closedBucket.getEstimatedMemoryUsage();
+        }
+        return estimatedMemoryUsage;
+    }
+
+    private void accept(char[] buffer, int offset, int length) {
+        currentBucket.accept(buffer, offset, length);
+        // A window of words moves on with every word.
+        if (++numberOfCurrentWords == bucketLength && clock == null) {
+            closeCurrentBucket();
+        }
+    }
+
+    /**
+     * Moves a window of time on to the current time, closing the buckets whose time is up.
+     */
+    private void advance() {
+        if (clock == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        long elapsedBuckets = (now - currentBucketStart) / bucketLength;
+        if (elapsedBuckets >= numberOfBuckets) {
+            // Every bucket expired while the input was idle.
+            closedBuckets.clear();
+            closedFrequencies.clear();
+            numberOfClosedWords = 0;
+            currentBucket = new WordFrequencyTable();
+            numberOfCurrentWords = 0;
+            currentBucketStart += elapsedBuckets * bucketLength;
+            return;
+        }
+        for (long i = 0; i < elapsedBuckets; i++) {
+            closeCurrentBucket();
+            currentBucketStart += bucketLength;
+        }
+    }
+
+    private void closeCurrentBucket() {
+        if (numberOfBuckets == 1) {
+            // A tumbling window has no closed buckets.
+            currentBucket = new WordFrequencyTable();
+            numberOfCurrentWords = 0;
+            return;
+        }
+        // Add the current bucket to the totals.
+        for (int id = 0; id < currentBucket.size(); id++) {
+            int frequency = currentBucket.getFrequency(id);
+            closedFrequencies.computeIfAbsent(currentBucket.getWord(id), word -> new Word(word, 0)).add(frequency);
+        }
+        numberOfClosedWords += numberOfCurrentWords;
+        closedBuckets.addLast(currentBucket);
+        currentBucket = new WordFrequencyTable();
+        numberOfCurrentWords = 0;
+
+        // Subtract the oldest bucket once it falls out of the window, forgetting the words that leave with it.
+        if (closedBuckets.size() == numberOfBuckets) {
+            WordFrequencyTable expiredBucket = closedBuckets.removeFirst();
+            for (int id = 0; id < expiredBucket.size(); id++) {
+                String expiredWord = expiredBucket.getWord(id);
+                Word word = closedFrequencies.get(expiredWord);
+                word.add(-expiredBucket.getFrequency(id));
+                if (word.getFrequency() == 0) {
+                    closedFrequencies.remove(expiredWord);
+                }
+            }
+            numberOfClosedWords -= expiredBucket.getNumberOfWords();
+        }
+    }
+}
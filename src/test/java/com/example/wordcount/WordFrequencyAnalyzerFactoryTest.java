@@ -0,0 +1,33 @@
+package com.example.wordcount;
+
+import com.example.wordcount.model.WordFrequencyAnalyzer;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordFrequencyAnalyzerFactoryTest {
+
+    // The factory as Spring creates it, from the engine properties.
+    ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(WordFrequencyAnalyzerFactory.class);
+
+    @Test
+    void engineProperties_AreUsed() {
+        contextRunner.withPropertyValues("wordcount.approximate.capacity=5").run(context -> {
+            WordFrequencyAnalyzer approximateAnalyzer = context.getBean(WordFrequencyAnalyzerFactory.class).get(WordFrequencyAnalyzerFactory.APPROXIMATE);
+            assertEquals(5, approximateAnalyzer.calculateMostFrequentNWords("a b c d e f", 5).size());
+            IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class,
+                    () -> approximateAnalyzer.calculateMostFrequentNWords("a b c d e f", 6));
+            assertTrue(illegalArgumentException.getMessage().contains("'5'"));
+        });
+    }
+
+    @Test
+    void engineProperties_Defaults() {
+        contextRunner.run(context -> {
+            WordFrequencyAnalyzer approximateAnalyzer = context.getBean(WordFrequencyAnalyzerFactory.class).get(WordFrequencyAnalyzerFactory.APPROXIMATE);
+            assertEquals(6, approximateAnalyzer.calculateMostFrequentNWords("a b c d e f", 6).size());
+        });
+    }
+}
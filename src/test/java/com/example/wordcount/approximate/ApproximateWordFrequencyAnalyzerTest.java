@@ -0,0 +1,108 @@
+package com.example.wordcount.approximate;
+
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApproximateWordFrequencyAnalyzerTest {
+
+    WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+
+    @Test
+    void analyze_ExactWhileBelowCapacity() {
+        ApproximateWordFrequencyAnalyzer approximateAnalyzer = new ApproximateWordFrequencyAnalyzer(1024, 4, 100);
+        String text = "w zz zz zz d x d a a c y c b b The THe THE tHE thE the tHe an An AN aN a";
+        assertEquals(wordFrequencyCalculator.calculateHighestFrequency(text), approximateAnalyzer.calculateHighestFrequency(text));
+        assertEquals(wordFrequencyCalculator.calculateFrequencyForWord(text, "an"), approximateAnalyzer.calculateFrequencyForWord(text, "an"));
+        assertEquals(0, approximateAnalyzer.calculateFrequencyForWord(text, "bla"));
+        assertEquals(format(wordFrequencyCalculator.calculateMostFrequentNWords(text, 10)), format(approximateAnalyzer.calculateMostFrequentNWords(text, 10)));
+    }
+
+    @Test
+    void analyze_WithinErrorBoundsOfExactEngine() {
+        // A Zipfian text with far more different words than monitored.
+        String text = generateZipfianText(new Random(11), 200_000, 20_000);
+        ApproximateWordFrequencyAnalyzer approximateAnalyzer = new ApproximateWordFrequencyAnalyzer(4096, 5, 200);
+        ApproximateFrequencySnapshot approximateSnapshot = approximateAnalyzer.analyze(text);
+        FrequencySnapshot exactSnapshot = wordFrequencyCalculator.analyze(text);
+        long totalCount = approximateSnapshot.getTotalCount();
+
+        // Space-Saving: the top words are found, their counts overestimate by at most N / capacity.
+        List<WordFrequency> exactTop = exactSnapshot.getMostFrequentNWords(20);
+        List<WordFrequency> approximateTop = approximateSnapshot.getMostFrequentNWords(20);
+        for (int i = 0; i < exactTop.size(); i++) {
+            assertEquals(exactTop.get(i).getWord(), approximateTop.get(i).getWord());
+            assertTrue(approximateTop.get(i).getFrequency() >= exactTop.get(i).getFrequency());
+            assertTrue(approximateTop.get(i).getFrequency() - exactTop.get(i).getFrequency() <= totalCount / 200);
+        }
+        assertEquals(exactSnapshot.getHighestFrequency(), approximateSnapshot.getHighestFrequency(), totalCount / 200.0);
+
+        // Count-Min Sketch: never underestimates, and rarely exceeds the error bound (e / width) * N.
+        double errorBound = Math.E / 4096 * totalCount;
+        int exceeded = 0;
+        for (int rank = 0; rank < 1000; rank++) {
+            String word = word(rank);
+            int exactFrequency = exactSnapshot.getFrequencyForWord(word);
+            int approximateFrequency = approximateSnapshot.getFrequencyForWord(word);
+            assertTrue(approximateFrequency >= exactFrequency);
+            if (approximateFrequency - exactFrequency > errorBound) {
+                exceeded++;
+            }
+        }
+        // At most e^-5 (< 1%) of the lookups are expected to exceed the bound.
+        assertTrue(exceeded < 20, "Exceeded the error bound " + exceeded + " times.");
+    }
+
+    @Test
+    void calculateMostFrequentNWords_NAboveCapacity() {
+        ApproximateWordFrequencyAnalyzer approximateAnalyzer = new ApproximateWordFrequencyAnalyzer(1024, 4, 2);
+        assertThrows(IllegalArgumentException.class, () -> approximateAnalyzer.calculateMostFrequentNWords("a b c", 3));
+    }
+
+    @Test
+    void analyzeNGrams_NotSupported() {
+        assertThrows(IllegalArgumentException.class, () -> new ApproximateWordFrequencyAnalyzer().analyzeNGrams("one two three", 2));
+    }
+
+    @Test
+    void analyze_EmptyText() {
+        assertThrows(IllegalArgumentException.class, () -> new ApproximateWordFrequencyAnalyzer().calculateHighestFrequency("$%^"));
+    }
+
+    private String generateZipfianText(Random random, int numberOfWords, int vocabularySize) {
+        double[] cumulative = new double[vocabularySize];
+        double sum = 0;
+        for (int rank = 0; rank < vocabularySize; rank++) {
+            sum += 1.0 / (rank + 1);
+            cumulative[rank] = sum;
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < numberOfWords; i++) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            text.append(word(Math.min(rank < 0 ? -rank - 1 : rank, vocabularySize - 1))).append(' ');
+        }
+        return text.toString();
+    }
+
+    private String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        do {
+            word.append((char) ('a' + rank % 26));
+            rank /= 26;
+        } while (rank > 0);
+        return word.toString();
+    }
+
+    private String format(List<WordFrequency> wordFrequencies) {
+        StringBuilder formatted = new StringBuilder();
+        wordFrequencies.forEach(wordFrequency -> formatted.append(wordFrequency.getWord()).append('=').append(wordFrequency.getFrequency()).append(' '));
+        return formatted.toString();
+    }
+}
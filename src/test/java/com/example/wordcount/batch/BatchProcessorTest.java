@@ -0,0 +1,68 @@
+package com.example.wordcount.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchProcessorTest {
+
+    @Test
+    void process_ResultsInDocumentOrder() throws IOException {
+        StringBuilder batch = new StringBuilder("[");
+        for (int i = 0; i < 500; i++) {
+            batch.append(i > 0 ? "," : "").append('"').append("x".repeat(i % 7)).append('"');
+        }
+        batch.append(']');
+        List<DocumentResult<Integer>> documentResults = new ArrayList<>();
+        BatchSummary batchSummary = new BatchProcessor(3).process(DocumentReader.ofJsonArray(inputStream(batch.toString())),
+                text -> {
+                    if (text.isEmpty()) {
+                        throw new IllegalArgumentException("empty");
+                    }
+                    return text.length();
+                },
+                documentResults::add);
+        assertEquals(500, batchSummary.getNumberOfDocuments());
+        assertEquals(72, batchSummary.getNumberOfFailedDocuments());
+        for (int i = 0; i < 500; i++) {
+            DocumentResult<Integer> documentResult = documentResults.get(i);
+            assertEquals(i, documentResult.getIndex());
+            if (i % 7 == 0) {
+                assertEquals("empty", documentResult.getError());
+            } else {
+                assertEquals(i % 7, documentResult.getResult());
+            }
+        }
+    }
+
+    @Test
+    void close_RejectsNewBatches() {
+        BatchProcessor batchProcessor = new BatchProcessor(1);
+        batchProcessor.close();
+        assertThrows(IllegalStateException.class, () -> batchProcessor.process(DocumentReader.ofJsonArray(inputStream("[\"a\"]")),
+                String::length, documentResult -> fail("No document should be processed.")));
+    }
+
+    @Test
+    void ofNdjson_StringsAndObjects() throws IOException {
+        DocumentReader documentReader = DocumentReader.ofNdjson(inputStream("\"a b\"\n\n{\"id\": 7, \"text\": \"c\"}\n"));
+        assertEquals("a b", documentReader.next());
+        assertEquals("c", documentReader.next());
+        assertNull(documentReader.next());
+    }
+
+    @Test
+    void ofJsonArray_NotAnArray() {
+        assertThrows(IllegalArgumentException.class, () -> DocumentReader.ofJsonArray(inputStream("{\"text\": \"a\"}")));
+    }
+
+    private static ByteArrayInputStream inputStream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.wordcount.cache;
+
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencySnapshotCacheTest {
+
+    WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+
+    @Test
+    void get_CountsOncePerText() {
+        FrequencySnapshotCache frequencySnapshotCache = new FrequencySnapshotCache(1 << 20);
+        AtomicInteger counts = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            FrequencySnapshot frequencySnapshot = frequencySnapshotCache.get("exact", "a b b", text -> {
+                counts.incrementAndGet();
+                return wordFrequencyCalculator.analyze(text);
+            });
+            assertEquals(2, frequencySnapshot.getHighestFrequency());
+        }
+        assertEquals(1, counts.get());
+        CacheStatistics cacheStatistics = frequencySnapshotCache.getStatistics();
+        assertEquals(2, cacheStatistics.getHitCount());
+        assertEquals(1, cacheStatistics.getMissCount());
+    }
+
+    @Test
+    void get_EvictsLeastRecentlyUsed() {
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyze("a");
+        // Room for two entries only.
+        FrequencySnapshotCache frequencySnapshotCache = new FrequencySnapshotCache(2 * (frequencySnapshot.getEstimatedMemoryUsage() + 128) + 1);
+        frequencySnapshotCache.get("exact", "a", wordFrequencyCalculator::analyze);
+        frequencySnapshotCache.get("exact", "b", wordFrequencyCalculator::analyze);
+        frequencySnapshotCache.get("exact", "a", wordFrequencyCalculator::analyze);
+        frequencySnapshotCache.get("exact", "c", wordFrequencyCalculator::analyze);
+        assertEquals(1, frequencySnapshotCache.getStatistics().getEvictionCount());
+        assertEquals(2, frequencySnapshotCache.getStatistics().getEntryCount());
+
+        // 'b' was least recently used, so 'a' is still cached.
+        frequencySnapshotCache.get("exact", "a", wordFrequencyCalculator::analyze);
+        assertEquals(2, frequencySnapshotCache.getStatistics().getHitCount());
+    }
+
+    @Test
+    void get_FailedCountIsNotCached() {
+        FrequencySnapshotCache frequencySnapshotCache = new FrequencySnapshotCache(1 << 20);
+        assertThrows(IllegalArgumentException.class, () -> frequencySnapshotCache.get("exact", "123", wordFrequencyCalculator::analyze));
+        assertEquals(0, frequencySnapshotCache.getStatistics().getEntryCount());
+    }
+
+    @Test
+    void get_ConcurrentRequestsShareCount() throws Exception {
+        FrequencySnapshotCache frequencySnapshotCache = new FrequencySnapshotCache(1 << 20);
+        AtomicInteger counts = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<FrequencySnapshot>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executorService.submit(() -> frequencySnapshotCache.get("exact", "a b b", text -> {
+                    counts.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException interruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return wordFrequencyCalculator.analyze(text);
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<FrequencySnapshot> future : futures) {
+                assertEquals(2, future.get().getHighestFrequency());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertEquals(1, counts.get());
+    }
+}
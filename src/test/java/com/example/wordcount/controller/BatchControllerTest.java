@@ -0,0 +1,48 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.batch.BatchProcessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class BatchControllerTest {
+
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new BatchController(new WordFrequencyAnalyzerFactory(), new BatchProcessor(2), new ObjectMapper())).build();
+
+    @Test
+    void analyzeBatch_Json() throws Exception {
+        String[] lines = mockMvc.perform(post("/analyze-batch").param("word", "a").param("n", "1")
+                .contentType(MediaType.APPLICATION_JSON).content("[\"a b a\", \"\", {\"text\": \"c\"}]"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[0].startsWith("{\"index\":0,\"result\":{\"numberOfDifferentWords\":2,\"highestFrequency\":2,\"word\":\"a\",\"frequencyForWord\":2,"), lines[0]);
+        assertTrue(lines[1].startsWith("{\"index\":1,\"error\":"), lines[1]);
+        assertTrue(lines[2].contains("\"mostFrequentNWords\":[{\"word\":\"c\",\"frequency\":1}]"), lines[2]);
+        assertTrue(lines[3].startsWith("{\"numberOfDocuments\":3,\"numberOfFailedDocuments\":1,"), lines[3]);
+    }
+
+    @Test
+    void analyzeBatch_Ndjson() throws Exception {
+        String[] lines = mockMvc.perform(post("/analyze-batch")
+                .contentType(BatchController.APPLICATION_NDJSON_VALUE).content("\"x y y\"\n\"z\"\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("{\"index\":1,\"result\":{\"numberOfDifferentWords\":1,"), lines[1]);
+    }
+
+    @Test
+    void analyzeBatch_InvalidWord() throws Exception {
+        mockMvc.perform(post("/analyze-batch").param("word", "a b")
+                .contentType(MediaType.APPLICATION_JSON).content("[\"a\"]"))
+                .andExpect(status().isBadRequest());
+    }
+}
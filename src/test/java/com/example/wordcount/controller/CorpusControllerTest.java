@@ -0,0 +1,49 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.corpus.CorpusRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CorpusControllerTest {
+
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new CorpusController(new CorpusRegistry(), RequestBodyDecompression.DISABLED)).build();
+
+    @Test
+    void lifecycle() throws Exception {
+        mockMvc.perform(put("/corpora/{name}", "news"))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/corpora/{name}/text", "news").content("w zz zz d"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("4"));
+        mockMvc.perform(post("/corpora/{name}/text", "news").content("zz x d a a"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("5"));
+        mockMvc.perform(get("/corpora/{name}/highest-frequency", "news"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+        mockMvc.perform(get("/corpora/{name}/frequency-for-word/{word}", "news", "D"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+        mockMvc.perform(get("/corpora/{name}/most-frequent-n-words/{n}", "news", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].word").value("zz"))
+                .andExpect(jsonPath("$[1].word").value("a"));
+        mockMvc.perform(get("/corpora"))
+                .andExpect(jsonPath("$[0]").value("news"));
+        mockMvc.perform(delete("/corpora/{name}", "news"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/corpora/{name}/highest-frequency", "news"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void create_Twice() throws Exception {
+        mockMvc.perform(put("/corpora/{name}", "news"));
+        mockMvc.perform(put("/corpora/{name}", "news"))
+                .andExpect(status().isBadRequest());
+    }
+}
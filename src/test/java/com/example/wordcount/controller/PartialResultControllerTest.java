@@ -0,0 +1,97 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class PartialResultControllerTest {
+
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PartialResultController(new WordFrequencyAnalyzerFactory(), RequestBodyDecompression.DISABLED)).build();
+
+    @Test
+    void mergePartialsHeadN() throws Exception {
+        byte[] partial1 = exportPartial("w zz zz d");
+        byte[] partial2 = exportPartial("zz x d a a");
+        mockMvc.perform(multipart("/merge-partials/most-frequent-n-words/{n}", 2)
+                .file(new MockMultipartFile("partial", "1.idx", null, partial1))
+                .file(new MockMultipartFile("partial", "2.idx", null, partial2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].word").value("zz"))
+                .andExpect(jsonPath("$[0].frequency").value(3))
+                .andExpect(jsonPath("$[1].word").value("a"));
+    }
+
+    @Test
+    void mergePartials_NotAPartial() throws Exception {
+        mockMvc.perform(multipart("/merge-partials")
+                .file(new MockMultipartFile("partial", "text.txt", null, "just some text".getBytes())))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void mergePartials_CorruptPartial() throws Exception {
+        byte[] partial = exportPartial("a b b");
+        int footer = partial.length - 48;
+        long topWordsPosition = ByteBuffer.wrap(partial).getLong(footer + 32);
+        // A top K beyond the number of words, or negative, top words outside the index, and a word longer than the index.
+        for (byte[] corruptPartial : List.of(patchInt(partial, footer + 40, Integer.MAX_VALUE), patchInt(partial, footer + 40, -1),
+                patchLong(partial, footer + 32, partial.length), patchLong(partial, footer + 24, -8),
+                patchByte(partial, (int) topWordsPosition, 0x7F), patchByte(partial, 9, 0x7F))) {
+            mockMvc.perform(multipart("/merge-partials")
+                    .file(new MockMultipartFile("partial", "1.idx", null, corruptPartial)))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().string(startsWith("The partial '1.idx' cannot be read. The frequency index")));
+        }
+    }
+
+    @Test
+    void negativeTopK() throws Exception {
+        mockMvc.perform(post("/partial-text").param("topK", "-1").content("a b"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The number 'topK' should be zero or a positive value. The value provided is '-1'."));
+        mockMvc.perform(multipart("/merge-partials")
+                .file(new MockMultipartFile("partial", "1.idx", null, exportPartial("a b"))).param("topK", "-1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("The number 'topK' should be zero or a positive value. The value provided is '-1'."));
+    }
+
+    @Test
+    void exportPartial_ApproximateEngine() throws Exception {
+        mockMvc.perform(post("/partial-text").param("engine", WordFrequencyAnalyzerFactory.APPROXIMATE).content("a b"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] patchByte(byte[] partial, int position, int value) {
+        byte[] patched = partial.clone();
+        patched[position] = (byte) value;
+        return patched;
+    }
+
+    private static byte[] patchInt(byte[] partial, int position, int value) {
+        byte[] patched = partial.clone();
+        ByteBuffer.wrap(patched).putInt(position, value);
+        return patched;
+    }
+
+    private static byte[] patchLong(byte[] partial, int position, long value) {
+        byte[] patched = partial.clone();
+        ByteBuffer.wrap(patched).putLong(position, value);
+        return patched;
+    }
+
+    private byte[] exportPartial(String text) throws Exception {
+        return mockMvc.perform(post("/partial-text").content(text))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.wordcount.controller;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.cache.FrequencySnapshotCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class WordFrequencyCalculatorControllerTest {
+
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new WordFrequencyCalculatorController(new FrequencySnapshotCache(1 << 20), new WordFrequencyAnalyzerFactory(),
+            RequestBodyDecompression.DISABLED)).build();
+
+    @Test
+    void calculateHighest() throws Exception {
+        mockMvc.perform(get("/calculate-highest-frequency-in-text/{text}", "a b The THE the"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    void calculateHighest_Post() throws Exception {
+        mockMvc.perform(post("/calculate-highest-frequency-in-text").content("a b The THE the"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    void calculateWord_Post() throws Exception {
+        mockMvc.perform(post("/calculate-frequency-in-text-for-word/{word}", "An").content("an An AN a"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+    }
+
+    @Test
+    void calculateHeadN_Post() throws Exception {
+        mockMvc.perform(post("/calculate-frequency-in-text-for-most-frequent-n-words/{n}", 2).content("w zz zz zz d x d a a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].word").value("zz"))
+                .andExpect(jsonPath("$[0].frequency").value(3))
+                .andExpect(jsonPath("$[1].word").value("a"));
+    }
+
+    @Test
+    void calculateHighest_PostEmptyBody() throws Exception {
+        mockMvc.perform(post("/calculate-highest-frequency-in-text").content(""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void calculateHeadN_NGrams() throws Exception {
+        mockMvc.perform(get("/calculate-frequency-in-text-for-most-frequent-n-words/{text}/{n}", "the quick fox, the quick dog", 1).param("ngram", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].word").value("the quick"))
+                .andExpect(jsonPath("$[0].frequency").value(2));
+    }
+
+    @Test
+    void calculateWord_PostNGrams() throws Exception {
+        mockMvc.perform(post("/calculate-frequency-in-text-for-word/{word}", "The Quick").param("ngram", "2").content("the quick fox, the quick dog"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("2"));
+    }
+
+    @Test
+    void calculateHighest_PostNGramsApproximate() throws Exception {
+        mockMvc.perform(post("/calculate-highest-frequency-in-text").param("ngram", "2").param("engine", "approximate").content("the quick fox"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void calculateWords() throws Exception {
+        mockMvc.perform(get("/calculate-frequency-in-text-for-words/{text}", "an An AN a").param("words", "A,an,bla"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].word").value("a"))
+                .andExpect(jsonPath("$[0].frequency").value(1))
+                .andExpect(jsonPath("$[1].frequency").value(3))
+                .andExpect(jsonPath("$[2].frequency").value(0));
+    }
+
+    @Test
+    void calculateWords_Post() throws Exception {
+        mockMvc.perform(post("/calculate-frequency-in-text-for-words").param("words", "zz", "d").param("engine", "approximate").content("w zz zz zz d x d a a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].frequency").value(3))
+                .andExpect(jsonPath("$[1].frequency").value(2));
+    }
+
+    @Test
+    void calculateWords_PostInvalidWord() throws Exception {
+        mockMvc.perform(post("/calculate-frequency-in-text-for-words").param("words", "zz", "d2").content("w zz zz zz d x d a a"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void analyze_Post() throws Exception {
+        mockMvc.perform(post("/analyze-text").param("word", "D").param("n", "2").content("w zz zz zz d x d a a"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numberOfDifferentWords").value(5))
+                .andExpect(jsonPath("$.highestFrequency").value(3))
+                .andExpect(jsonPath("$.frequencyForWord").value(2))
+                .andExpect(jsonPath("$.mostFrequentNWords[0].word").value("zz"))
+                .andExpect(jsonPath("$.mostFrequentNWords[1].word").value("a"));
+    }
+
+    @Test
+    void analyze_WithoutQuestions() throws Exception {
+        mockMvc.perform(get("/analyze-text/{text}", "a b b"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.highestFrequency").value(2))
+                .andExpect(jsonPath("$.frequencyForWord").doesNotExist())
+                .andExpect(jsonPath("$.mostFrequentNWords").doesNotExist());
+    }
+
+    @Test
+    void calculateWord_AnsweredFromCache() throws Exception {
+        mockMvc.perform(get("/calculate-frequency-in-text-for-word/{text}/{word}", "a b b", "b"))
+                .andExpect(content().string("2"));
+        mockMvc.perform(get("/calculate-highest-frequency-in-text/{text}", "a b b"))
+                .andExpect(content().string("2"));
+        mockMvc.perform(get("/cache-statistics"))
+                .andExpect(jsonPath("$.missCount").value(1))
+                .andExpect(jsonPath("$.hitCount").value(1))
+                .andExpect(jsonPath("$.entryCount").value(1));
+    }
+
+    @Test
+    void calculateHeadN_ApproximateEngine() throws Exception {
+        mockMvc.perform(post("/calculate-frequency-in-text-for-most-frequent-n-words/{n}", 1).param("engine", "approximate").content("w zz zz zz d"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].word").value("zz"))
+                .andExpect(jsonPath("$[0].frequency").value(3));
+    }
+
+    @Test
+    void calculateHighest_UnknownEngine() throws Exception {
+        mockMvc.perform(get("/calculate-highest-frequency-in-text/{text}", "a").param("engine", "bla"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void calculateHeadN_RecordsPhases() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ObjectProvider<MeterRegistry> meterRegistryProvider = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                .getBeanProvider(MeterRegistry.class);
+        MockMvc measuredMockMvc = MockMvcBuilders.standaloneSetup(new WordFrequencyCalculatorController(new FrequencySnapshotCache(1 << 20),
+                new WordFrequencyAnalyzerFactory(1, 1 << 20, 1024, 2, 10, 1 << 20, "", true, meterRegistryProvider),
+                RequestBodyDecompression.DISABLED)).build();
+
+        // The second question is answered from the cached snapshot, selecting again.
+        for (int i = 0; i < 2; i++) {
+            measuredMockMvc.perform(get("/calculate-frequency-in-text-for-most-frequent-n-words/{text}/{n}", "w zz zz d", 1))
+                    .andExpect(jsonPath("$[0].word").value("zz"));
+        }
+        measuredMockMvc.perform(get("/calculate-frequency-in-text-for-most-frequent-n-words/{text}/{n}", "a b a b", 1).param("ngram", "2"))
+                .andExpect(jsonPath("$[0].word").value("a b"));
+        assertEquals(3, meterRegistry.get("wordcount.analysis.duration").tag("engine", "exact").tag("phase", "selection").timer().count());
+        assertEquals(2, meterRegistry.get("wordcount.analysis.duration").tag("engine", "exact").tag("phase", "count").timer().count());
+    }
+
+    @Test
+    void calculateHighest_ExternalEngineCannotSpill(@TempDir Path tempDirectory) throws Exception {
+        // A memory budget of a single byte spills every word, to a directory that does not exist.
+        MockMvc externalMockMvc = MockMvcBuilders.standaloneSetup(new WordFrequencyCalculatorController(new FrequencySnapshotCache(1 << 20),
+                new WordFrequencyAnalyzerFactory(0, 1 << 20, 64, 4, 100, 1, tempDirectory.resolve("missing").toString()),
+                RequestBodyDecompression.DISABLED)).build();
+        externalMockMvc.perform(get("/calculate-highest-frequency-in-text/{text}", "a b a").param("engine", "external"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(content().string(containsString("missing")));
+    }
+
+    @Test
+    void calculateHighest_PostCompressed() throws Exception {
+        byte[] gzip = gzip("a b The THE the");
+        // Read as text by default.
+        mockMvc.perform(post("/calculate-highest-frequency-in-text").content(gzip))
+                .andExpect(status().isOk())
+                .andExpect(content().string(not("3")));
+
+        MockMvc decompressingMockMvc = MockMvcBuilders.standaloneSetup(new WordFrequencyCalculatorController(new FrequencySnapshotCache(1 << 20),
+                new WordFrequencyAnalyzerFactory(), new RequestBodyDecompression(true, 15))).build();
+        decompressingMockMvc.perform(post("/calculate-highest-frequency-in-text").content(gzip))
+                .andExpect(status().isOk())
+                .andExpect(content().string("3"));
+        decompressingMockMvc.perform(post("/calculate-highest-frequency-in-text").content(gzip("a b The THE the a")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(gzip)) {
+            outputStream.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return gzip.toByteArray();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.wordcount.corpus;
+
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CorpusTest {
+
+    @Test
+    void append_UpdatesFrequencies() {
+        Corpus corpus = new Corpus("test");
+        assertEquals(3, corpus.append("the cat The"));
+        assertEquals(2, corpus.append("a cat"));
+        assertEquals(5, corpus.getNumberOfWords());
+        assertEquals(3, corpus.getNumberOfDifferentWords());
+        assertEquals(2, corpus.getHighestFrequency());
+        assertEquals(2, corpus.getFrequencyForWord("Cat"));
+        assertEquals(0, corpus.getFrequencyForWord("dog"));
+        List<WordFrequency> head = corpus.getMostFrequentNWords(2);
+        assertEquals("cat", head.get(0).getWord());
+        assertEquals("the", head.get(1).getWord());
+    }
+
+    @Test
+    void append_FrequenciesSaturateBeyondIntRange() {
+        Corpus corpus = new Corpus("test");
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        wordFrequencyTable.add("the", Integer.MAX_VALUE);
+        wordFrequencyTable.add("cat", 1);
+        corpus.append(wordFrequencyTable);
+        corpus.append(wordFrequencyTable);
+        assertEquals(2L * Integer.MAX_VALUE + 2, corpus.getNumberOfWords());
+        assertEquals(Integer.MAX_VALUE, corpus.getHighestFrequency());
+        assertEquals(Integer.MAX_VALUE, corpus.getFrequencyForWord("the"));
+        assertEquals(2, corpus.getFrequencyForWord("cat"));
+        assertEquals(Integer.MAX_VALUE, corpus.getMostFrequentNWords(1).get(0).getFrequency());
+    }
+
+    @Test
+    void getHighestFrequency_EmptyCorpus() {
+        assertThrows(IllegalArgumentException.class, () -> new Corpus("test").getHighestFrequency());
+    }
+
+    @Test
+    void append_ConcurrentAppendersLoseNothing() throws Exception {
+        Corpus corpus = new Corpus("test");
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> appends = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int offset = i;
+                appends.add(executorService.submit(() -> {
+                    corpus.append("shared shared w" + (offset % 10));
+                    // Questions may be asked while appending.
+                    corpus.getMostFrequentNWords(1);
+                }));
+            }
+            for (Future<?> append : appends) {
+                append.get();
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        assertEquals(600, corpus.getNumberOfWords());
+        assertEquals(400, corpus.getFrequencyForWord("shared"));
+        // Digits divide words, so every append adds one "w".
+        assertEquals(200, corpus.getFrequencyForWord("w"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.wordcount.external;
+
+import com.example.wordcount.index.FrequencyIndex;
+import com.example.wordcount.model.FrequencySnapshot;
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import com.example.wordcount.model.WordFrequencySnapshot;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalWordFrequencyAnalyzerTest {
+
+    WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+
+    @TempDir
+    Path tempDirectory;
+
+    @Test
+    void analyze_InMemoryWithinBudget() throws IOException {
+        ExternalWordFrequencyAnalyzer externalAnalyzer = new ExternalWordFrequencyAnalyzer(1 << 20, tempDirectory);
+        String text = "The THe THE tHE thE the tHe an An AN aN a";
+        FrequencySnapshot frequencySnapshot = externalAnalyzer.analyze(text);
+        assertTrue(frequencySnapshot instanceof WordFrequencySnapshot);
+        assertEquals(7, frequencySnapshot.getHighestFrequency());
+        assertEquals(4, externalAnalyzer.calculateFrequencyForWord(text, "an"));
+        assertEquals(format(wordFrequencyCalculator.calculateMostFrequentNWords(text, 3)), format(externalAnalyzer.calculateMostFrequentNWords(text, 3)));
+        assertEmpty(tempDirectory);
+    }
+
+    @Test
+    void analyze_SpilledAgreesWithExactEngine() throws IOException {
+        // Far more different words than fit the budget, so there are more runs than are merged at once.
+        String text = generateText(new Random(23), 100_000, 30_000);
+        SpillingCounter counter = new SpillingCounter(8 << 10, tempDirectory);
+        new LetterTokenizer().tokenize(text, counter);
+        assertTrue(counter.getNumberOfRuns() > SpillingCounter.MAX_MERGE_FAN_IN);
+        FrequencySnapshot frequencySnapshot = counter.toSnapshot();
+        assertTrue(frequencySnapshot instanceof FrequencyIndex);
+        assertEmpty(tempDirectory);
+
+        FrequencySnapshot exactSnapshot = wordFrequencyCalculator.analyze(text);
+        assertEquals(exactSnapshot.getHighestFrequency(), frequencySnapshot.getHighestFrequency());
+        assertEquals(exactSnapshot.getNumberOfDifferentWords(), frequencySnapshot.getNumberOfDifferentWords());
+        for (String word : List.of("a", "ab", "bcd", "zzzz", "absent")) {
+            assertEquals(exactSnapshot.getFrequencyForWord(word), frequencySnapshot.getFrequencyForWord(word));
+        }
+        assertEquals(format(exactSnapshot.getMostFrequentNWords(100)), format(frequencySnapshot.getMostFrequentNWords(100)));
+    }
+
+    @Test
+    void analyze_StreamSpilled() throws IOException {
+        String text = generateText(new Random(5), 20_000, 5_000);
+        ExternalWordFrequencyAnalyzer externalAnalyzer = new ExternalWordFrequencyAnalyzer(16 << 10, tempDirectory);
+        List<WordFrequency> mostFrequent = externalAnalyzer.calculateMostFrequentNWords(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), 10);
+        assertEquals(format(wordFrequencyCalculator.calculateMostFrequentNWords(text, 10)), format(mostFrequent));
+        assertEmpty(tempDirectory);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ExternalWordFrequencyAnalyzer(0, tempDirectory));
+        ExternalWordFrequencyAnalyzer externalAnalyzer = new ExternalWordFrequencyAnalyzer(1 << 20, tempDirectory);
+        assertThrows(IllegalArgumentException.class, () -> externalAnalyzer.calculateHighestFrequency(" 12 "));
+        assertThrows(IllegalArgumentException.class, () -> externalAnalyzer.analyzeNGrams("one two", 2));
+        // Spilling to a directory that does not exist.
+        ExternalWordFrequencyAnalyzer missingDirectoryAnalyzer = new ExternalWordFrequencyAnalyzer(1, tempDirectory.resolve("missing"));
+        assertThrows(IllegalStateException.class, () -> missingDirectoryAnalyzer.analyze("one two"));
+        assertThrows(IOException.class, () -> missingDirectoryAnalyzer.analyze(new ByteArrayInputStream("one two".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String generateText(Random random, int numberOfWords, int numberOfDifferentWords) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < numberOfWords; i++) {
+            // Skewed towards low ranks, so frequencies differ.
+            int rank = (int) (numberOfDifferentWords * Math.pow(random.nextDouble(), 3));
+            for (int number = rank; ; number /= 26) {
+                text.append((char) ('a' + number % 26));
+                if (number < 26) {
+                    break;
+                }
+            }
+            text.append(' ');
+        }
+        return text.toString();
+    }
+
+    private static List<String> format(List<WordFrequency> wordFrequencies) {
+        return wordFrequencies.stream().map(wordFrequency -> wordFrequency.getWord() + "=" + wordFrequency.getFrequency()).collect(Collectors.toList());
+    }
+
+    private static void assertEmpty(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.list(directory)) {
+            assertEquals(0, paths.count());
+        }
+    }
+}
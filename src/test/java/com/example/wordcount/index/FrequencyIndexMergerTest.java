@@ -0,0 +1,100 @@
+package com.example.wordcount.index;
+
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import com.example.wordcount.model.WordFrequencyTable;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencyIndexMergerTest {
+
+    @Test
+    void merge_TreeOfShardsEqualsSingleRun() throws IOException {
+        Random random = new Random(5);
+        StringBuilder[] shards = new StringBuilder[4];
+        StringBuilder whole = new StringBuilder();
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new StringBuilder();
+        }
+        for (int i = 0; i < 40_000; i++) {
+            String word = "w" + "abcdefghij".substring(0, 1 + random.nextInt(10)) + (char) ('a' + random.nextInt(26));
+            shards[random.nextInt(shards.length)].append(word).append(' ');
+            whole.append(word).append(' ');
+        }
+        FrequencyIndex[] partials = new FrequencyIndex[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            partials[i] = partial(shards[i].toString());
+        }
+
+        // ((0 + 1) + (2 + 3)) as a tree reduction.
+        FrequencyIndex left = FrequencyIndex.wrap(FrequencyIndexMerger.merge(List.of(partials[0], partials[1]), 10));
+        FrequencyIndex right = FrequencyIndex.wrap(FrequencyIndexMerger.merge(List.of(partials[2], partials[3]), 10));
+        FrequencyIndex merged = FrequencyIndex.wrap(FrequencyIndexMerger.merge(List.of(left, right), 10));
+
+        WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+        String text = whole.toString();
+        assertEquals(40_000, merged.getNumberOfWords());
+        assertEquals(wordFrequencyCalculator.calculateHighestFrequency(text), merged.getHighestFrequency());
+        assertEquals(wordFrequencyCalculator.calculateFrequencyForWord(text, "wabcx"), merged.getFrequencyForWord("wabcx"));
+        int numberOfDifferentWords = merged.getNumberOfDifferentWords();
+        for (int n : new int[]{10, numberOfDifferentWords}) {
+            List<WordFrequency> expected = wordFrequencyCalculator.calculateMostFrequentNWords(text, n);
+            List<WordFrequency> actual = merged.getMostFrequentNWords(n);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected.get(i).getWord(), actual.get(i).getWord());
+                assertEquals(expected.get(i).getFrequency(), actual.get(i).getFrequency());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> merged.getMostFrequentNWords(numberOfDifferentWords + 1));
+    }
+
+    @Test
+    void merge_Nothing() throws IOException {
+        FrequencyIndex merged = FrequencyIndex.wrap(FrequencyIndexMerger.merge(List.of(), 10));
+        assertEquals(0, merged.getNumberOfDifferentWords());
+        assertThrows(IllegalArgumentException.class, merged::getHighestFrequency);
+    }
+
+    @Test
+    void merge_FrequenciesBeyondIntRangeSaturate() throws IOException {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        wordFrequencyTable.add("the", Integer.MAX_VALUE);
+        wordFrequencyTable.add("cat", 1);
+        ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        FrequencyIndexWriter.write(wordFrequencyTable, Channels.newChannel(partial), 10);
+        FrequencyIndex frequencyIndex = FrequencyIndex.wrap(partial.toByteArray());
+
+        FrequencyIndex merged = FrequencyIndex.wrap(FrequencyIndexMerger.merge(List.of(frequencyIndex, frequencyIndex), 10));
+        assertEquals(2L * Integer.MAX_VALUE + 2, merged.getNumberOfWords());
+        assertEquals(Integer.MAX_VALUE, merged.getHighestFrequency());
+        assertEquals(Integer.MAX_VALUE, merged.getFrequencyForWord("the"));
+        assertEquals(2, merged.getFrequencyForWord("cat"));
+        assertEquals(Integer.MAX_VALUE, merged.getMostFrequentNWords(1).get(0).getFrequency());
+        // The dictionary keeps the exact sum.
+        FrequencyIndex.Entries entries = merged.entries();
+        entries.next();
+        entries.next();
+        assertEquals(2L * Integer.MAX_VALUE, entries.getFrequency());
+    }
+
+    @Test
+    void merge_NegativeTopK() {
+        assertThrows(IllegalArgumentException.class, () -> FrequencyIndexMerger.merge(List.of(), -1));
+    }
+
+    private static FrequencyIndex partial(String text) throws IOException {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        new LetterTokenizer().tokenize(text, wordFrequencyTable);
+        ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        FrequencyIndexWriter.write(wordFrequencyTable, Channels.newChannel(partial), 10);
+        return FrequencyIndex.wrap(partial.toByteArray());
+    }
+}
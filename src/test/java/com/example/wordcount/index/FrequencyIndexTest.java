@@ -0,0 +1,127 @@
+package com.example.wordcount.index;
+
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FrequencyIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_AnswersAsTheTable() throws IOException {
+        Random random = new Random(3);
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        for (int i = 0; i < 20_000; i++) {
+            // Words sharing prefixes, so front coding matters.
+            wordFrequencyTable.add("pre" + Integer.toString(random.nextInt(3000), 26).replaceAll("[0-9]", "x"));
+        }
+        Path path = directory.resolve("words.idx");
+        FrequencyIndexWriter.write(wordFrequencyTable, path, 10);
+
+        FrequencyIndex frequencyIndex = FrequencyIndex.open(path);
+        assertEquals(wordFrequencyTable.size(), frequencyIndex.getNumberOfDifferentWords());
+        assertEquals(20_000, frequencyIndex.getNumberOfWords());
+        assertEquals(wordFrequencyTable.getHighestFrequency(), frequencyIndex.getHighestFrequency());
+        for (int id = 0; id < wordFrequencyTable.size(); id++) {
+            assertEquals(wordFrequencyTable.getFrequency(id), frequencyIndex.getFrequencyForWord(wordFrequencyTable.getWord(id)));
+        }
+        assertEquals(0, frequencyIndex.getFrequencyForWord("a"));
+        assertEquals(0, frequencyIndex.getFrequencyForWord("zzz"));
+        assertEquals(0, frequencyIndex.getFrequencyForWord("preqq"));
+        // Within and beyond the precomputed top K.
+        for (int n : new int[]{1, 10, 11, wordFrequencyTable.size()}) {
+            List<WordFrequency> expected = wordFrequencyTable.getMostFrequent(n);
+            List<WordFrequency> actual = frequencyIndex.getMostFrequentNWords(n);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected.get(i).getWord(), actual.get(i).getWord());
+                assertEquals(expected.get(i).getFrequency(), actual.get(i).getFrequency());
+            }
+        }
+    }
+
+    @Test
+    void open_SpanningRegions() throws IOException {
+        Random random = new Random(5);
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        for (int i = 0; i < 5_000; i++) {
+            wordFrequencyTable.add(Integer.toString(random.nextInt(2000), 26).replaceAll("[0-9]", "x"));
+        }
+        Path path = directory.resolve("words.idx");
+        FrequencyIndexWriter.write(wordFrequencyTable, path, 10);
+
+        // Regions of 32 bytes, so words, block offsets and footer fields span regions.
+        FrequencyIndex frequencyIndex = FrequencyIndex.open(path, 5);
+        assertTrue(Files.size(path) > 32 * 32);
+        assertEquals(wordFrequencyTable.size(), frequencyIndex.getNumberOfDifferentWords());
+        assertEquals(5_000, frequencyIndex.getNumberOfWords());
+        assertEquals(wordFrequencyTable.getHighestFrequency(), frequencyIndex.getHighestFrequency());
+        for (int id = 0; id < wordFrequencyTable.size(); id++) {
+            assertEquals(wordFrequencyTable.getFrequency(id), frequencyIndex.getFrequencyForWord(wordFrequencyTable.getWord(id)));
+        }
+        assertEquals(0, frequencyIndex.getFrequencyForWord("absent"));
+        List<WordFrequency> expected = FrequencyIndex.open(path).toList();
+        List<WordFrequency> actual = frequencyIndex.toList();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getWord(), actual.get(i).getWord());
+            assertEquals(expected.get(i).getFrequency(), actual.get(i).getFrequency());
+        }
+        assertEquals(wordFrequencyTable.getMostFrequent(10).get(9).getWord(), frequencyIndex.getMostFrequentNWords(10).get(9).getWord());
+    }
+
+    @Test
+    void open_SingleWord() throws IOException {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        wordFrequencyTable.add("the", 3);
+        Path path = directory.resolve("words.idx");
+        FrequencyIndexWriter.write(wordFrequencyTable, path);
+        FrequencyIndex frequencyIndex = FrequencyIndex.open(path);
+        assertEquals(3, frequencyIndex.getFrequencyForWord("THE"));
+        assertEquals("the", frequencyIndex.getMostFrequentNWords(1).get(0).getWord());
+        assertThrows(IllegalArgumentException.class, () -> frequencyIndex.getMostFrequentNWords(2));
+    }
+
+    @Test
+    void open_NotAnIndex() throws IOException {
+        Path path = Files.writeString(directory.resolve("text.txt"), "This is no index at all, just some text.");
+        assertThrows(IOException.class, () -> FrequencyIndex.open(path));
+    }
+
+    @Test
+    void wrap_OldVersion() {
+        // Version 1 started with the summary: number of different words, number of words, highest frequency, number of
+        // blocks, position of the block offsets and K.
+        ByteBuffer oldIndex = ByteBuffer.allocate(64).putInt(FrequencyIndex.MAGIC).putInt(1)
+                .putInt(1).putLong(3).putInt(3).putInt(1).putLong(48).putInt(0);
+        IOException ioException = assertThrows(IOException.class, () -> FrequencyIndex.wrap(oldIndex.array()));
+        assertEquals("The frequency index has unsupported version '1'.", ioException.getMessage());
+    }
+
+    @Test
+    void write_EmptyTable() {
+        assertThrows(IllegalArgumentException.class, () -> FrequencyIndexWriter.write(new WordFrequencyTable(), directory.resolve("words.idx")));
+    }
+
+    @Test
+    void wrap_Truncated() throws IOException {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        wordFrequencyTable.add("the");
+        Path path = directory.resolve("words.idx");
+        FrequencyIndexWriter.write(wordFrequencyTable, path);
+        byte[] bytes = Files.readAllBytes(path);
+        assertThrows(IOException.class, () -> FrequencyIndex.wrap(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+}
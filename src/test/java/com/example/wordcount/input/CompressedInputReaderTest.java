@@ -0,0 +1,212 @@
+package com.example.wordcount.input;
+
+import com.example.wordcount.tokenizer.WordConsumer;
+import com.github.luben.zstd.ZstdOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedInputReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_Gzip() throws IOException {
+        byte[] gzip = gzip("The quick brown fox".getBytes(StandardCharsets.UTF_8));
+        List<String> words = new ArrayList<>();
+        InputStatistics inputStatistics = new InputStatistics();
+        CompressedInputReader.read(new ByteArrayInputStream(gzip), collect(words), inputStatistics);
+        assertEquals(List.of("the", "quick", "brown", "fox"), words);
+        assertEquals(19, inputStatistics.getSize());
+        assertEquals(gzip.length, inputStatistics.getCompressedSize());
+        assertEquals(1, inputStatistics.getNumberOfFiles());
+    }
+
+    @Test
+    void read_Zstd() throws IOException {
+        List<String> words = new ArrayList<>();
+        CompressedInputReader.read(new ByteArrayInputStream(zstd("The quick brown fox")), collect(words), new InputStatistics());
+        assertEquals(List.of("the", "quick", "brown", "fox"), words);
+    }
+
+    @Test
+    void read_ZstdClosesTheDecompressorOnly() throws IOException {
+        byte[] zstd = zstd("The quick brown fox");
+        boolean[] closed = new boolean[1];
+        InputStream inputStream = new ByteArrayInputStream(zstd) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        List<String> words = new ArrayList<>();
+        CompressedInputReader.read(inputStream, collect(words), new InputStatistics());
+        assertEquals(List.of("the", "quick", "brown", "fox"), words);
+        assertFalse(closed[0]);
+
+        // The decompressor frees its native memory on close, passing the close on to its input.
+        InputStream decompressed = CompressedInputReader.openDecompressed(new ByteArrayInputStream(zstd) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        });
+        assertEquals("The quick brown fox", new String(decompressed.readAllBytes(), StandardCharsets.UTF_8));
+        decompressed.close();
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    void read_CompressedTarOfSeveralFiles() throws IOException {
+        // The first file ends amid a word, which the second file must not continue.
+        byte[] tarGz = gzip(tar("the quick th", "e fox the"));
+        List<String> words = new ArrayList<>();
+        InputStatistics inputStatistics = new InputStatistics();
+        CompressedInputReader.read(new ByteArrayInputStream(tarGz), collect(words), inputStatistics);
+        assertEquals(List.of("the", "quick", "th", "e", "fox", "the"), words);
+        assertEquals(21, inputStatistics.getSize());
+        assertEquals(2, inputStatistics.getNumberOfFiles());
+    }
+
+    @Test
+    void read_LargerThanTheRing() throws IOException {
+        // Many more buffers of text than the ring holds, so both sides have to wait for each other.
+        String text = "the quick brown fox ".repeat(1_000_000);
+        long[] numberOfWords = new long[1];
+        InputStatistics inputStatistics = new InputStatistics();
+        CompressedInputReader.read(new ByteArrayInputStream(gzip(text.getBytes(StandardCharsets.UTF_8))), (buffer, offset, length) -> numberOfWords[0]++, inputStatistics);
+        assertEquals(4_000_000, numberOfWords[0]);
+        assertEquals(text.length(), inputStatistics.getSize());
+    }
+
+    @Test
+    void read_CorruptInput() {
+        byte[] gzip = gzip("The quick brown fox".getBytes(StandardCharsets.UTF_8));
+        gzip[gzip.length - 5] ^= 0x7F;
+        assertThrows(IOException.class, () -> CompressedInputReader.read(new ByteArrayInputStream(gzip), collect(new ArrayList<>()), new InputStatistics()));
+    }
+
+    @Test
+    void read_ExceedsMaxDecompressedSize() {
+        byte[] gzip = gzip("the quick brown fox ".repeat(100_000).getBytes(StandardCharsets.UTF_8));
+        IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class,
+                () -> CompressedInputReader.read(new ByteArrayInputStream(gzip), collect(new ArrayList<>()), new InputStatistics(), 1_000_000));
+        assertTrue(illegalArgumentException.getMessage().contains("1000000"));
+    }
+
+    @Test
+    void isCompressedOrArchive() {
+        byte[] gzip = gzip(new byte[0]);
+        assertTrue(CompressedInputReader.isCompressedOrArchive(gzip, gzip.length));
+        byte[] tar = tar("text");
+        assertTrue(CompressedInputReader.isCompressedOrArchive(tar, CompressedInputReader.HEADER_SIZE));
+        byte[] text = "The quick brown fox".getBytes(StandardCharsets.UTF_8);
+        assertFalse(CompressedInputReader.isCompressedOrArchive(text, text.length));
+    }
+
+    @Test
+    void mappedFileReader_DetectsCompressedFiles() throws IOException {
+        Files.write(tempDir.resolve("1.txt.gz"), gzip("the quick".getBytes(StandardCharsets.UTF_8)));
+        Files.writeString(tempDir.resolve("2.txt"), "brown fox");
+        List<String> words = new ArrayList<>();
+        InputStatistics inputStatistics = new InputStatistics();
+        MappedFileReader.read(tempDir, collect(words), inputStatistics);
+        assertEquals(4, words.size());
+        assertTrue(words.containsAll(List.of("the", "quick", "brown", "fox")));
+        assertEquals(18, inputStatistics.getSize());
+        assertEquals(2, inputStatistics.getNumberOfFiles());
+        assertTrue(inputStatistics.getCompressedSize() > 0);
+    }
+
+    @Test
+    void streamWordReader_DetectsCompressedStreamsIfAllowed() throws IOException {
+        List<String> words = new ArrayList<>();
+        StreamWordReader.read(CompressedInputReader.allowDecompression(new ByteArrayInputStream(tar("the quick", "brown fox")), 1 << 20), collect(words));
+        assertEquals(List.of("the", "quick", "brown", "fox"), words);
+
+        // Plain text shorter than a tar header.
+        words.clear();
+        StreamWordReader.read(CompressedInputReader.allowDecompression(new ByteArrayInputStream("the quick".getBytes(StandardCharsets.UTF_8)), 1 << 20), collect(words));
+        assertEquals(List.of("the", "quick"), words);
+    }
+
+    @Test
+    void streamWordReader_ReadsCompressedStreamsAsTextByDefault() throws IOException {
+        List<String> words = new ArrayList<>();
+        StreamWordReader.read(new ByteArrayInputStream(tar("the quick", "brown fox")), collect(words));
+        assertTrue(words.contains("txt"));
+    }
+
+    @Test
+    void streamWordReader_PeeksOnlyTheMagicNumberOfCompressedStreams() throws IOException {
+        // Fail on reads beyond the gzip data, as a stream still arriving would block.
+        byte[] gzip = gzip("the quick".getBytes(StandardCharsets.UTF_8));
+        InputStream inputStream = new ByteArrayInputStream(gzip) {
+            @Override
+            public synchronized int read(byte[] bytes, int offset, int length) {
+                if (available() == 0) {
+                    throw new IllegalStateException("Read beyond the end of the data.");
+                }
+                return super.read(bytes, offset, Math.min(length, available()));
+            }
+        };
+        List<String> words = new ArrayList<>();
+        StreamWordReader.read(CompressedInputReader.allowDecompression(inputStream, 1 << 20), collect(words));
+        assertEquals(List.of("the", "quick"), words);
+    }
+
+    private static WordConsumer collect(List<String> words) {
+        return (buffer, offset, length) -> words.add(new String(buffer, offset, length));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new GZIPOutputStream(gzip)) {
+            outputStream.write(bytes);
+        } catch (IOException ioException) {
+            throw new IllegalStateException(ioException);
+        }
+        return gzip.toByteArray();
+    }
+
+    private static byte[] zstd(String text) throws IOException {
+        ByteArrayOutputStream zstd = new ByteArrayOutputStream();
+        try (OutputStream outputStream = new ZstdOutputStream(zstd)) {
+            outputStream.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return zstd.toByteArray();
+    }
+
+    private static byte[] tar(String... files) {
+        ByteArrayOutputStream tar = new ByteArrayOutputStream();
+        try (TarArchiveOutputStream tarArchiveOutputStream = new TarArchiveOutputStream(tar)) {
+            for (int i = 0; i < files.length; i++) {
+                byte[] bytes = files[i].getBytes(StandardCharsets.UTF_8);
+                TarArchiveEntry tarArchiveEntry = new TarArchiveEntry(i + ".txt");
+                tarArchiveEntry.setSize(bytes.length);
+                tarArchiveOutputStream.putArchiveEntry(tarArchiveEntry);
+                tarArchiveOutputStream.write(bytes);
+                tarArchiveOutputStream.closeArchiveEntry();
+            }
+        } catch (IOException ioException) {
+            throw new IllegalStateException(ioException);
+        }
+        return tar.toByteArray();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.wordcount.input;
+
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedFileReaderTest {
+
+    WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void read_SameWordsAsText() throws IOException {
+        String text = "$#@ a b c The ()THe THE tH^&E thE the tHe an78 An AN aN a\nÜnïcödé wörds 😀 split";
+        Path file = Files.writeString(tempDir.resolve("text.txt"), text, StandardCharsets.UTF_8);
+
+        List<String> fromFile = new ArrayList<>();
+        MappedFileReader.read(file, (buffer, offset, length) -> fromFile.add(new String(buffer, offset, length)));
+        List<String> fromText = new ArrayList<>();
+        new LetterTokenizer().tokenize(text, (buffer, offset, length) -> fromText.add(new String(buffer, offset, length)));
+        assertEquals(fromText, fromFile);
+    }
+
+    @Test
+    void read_DirectoryFilesDoNotJoinWords() throws IOException {
+        Files.writeString(tempDir.resolve("1.txt"), "the quick th");
+        Files.createDirectory(tempDir.resolve("sub"));
+        Files.writeString(tempDir.resolve("sub").resolve("2.txt"), "e fox the");
+
+        assertEquals(2, wordFrequencyCalculator.calculateHighestFrequency(tempDir));
+        assertEquals(1, wordFrequencyCalculator.calculateFrequencyForWord(tempDir, "th"));
+        List<WordFrequency> wordFrequencies = wordFrequencyCalculator.calculateMostFrequentNWords(tempDir, 2);
+        assertEquals("the", wordFrequencies.get(0).getWord());
+        assertEquals("e", wordFrequencies.get(1).getWord());
+    }
+
+    @Test
+    void read_MissingPath() {
+        assertThrows(IOException.class, () -> wordFrequencyCalculator.calculateHighestFrequency(tempDir.resolve("missing.txt")));
+    }
+
+    @Test
+    void read_EmptyFile() throws IOException {
+        Path file = Files.writeString(tempDir.resolve("empty.txt"), "");
+        assertThrows(IllegalArgumentException.class, () -> wordFrequencyCalculator.calculateHighestFrequency(file));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.wordcount.input;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamWordReaderTest {
+
+    @Test
+    void read_WordsSpanningChunks() throws IOException {
+        // Hand out a single byte per read, so every word spans several chunks.
+        InputStream inputStream = new ByteArrayInputStream("The quick, Ünïcödé fox".getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] bytes, int offset, int length) {
+                return super.read(bytes, offset, Math.min(length, 1));
+            }
+        };
+        List<String> words = new ArrayList<>();
+        StreamWordReader.read(inputStream, (buffer, offset, length) -> words.add(new String(buffer, offset, length)));
+        assertEquals(List.of("the", "quick", "n", "c", "d", "fox"), words);
+    }
+}
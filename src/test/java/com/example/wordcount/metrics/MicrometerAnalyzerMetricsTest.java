@@ -0,0 +1,49 @@
+package com.example.wordcount.metrics;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MicrometerAnalyzerMetricsTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recordCount_PublishesPhaseTimerAndDistributions() {
+        WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator(new LetterTokenizer(),
+                new MicrometerAnalyzerMetrics(meterRegistry, WordFrequencyAnalyzerFactory.EXACT));
+
+        wordFrequencyCalculator.calculateMostFrequentNWords("the cat and the hat", 1);
+        wordFrequencyCalculator.calculateHighestFrequency("a b a");
+
+        assertEquals(2, meterRegistry.get("wordcount.analysis.duration").tag("engine", "exact").tag("phase", "count").timer().count());
+        assertEquals(1, meterRegistry.get("wordcount.analysis.duration").tag("phase", "selection").timer().count());
+        assertEquals(19 + 5, meterRegistry.get("wordcount.analysis.input.size").summary().totalAmount());
+        assertEquals(5 + 3, meterRegistry.get("wordcount.analysis.words").summary().totalAmount());
+        assertEquals(4 + 2, meterRegistry.get("wordcount.analysis.different.words").summary().totalAmount());
+    }
+
+    @Test
+    void factory_PublishesMetricsOfExactEnginesUnlessDisabled() {
+        ObjectProvider<MeterRegistry> meterRegistryProvider = new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry))
+                .getBeanProvider(MeterRegistry.class);
+
+        new WordFrequencyAnalyzerFactory(1, 1 << 20, 1024, 2, 10, 1 << 20, "", false, meterRegistryProvider)
+                .get(WordFrequencyAnalyzerFactory.EXACT).calculateHighestFrequency("a b a");
+        assertTrue(meterRegistry.getMeters().isEmpty());
+
+        new WordFrequencyAnalyzerFactory(1, 1 << 20, 1024, 2, 10, 1 << 20, "", true, meterRegistryProvider)
+                .get(WordFrequencyAnalyzerFactory.PARALLEL).calculateHighestFrequency("a b a");
+        assertEquals(1, meterRegistry.get("wordcount.analysis.duration").tag("engine", "parallel").tag("phase", "count").timer().count());
+        assertEquals(0, meterRegistry.get("wordcount.analysis.duration").tag("engine", "exact").tag("phase", "count").timer().count());
+    }
+}
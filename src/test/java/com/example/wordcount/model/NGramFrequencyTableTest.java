@@ -0,0 +1,99 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NGramFrequencyTableTest {
+
+    WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+
+    @Test
+    void analyzeNGrams() {
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyzeNGrams("The quick fox, the QUICK dog; the quick fox.", 2);
+        assertEquals(3, frequencySnapshot.getHighestFrequency());
+        assertEquals(3, frequencySnapshot.getFrequencyForWord("the Quick"));
+        assertEquals(2, frequencySnapshot.getFrequencyForWord(" quick   fox "));
+        assertEquals(0, frequencySnapshot.getFrequencyForWord("fox quick"));
+        assertEquals(0, frequencySnapshot.getFrequencyForWord("the absent"));
+        List<WordFrequency> mostFrequent = frequencySnapshot.getMostFrequentNWords(3);
+        assertEquals("the quick", mostFrequent.get(0).getWord());
+        assertEquals("quick fox", mostFrequent.get(1).getWord());
+        assertEquals(2, mostFrequent.get(1).getFrequency());
+        // Equal frequencies are ordered alphabetically by phrase.
+        assertEquals("dog the", mostFrequent.get(2).getWord());
+        assertEquals(5, frequencySnapshot.getNumberOfDifferentWords());
+    }
+
+    @Test
+    void analyzeNGrams_OneWordEqualsWords() throws IOException {
+        String text = "a b c The THe THE tHE thE the tHe an An AN aN a";
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyzeNGrams(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), 1);
+        assertEquals(wordFrequencyCalculator.calculateHighestFrequency(text), frequencySnapshot.getHighestFrequency());
+        assertEquals(wordFrequencyCalculator.calculateFrequencyForWord(text, "an"), frequencySnapshot.getFrequencyForWord("an"));
+        assertEquals(wordFrequencyCalculator.calculateMostFrequentNWords(text, 3).get(2).getWord(), frequencySnapshot.getMostFrequentNWords(3).get(2).getWord());
+    }
+
+    @Test
+    void getMostFrequentNWords_SmallAndLargeHeadsAgree() {
+        Random random = new Random(7);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append((char) ('a' + random.nextInt(6))).append(' ');
+        }
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyzeNGrams(text.toString(), 3);
+        // A small head is selected with a heap, all n-grams with quickselect.
+        List<WordFrequency> all = frequencySnapshot.getMostFrequentNWords(frequencySnapshot.getNumberOfDifferentWords());
+        List<WordFrequency> head = frequencySnapshot.getMostFrequentNWords(20);
+        for (int i = 0; i < head.size(); i++) {
+            assertEquals(all.get(i).getWord(), head.get(i).getWord());
+            assertEquals(all.get(i).getFrequency(), head.get(i).getFrequency());
+        }
+        for (int i = 1; i < all.size(); i++) {
+            assertTrue(TopWordSelector.MOST_FREQUENT_FIRST.compare(all.get(i - 1), all.get(i)) < 0);
+        }
+    }
+
+    @Test
+    void accept_AgreesWithConcatenatedPhrases() {
+        // Few different words, so phrases repeat, and many words, so the table grows.
+        Random random = new Random(42);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            words.add(Character.toString('a' + random.nextInt(5)) + (random.nextBoolean() ? "x" : ""));
+        }
+        for (int n = 1; n <= 3; n++) {
+            NGramFrequencyTable nGramFrequencyTable = new NGramFrequencyTable(n);
+            new LetterTokenizer().tokenize(String.join(" ", words), nGramFrequencyTable);
+            Map<String, Integer> expected = new HashMap<>();
+            for (int i = n; i <= words.size(); i++) {
+                expected.merge(String.join(" ", words.subList(i - n, i)), 1, Integer::sum);
+            }
+            assertEquals(expected.size(), nGramFrequencyTable.size());
+            for (Map.Entry<String, Integer> entry : expected.entrySet()) {
+                assertEquals((int) entry.getValue(), nGramFrequencyTable.getFrequency(entry.getKey().split(" ")));
+            }
+        }
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new NGramFrequencyTable(0));
+        assertThrows(IllegalArgumentException.class, () -> new NGramFrequencyTable(ArgumentValidator.MAX_NGRAM_SIZE + 1));
+        // Fewer words than 'n' contain no n-gram.
+        assertThrows(IllegalArgumentException.class, () -> wordFrequencyCalculator.analyzeNGrams("one two", 3));
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyzeNGrams("one two three", 2);
+        assertThrows(IllegalArgumentException.class, () -> frequencySnapshot.getFrequencyForWord("one"));
+        assertThrows(IllegalArgumentException.class, () -> frequencySnapshot.getFrequencyForWord("one tw0"));
+    }
+}
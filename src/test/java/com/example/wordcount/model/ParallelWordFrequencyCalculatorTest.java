@@ -0,0 +1,74 @@
+package com.example.wordcount.model;
+
+import com.example.wordcount.metrics.AnalyzerMetrics;
+import com.example.wordcount.tokenizer.LetterTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelWordFrequencyCalculatorTest {
+
+    WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+    // Tiny chunks, so even short texts are split many times.
+    ParallelWordFrequencyCalculator parallelWordFrequencyCalculator = new ParallelWordFrequencyCalculator(4, 16);
+
+    @Test
+    void calculate_SameResultsAsSequential() {
+        String text = generateText(new Random(3), 20_000);
+        assertEquals(wordFrequencyCalculator.calculateHighestFrequency(text), parallelWordFrequencyCalculator.calculateHighestFrequency(text));
+        assertEquals(wordFrequencyCalculator.calculateFrequencyForWord(text, "ab"), parallelWordFrequencyCalculator.calculateFrequencyForWord(text, "ab"));
+        List<WordFrequency> expected = wordFrequencyCalculator.calculateMostFrequentNWords(text, 50);
+        List<WordFrequency> actual = parallelWordFrequencyCalculator.calculateMostFrequentNWords(text, 50);
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getWord(), actual.get(i).getWord());
+            assertEquals(expected.get(i).getFrequency(), actual.get(i).getFrequency());
+        }
+    }
+
+    @Test
+    void calculateHighestFrequency_SingleLongWord() {
+        // A text without boundaries cannot be split.
+        assertEquals(1, parallelWordFrequencyCalculator.calculateHighestFrequency("a".repeat(1000)));
+    }
+
+    @Test
+    void close_ShutsDownOwnedPoolOnly() {
+        String text = generateText(new Random(7), 1_000);
+        ParallelWordFrequencyCalculator owningCalculator = new ParallelWordFrequencyCalculator(2, 16);
+        owningCalculator.close();
+        assertThrows(RejectedExecutionException.class, () -> owningCalculator.calculateHighestFrequency(text));
+
+        ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            ParallelWordFrequencyCalculator sharingCalculator = new ParallelWordFrequencyCalculator(new LetterTokenizer(), forkJoinPool, 16, AnalyzerMetrics.DISABLED);
+            sharingCalculator.close();
+            assertFalse(forkJoinPool.isShutdown());
+            assertEquals(wordFrequencyCalculator.calculateHighestFrequency(text), sharingCalculator.calculateHighestFrequency(text));
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    void constructor_WithMinChunkSizeZero() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelWordFrequencyCalculator(2, 0));
+    }
+
+    private String generateText(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            int length = 1 + random.nextInt(3);
+            for (int j = 0; j < length; j++) {
+                char letter = (char) ('a' + random.nextInt(4));
+                text.append(random.nextBoolean() ? letter : Character.toUpperCase(letter));
+            }
+            text.append(random.nextInt(10) == 0 ? ", " : " ");
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.wordcount.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopWordSelectorTest {
+
+    @Test
+    void select_SameAsFullSort() {
+        Random random = new Random(7);
+        for (int size : new int[]{1, 2, 10, 100, 5000}) {
+            List<WordFrequency> wordFrequencyList = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                // Few different frequencies, so the alphabetical tie-break matters.
+                wordFrequencyList.add(new Word("w" + i, 1 + random.nextInt(5)));
+            }
+            List<WordFrequency> sorted = new ArrayList<>(wordFrequencyList);
+            sorted.sort(TopWordSelector.MOST_FREQUENT_FIRST);
+            for (int n : new int[]{1, 3, size / 8, size / 2, size}) {
+                if (n < 1 || n > size) {
+                    continue;
+                }
+                assertEquals(sorted.subList(0, n), TopWordSelector.select(wordFrequencyList, n), "size " + size + ", n " + n);
+            }
+        }
+    }
+
+    @Test
+    void select_DoesNotModifyList() {
+        List<WordFrequency> wordFrequencyList = List.of(new Word("b", 1), new Word("a", 1), new Word("c", 3));
+        List<WordFrequency> head = TopWordSelector.select(wordFrequencyList, 2);
+        assertEquals("c", head.get(0).getWord());
+        assertEquals("a", head.get(1).getWord());
+        assertEquals("b", wordFrequencyList.get(0).getWord());
+    }
+
+    @Test
+    void sort_SameAsArraysSort() {
+        Random random = new Random(11);
+        for (int size : new int[]{0, 1, 16, 17, 1000}) {
+            int[] values = new int[size];
+            int[] indices = new int[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = random.nextInt(100);
+                indices[i] = i;
+            }
+            TopWordSelector.sort(indices, (index1, index2) -> Integer.compare(values[index1], values[index2]));
+            int[] sortedValues = values.clone();
+            Arrays.sort(sortedValues);
+            for (int i = 0; i < size; i++) {
+                assertEquals(sortedValues[i], values[indices[i]]);
+            }
+        }
+    }
+}
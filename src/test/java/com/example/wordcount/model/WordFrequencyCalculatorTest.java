@@ -1,7 +1,12 @@
 package com.example.wordcount.model;
 
+import com.example.wordcount.metrics.AnalyzerStatistics;
+import com.example.wordcount.tokenizer.LetterTokenizer;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -105,6 +110,21 @@ class WordFrequencyCalculatorTest {
         assertEquals(0, returnValue);
     }
 
+    @Test
+    void calculateFrequencyForWords() throws IOException {
+        String text = "$#@ a b c The ()THe THE tH^&E thE the tHe an78 An AN aN a";
+        WordWatchlist wordWatchlist = new WordWatchlist(List.of("the", "An", "bla"));
+        List<WordFrequency> wordFrequencies = wordFrequencyCalculator.calculateFrequencyForWords(text, wordWatchlist);
+        for (int i = 0; i < wordFrequencies.size(); i++) {
+            String word = wordWatchlist.getWords().get(i);
+            assertEquals(word, wordFrequencies.get(i).getWord());
+            assertEquals(wordFrequencyCalculator.calculateFrequencyForWord(text, word), wordFrequencies.get(i).getFrequency());
+        }
+        List<WordFrequency> streamWordFrequencies = wordFrequencyCalculator.calculateFrequencyForWords(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), wordWatchlist);
+        assertEquals(6, streamWordFrequencies.get(0).getFrequency());
+        assertThrows(IllegalArgumentException.class, () -> wordFrequencyCalculator.calculateFrequencyForWords("$#@ 78", wordWatchlist));
+    }
+
     @Test
     void calculateMostFrequentNWords_WithNZero() {
         // Test case for n=0.
@@ -152,4 +172,20 @@ class WordFrequencyCalculatorTest {
         assertEquals(wordFrequencies.get(1).getWord(), "a");
         assertEquals(wordFrequencies.get(2).getWord(), "b");
     }
+
+    @Test
+    void analyzerStatistics_RecordCountsAndSelections() throws IOException {
+        AnalyzerStatistics analyzerStatistics = new AnalyzerStatistics();
+        WordFrequencyCalculator measuredCalculator = new WordFrequencyCalculator(new LetterTokenizer(), analyzerStatistics);
+
+        measuredCalculator.calculateMostFrequentNWords("a a b c", 2);
+        measuredCalculator.calculateHighestFrequency(new ByteArrayInputStream("dd ee dd".getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, analyzerStatistics.getNumberOfCounts());
+        assertEquals(7 + 8, analyzerStatistics.getInputSize());
+        assertEquals(4 + 3, analyzerStatistics.getNumberOfWords());
+        assertEquals(3 + 2, analyzerStatistics.getNumberOfDifferentWords());
+        assertEquals(1, analyzerStatistics.getNumberOfSelections());
+        assertTrue(analyzerStatistics.getCountNanos() > 0);
+    }
 }
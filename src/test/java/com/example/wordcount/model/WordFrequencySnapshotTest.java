@@ -0,0 +1,50 @@
+package com.example.wordcount.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordFrequencySnapshotTest {
+
+    WordFrequencyCalculator wordFrequencyCalculator = new WordFrequencyCalculator();
+
+    String text = "w zz zz zz d x d a a c y c b b The THe THE tHE thE the tHe an An AN aN a";
+
+    @Test
+    void analyze_SameAnswersAsSeparateOperations() {
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyze(text);
+        assertEquals(wordFrequencyCalculator.calculateHighestFrequency(text), frequencySnapshot.getHighestFrequency());
+        assertEquals(wordFrequencyCalculator.calculateFrequencyForWord(text, "An"), frequencySnapshot.getFrequencyForWord("An"));
+        assertEquals(0, frequencySnapshot.getFrequencyForWord("bla"));
+        assertEquals(10, frequencySnapshot.getNumberOfDifferentWords());
+        for (int n = 1; n <= 10; n++) {
+            List<WordFrequency> expected = wordFrequencyCalculator.calculateMostFrequentNWords(text, n);
+            List<WordFrequency> actual = frequencySnapshot.getMostFrequentNWords(n);
+            for (int i = 0; i < n; i++) {
+                assertEquals(expected.get(i).getWord(), actual.get(i).getWord());
+                assertEquals(expected.get(i).getFrequency(), actual.get(i).getFrequency());
+            }
+        }
+    }
+
+    @Test
+    void analyze_EmptyText() {
+        assertThrows(IllegalArgumentException.class, () -> wordFrequencyCalculator.analyze("123 $%"));
+    }
+
+    @Test
+    void getMostFrequentNWords_InvalidN() {
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyze(text);
+        assertThrows(IllegalArgumentException.class, () -> frequencySnapshot.getMostFrequentNWords(0));
+        assertThrows(IllegalArgumentException.class, () -> frequencySnapshot.getMostFrequentNWords(11));
+    }
+
+    @Test
+    void getMostFrequentNWords_CannotChangeSnapshot() {
+        FrequencySnapshot frequencySnapshot = wordFrequencyCalculator.analyze(text);
+        ((Word) frequencySnapshot.getMostFrequentNWords(1).get(0)).addOne();
+        assertEquals(7, frequencySnapshot.getMostFrequentNWords(1).get(0).getFrequency());
+    }
+}
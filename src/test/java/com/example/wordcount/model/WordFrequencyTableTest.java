@@ -0,0 +1,114 @@
+package com.example.wordcount.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordFrequencyTableTest {
+
+    @Test
+    void add_RaisesFrequencyInPlace() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        wordFrequencyTable.add("the");
+        wordFrequencyTable.add("an");
+        wordFrequencyTable.add("the");
+        assertEquals(2, wordFrequencyTable.size());
+        assertEquals(2, wordFrequencyTable.getFrequency("the"));
+        assertEquals(1, wordFrequencyTable.getFrequency("an"));
+        assertEquals(0, wordFrequencyTable.getFrequency("a"));
+        assertEquals(2, wordFrequencyTable.getHighestFrequency());
+    }
+
+    @Test
+    void getNumberOfWords_SumsFrequencies() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        wordFrequencyTable.add("a", 3);
+        wordFrequencyTable.add("b");
+        assertEquals(4, wordFrequencyTable.getNumberOfWords());
+        assertEquals(0, new WordFrequencyTable().getNumberOfWords());
+    }
+
+    @Test
+    void getHighestFrequency_EmptyTable() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        assertTrue(wordFrequencyTable.isEmpty());
+        assertEquals(0, wordFrequencyTable.getHighestFrequency());
+    }
+
+    @Test
+    void accept_MatchesWordsAddedAsString() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        char[] buffer = "xxthexx".toCharArray();
+        wordFrequencyTable.add("the");
+        wordFrequencyTable.accept(buffer, 2, 3);
+        wordFrequencyTable.accept(buffer, 0, 2);
+        assertEquals(2, wordFrequencyTable.size());
+        assertEquals(2, wordFrequencyTable.getFrequency("the"));
+        assertEquals(1, wordFrequencyTable.getFrequency("xx"));
+    }
+
+    @Test
+    void add_ManyWordsSurviveResizing() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        for (int i = 0; i < 10_000; i++) {
+            wordFrequencyTable.add("w" + (i % 1000));
+        }
+        assertEquals(1000, wordFrequencyTable.size());
+        assertEquals(10, wordFrequencyTable.getFrequency("w999"));
+        assertEquals(10, wordFrequencyTable.getHighestFrequency());
+    }
+
+    @Test
+    void add_LongAndNonAsciiWordsAreInterned() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        String longWord = "a".repeat(200);
+        String slabSizedWord = "b".repeat(3 << 20);
+        wordFrequencyTable.add(longWord);
+        wordFrequencyTable.add(slabSizedWord);
+        wordFrequencyTable.add("caf\u00e9", 2);
+        wordFrequencyTable.add(longWord);
+        assertEquals(2, wordFrequencyTable.getFrequency(longWord));
+        assertEquals(1, wordFrequencyTable.getFrequency(slabSizedWord));
+        assertEquals(2, wordFrequencyTable.getFrequency("caf\u00e9"));
+        assertEquals(slabSizedWord, wordFrequencyTable.getWord(wordFrequencyTable.getId(slabSizedWord)));
+        assertEquals(-1, wordFrequencyTable.getId("cafe"));
+    }
+
+    @Test
+    void merge_AddsFrequencies() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        WordFrequencyTable otherWordFrequencyTable = new WordFrequencyTable();
+        for (int i = 0; i < 1000; i++) {
+            wordFrequencyTable.add("w" + i);
+            otherWordFrequencyTable.add("w" + (i + 500), 2);
+        }
+        wordFrequencyTable.merge(otherWordFrequencyTable);
+        assertEquals(1500, wordFrequencyTable.size());
+        assertEquals(1, wordFrequencyTable.getFrequency("w0"));
+        assertEquals(3, wordFrequencyTable.getFrequency("w999"));
+        assertEquals(2, wordFrequencyTable.getFrequency("w1499"));
+    }
+
+    @Test
+    void getMostFrequent_SameAsSortedList() {
+        WordFrequencyTable wordFrequencyTable = new WordFrequencyTable();
+        for (int i = 0; i < 5000; i++) {
+            wordFrequencyTable.add("w" + (i * 7919 % 3000));
+        }
+        List<WordFrequency> sorted = new ArrayList<>(wordFrequencyTable.toList());
+        sorted.sort(TopWordSelector.MOST_FREQUENT_FIRST);
+        for (int n : new int[]{1, 10, 2000, 3000}) {
+            List<WordFrequency> head = wordFrequencyTable.getMostFrequent(n);
+            assertEquals(n, head.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals(sorted.get(i).getWord(), head.get(i).getWord());
+                assertEquals(sorted.get(i).getFrequency(), head.get(i).getFrequency());
+            }
+        }
+        int[] sortedIds = wordFrequencyTable.getSortedIds();
+        assertEquals(sorted.get(2999).getWord(), wordFrequencyTable.getWord(sortedIds[2999]));
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.wordcount.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordWatchlistTest {
+
+    @Test
+    void indexOf() {
+        WordWatchlist wordWatchlist = new WordWatchlist(List.of("The", "an", "a", "THE", "answer"));
+        assertEquals(List.of("the", "an", "a", "answer"), wordWatchlist.getWords());
+        assertEquals(0, indexOf(wordWatchlist, "the"));
+        assertEquals(1, indexOf(wordWatchlist, "an"));
+        assertEquals(2, indexOf(wordWatchlist, "a"));
+        assertEquals(3, indexOf(wordWatchlist, "answer"));
+        // Prefixes and extensions of watched words, and words that leave the trie at once.
+        assertEquals(-1, indexOf(wordWatchlist, "th"));
+        assertEquals(-1, indexOf(wordWatchlist, "ans"));
+        assertEquals(-1, indexOf(wordWatchlist, "answers"));
+        assertEquals(-1, indexOf(wordWatchlist, "zz"));
+    }
+
+    @Test
+    void counter() {
+        WordWatchlist wordWatchlist = new WordWatchlist(List.of("the", "fox", "absent"));
+        WordWatchlist.Counter counter = wordWatchlist.newCounter();
+        new WordFrequencyCalculator().getTokenizer().tokenize("The quick brown fox jumps over the lazy dog, THE end.", counter);
+        List<WordFrequency> wordFrequencies = counter.getWordFrequencies();
+        assertEquals(11, counter.getNumberOfWords());
+        assertEquals("the", wordFrequencies.get(0).getWord());
+        assertEquals(3, wordFrequencies.get(0).getFrequency());
+        assertEquals(1, wordFrequencies.get(1).getFrequency());
+        assertEquals(0, wordFrequencies.get(2).getFrequency());
+    }
+
+    @Test
+    void manyWords() {
+        // Enough words to grow the trie several times.
+        String[] words = new String[5000];
+        for (int i = 0; i < words.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int number = i; number > 0; number /= 26) {
+                word.append((char) ('a' + number % 26));
+            }
+            words[i] = word.append('x').toString();
+        }
+        WordWatchlist wordWatchlist = new WordWatchlist(List.of(words));
+        assertEquals(words.length, wordWatchlist.size());
+        for (int i = 0; i < words.length; i++) {
+            assertEquals(i, indexOf(wordWatchlist, words[i]));
+        }
+    }
+
+    @Test
+    void invalidWords() {
+        assertThrows(IllegalArgumentException.class, () -> new WordWatchlist(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> new WordWatchlist(List.of("the", " ")));
+        assertThrows(IllegalArgumentException.class, () -> new WordWatchlist(List.of("the", "an the")));
+        IllegalArgumentException illegalArgumentException = assertThrows(IllegalArgumentException.class, () -> new WordWatchlist(List.of("an78!")));
+        assertEquals("Invalid characters in word to calculate frequency for argument. First matched invalid character(s) '78!'.", illegalArgumentException.getMessage());
+    }
+
+    private static int indexOf(WordWatchlist wordWatchlist, String word) {
+        return wordWatchlist.indexOf(word.toCharArray(), 0, word.length());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.wordcount.reactive;
+
+import com.example.wordcount.WordFrequencyAnalyzerFactory;
+import com.example.wordcount.cache.FrequencySnapshotCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.reactive.server.ReactiveWebServerFactory;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordFrequencyRoutesTest {
+
+    WebTestClient webTestClient = WebTestClient.bindToRouterFunction(new WordFrequencyRoutes().wordFrequencyRouterFunction(
+            new WordFrequencyHandler(new FrequencySnapshotCache(1 << 20), new WordFrequencyAnalyzerFactory()))).build();
+
+    @Test
+    void webServer_IsNetty() {
+        // Tomcat is on the classpath as well, for the servlet mode.
+        new ReactiveWebApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(ReactiveWebServerFactoryAutoConfiguration.class))
+                .withUserConfiguration(WordFrequencyRoutes.class)
+                .withBean(WordFrequencyHandler.class, () -> new WordFrequencyHandler(new FrequencySnapshotCache(1 << 20), new WordFrequencyAnalyzerFactory()))
+                .run(context -> assertTrue(context.getBean(ReactiveWebServerFactory.class) instanceof NettyReactiveWebServerFactory));
+    }
+
+    @Test
+    void calculateHighest() {
+        webTestClient.get().uri("/calculate-highest-frequency-in-text/{text}", "a b The THE the")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("3");
+    }
+
+    @Test
+    void calculateWord_Post() {
+        webTestClient.post().uri("/calculate-frequency-in-text-for-word/{word}", "An").bodyValue("an An AN a")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("3");
+    }
+
+    @Test
+    void calculateHeadN_PostLargeBody() {
+        // A body of many chunks, with words crossing chunk boundaries.
+        String text = "zz ".repeat(100_000) + "w d x d a a";
+        webTestClient.post().uri("/calculate-frequency-in-text-for-most-frequent-n-words/{n}", 2).bodyValue(text)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].word").isEqualTo("zz")
+                .jsonPath("$[0].frequency").isEqualTo(100_000)
+                .jsonPath("$[1].word").isEqualTo("a");
+    }
+
+    @Test
+    void calculateHighest_PostEmptyBody() {
+        webTestClient.post().uri("/calculate-highest-frequency-in-text")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void calculateHighest_UnknownEngine() {
+        webTestClient.post().uri("/calculate-highest-frequency-in-text?engine=unknown").bodyValue("a")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.wordcount.tokenizer;
+
+import com.example.wordcount.model.WordFrequency;
+import com.example.wordcount.model.WordFrequencyCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenizerTest {
+
+    LetterTokenizer letterTokenizer = new LetterTokenizer();
+    RegexTokenizer regexTokenizer = new RegexTokenizer();
+
+    @Test
+    void tokenize_LowercasesWords() {
+        assertEquals(List.of("a", "b", "the", "the", "an"), tokenize(letterTokenizer, "a b The THE aN"));
+    }
+
+    @Test
+    void tokenize_SpecialCharactersDivideWords() {
+        assertEquals(List.of("th", "e", "an", "x"), tokenize(letterTokenizer, "$#@ tH^&E an78x"));
+    }
+
+    @Test
+    void tokenize_NoWords() {
+        assertTrue(tokenize(letterTokenizer, "").isEmpty());
+        assertTrue(tokenize(letterTokenizer, " 123 $%^ \n").isEmpty());
+    }
+
+    @Test
+    void tokenize_SameOutputAsRegexTokenizer() {
+        String[] texts = {
+                "a b c The THe THE tHE thE the tHe an An AN aN a",
+                "$#@ a b c The ()THe THE tH^&E thE the tHe an78 An AN aN a",
+                "What is Lorem Ipsum?\nLorem Ipsum is simply dummy text of the printing and typesetting industry.",
+                "Ünïcödé wörds, ǅ and emoji 😀 split words",
+                "averyveryveryveryveryveryveryveryveryveryveryveryverylongwordexceedingthebuffer end"
+        };
+        for (String text : texts) {
+            assertEquals(tokenize(regexTokenizer, text), tokenize(letterTokenizer, text));
+        }
+    }
+
+    @Test
+    void tokenize_SameOutputAsRegexTokenizer_RandomText() {
+        Random random = new Random(42);
+        String alphabet = "abcXYZ 09.,-\n\té";
+        for (int t = 0; t < 100; t++) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < random.nextInt(200); i++) {
+                text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertEquals(tokenize(regexTokenizer, text), tokenize(letterTokenizer, text));
+        }
+    }
+
+    @Test
+    void calculateMostFrequentNWords_SameOutputForBothTokenizers() {
+        String text = "w zz zz zz d x d a a c y c b b The THe THE tHE thE the tHe an An AN aN a";
+        WordFrequencyCalculator letterCalculator = new WordFrequencyCalculator(letterTokenizer);
+        WordFrequencyCalculator regexCalculator = new WordFrequencyCalculator(regexTokenizer);
+        for (int n = 1; n <= 10; n++) {
+            assertEquals(format(regexCalculator.calculateMostFrequentNWords(text, n)), format(letterCalculator.calculateMostFrequentNWords(text, n)));
+        }
+        assertEquals(regexCalculator.calculateHighestFrequency(text), letterCalculator.calculateHighestFrequency(text));
+        assertEquals(regexCalculator.calculateFrequencyForWord(text, "zz"), letterCalculator.calculateFrequencyForWord(text, "zz"));
+    }
+
+    private List<String> tokenize(Tokenizer tokenizer, CharSequence text) {
+        List<String> words = new ArrayList<>();
+        tokenizer.tokenize(text, (buffer, offset, length) -> words.add(new String(buffer, offset, length)));
+        return words;
+    }
+
+    private List<String> format(List<WordFrequency> wordFrequencies) {
+        List<String> formatted = new ArrayList<>();
+        wordFrequencies.forEach(wordFrequency -> formatted.add(wordFrequency.getWord() + "=" + wordFrequency.getFrequency()));
+        return formatted;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.wordcount.window;
+
+import com.example.wordcount.model.WordFrequency;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    @Test
+    void ofWords_ExpiresOldestBucket() {
+        // Buckets of 2 words, a window of the current bucket and the 2 before it.
+        SlidingWindowCounter slidingWindowCounter = SlidingWindowCounter.ofWords(6, 3);
+        slidingWindowCounter.add("a a b b c");
+        assertEquals(2, slidingWindowCounter.getFrequencyForWord("a"));
+        assertEquals(5, slidingWindowCounter.getNumberOfWords());
+
+        // The third bucket closes, and the bucket of 'a a' expires.
+        slidingWindowCounter.add("c d");
+        assertEquals(0, slidingWindowCounter.getFrequencyForWord("a"));
+        assertEquals(2, slidingWindowCounter.getFrequencyForWord("B"));
+        assertEquals(5, slidingWindowCounter.getNumberOfWords());
+
+        slidingWindowCounter.add("c");
+        List<WordFrequency> mostFrequent = slidingWindowCounter.getMostFrequentNWords(2);
+        assertEquals("c", mostFrequent.get(0).getWord());
+        assertEquals(3, mostFrequent.get(0).getFrequency());
+        assertEquals("d", mostFrequent.get(1).getWord());
+    }
+
+    @Test
+    void ofDuration_ExpiresBucketsAsTimePasses() {
+        AtomicLong clock = new AtomicLong();
+        SlidingWindowCounter slidingWindowCounter = new SlidingWindowCounter(100, 4, clock::get);
+        slidingWindowCounter.add("old");
+        clock.set(60);
+        slidingWindowCounter.add("new new");
+        assertEquals(1, slidingWindowCounter.getFrequencyForWord("old"));
+
+        // At 99, the window covers [0, 100), at 100 it covers [25, 125) and the bucket of 'old' has expired.
+        clock.set(99);
+        assertEquals(1, slidingWindowCounter.getFrequencyForWord("old"));
+        clock.set(100);
+        assertEquals(0, slidingWindowCounter.getFrequencyForWord("old"));
+        assertEquals(2, slidingWindowCounter.getFrequencyForWord("new"));
+
+        // An idle input empties the window.
+        clock.set(1_000);
+        assertEquals(0, slidingWindowCounter.getNumberOfWords());
+    }
+
+    @Test
+    void singleBucket_IsTumbling() {
+        SlidingWindowCounter slidingWindowCounter = SlidingWindowCounter.ofWords(3, 1);
+        slidingWindowCounter.add("a b c d");
+        assertEquals(0, slidingWindowCounter.getFrequencyForWord("a"));
+        assertEquals(1, slidingWindowCounter.getFrequencyForWord("d"));
+    }
+
+    @Test
+    void read_KeepsMemoryBoundedOverTime() throws IOException {
+        SlidingWindowCounter slidingWindowCounter = SlidingWindowCounter.ofWords(1_000, 10);
+        // A stream whose vocabulary keeps changing, so only the words of the window are held.
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append("w").append((char) ('a' + i / 1000 % 26)).append((char) ('a' + i / 26000 % 26)).append((char) ('a' + i % 7)).append(' ');
+        }
+        slidingWindowCounter.read(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(slidingWindowCounter.getNumberOfWords() <= 1_000);
+        assertTrue(slidingWindowCounter.toSnapshot().getNumberOfDifferentWords() <= 14);
+    }
+
+    @Test
+    void constructor_InvalidLength() {
+        assertThrows(IllegalArgumentException.class, () -> SlidingWindowCounter.ofWords(5, 10));
+        assertThrows(IllegalArgumentException.class, () -> SlidingWindowCounter.ofWords(5, 0));
+    }
+}